@@ -0,0 +1,132 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart;
+
+import java.util.Arrays;
+
+/**
+ * The values of the bar under the crosshair: open, high, low, close and volume of the bar and the values of the
+ * visible indicator series at the bar. Filled by {@link TaPlotModel#findValues(double, CrosshairValues)}, one
+ * instance is reused for all mouse events.
+ */
+public class CrosshairValues {
+
+    private int index = -1;
+    private long time;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+
+    private Comparable[] names = new Comparable[16];
+    private double[] values = new double[16];
+    private int count;
+
+    void setBar(int index, long time, double open, double high, double low, double close, double volume){
+        this.index = index;
+        this.time = time;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.count = 0;
+    }
+
+    void addIndicatorValue(Comparable name, double value){
+        if (count == names.length) {
+            names = Arrays.copyOf(names, count * 2);
+            values = Arrays.copyOf(values, count * 2);
+        }
+        names[count] = name;
+        values[count] = value;
+        count++;
+    }
+
+    void clear(){
+        index = -1;
+        count = 0;
+    }
+
+    /**
+     * @return true if a bar was found
+     */
+    public boolean isValid(){
+        return index >= 0;
+    }
+
+    /**
+     * @return the index of the bar in the time series, -1 if no bar was found
+     */
+    public int getIndex(){
+        return index;
+    }
+
+    /**
+     * @return the end time of the bar in epoch milliseconds
+     */
+    public long getTime(){
+        return time;
+    }
+
+    public double getOpen(){
+        return open;
+    }
+
+    public double getHigh(){
+        return high;
+    }
+
+    public double getLow(){
+        return low;
+    }
+
+    public double getClose(){
+        return close;
+    }
+
+    public double getVolume(){
+        return volume;
+    }
+
+    /**
+     * @return the number of visible indicator series
+     */
+    public int getIndicatorCount(){
+        return count;
+    }
+
+    /**
+     * @param i the index of the indicator series, from 0 to {@link #getIndicatorCount()}
+     * @return the name of the series
+     */
+    public Comparable getIndicatorName(int i){
+        return names[i];
+    }
+
+    /**
+     * @param i the index of the indicator series, from 0 to {@link #getIndicatorCount()}
+     * @return the value of the series at the bar, NaN if the indicator has no value for the bar
+     */
+    public double getIndicatorValue(int i){
+        return values[i];
+    }
+}
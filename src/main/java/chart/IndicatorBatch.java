@@ -0,0 +1,84 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indicators that were created by a {@link TaChartIndicatorBox} but are not yet added to the box, e.g. because they
+ * are created on a worker thread. {@link TaChartIndicatorBox#publish(IndicatorBatch)} adds them in one step.
+ */
+public class IndicatorBatch {
+
+    private final Map<String, TaChartIndicator> indicators = new ConcurrentHashMap<>();
+    private final Set<String> removals = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<Object>> nodes = new ConcurrentHashMap<>();
+
+    void add(String identifier, TaChartIndicator chartIndicator){
+        removals.remove(identifier);
+        indicators.put(identifier, chartIndicator);
+    }
+
+    void remove(String identifier){
+        indicators.remove(identifier);
+        removals.add(identifier);
+    }
+
+    void discard(String identifier){
+        indicators.remove(identifier);
+    }
+
+    void setNodes(String key, List<Object> requested){
+        nodes.put(key, requested);
+    }
+
+    /**
+     * @return the registry nodes that were requested per indicator key
+     */
+    Map<String, List<Object>> getNodes(){
+        return nodes;
+    }
+
+    /**
+     * @return the indicators that are added to the box when the batch is published
+     */
+    public Map<String, TaChartIndicator> getIndicators(){
+        return Collections.unmodifiableMap(indicators);
+    }
+
+    /**
+     * @return the identifiers that are removed from the box when the batch is published
+     */
+    public Set<String> getRemovals(){
+        return Collections.unmodifiableSet(removals);
+    }
+
+    /**
+     * Computes the plot values of all indicators of the batch on the calling thread
+     */
+    public void precomputeValues(){
+        for (TaChartIndicator chartIndicator : indicators.values()) {
+            chartIndicator.precomputeValues();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs indicator construction and dataset generation on a worker thread instead of the event dispatch thread.
+ * Tasks have a name, submitting a task cancels the running or waiting task with the same name (e.g. when the user
+ * changes the parameters again). Results and progress are delivered on the event dispatch thread, the result of a
+ * cancelled or replaced task is dropped (and can be cleaned up by a drop callback).
+ * There is only one worker and it holds the {@link #getComputeLock() compute lock} while a task runs, because ta4j
+ * indicators (and the caches they share) must not be computed by two threads at the same time.
+ */
+public class IndicatorComputeService {
+
+    /**
+     * A computation that runs on the worker thread
+     * @param <T> the type of the result
+     */
+    public interface Task<T> {
+        T compute(Progress progress) throws Exception;
+    }
+
+    /**
+     * Passed to a running task to report its progress and to check whether it was cancelled
+     */
+    public interface Progress {
+        /**
+         * Reports the progress of the task
+         * @param done number of finished steps
+         * @param total number of all steps
+         */
+        void update(int done, int total);
+
+        /**
+         * @return true if the task was cancelled or replaced, the task should stop as soon as possible
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * Is informed on the event dispatch thread when a task starts, makes progress or ends
+     */
+    public interface ProgressListener {
+        /**
+         * @param runningTasks the number of waiting and running tasks
+         * @param taskName the name of the task that changed
+         * @param fraction the progress of that task from 0 to 1, or a negative value if unknown
+         */
+        void progressChanged(int runningTasks, String taskName, double fraction);
+    }
+
+    private class Job<T> implements Runnable, Progress {
+        private final String name;
+        private final Task<T> task;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Exception> onFailure;
+        private final Consumer<T> onDrop;
+        private volatile boolean cancelled;
+        private Future<?> future;
+
+        Job(String name, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure, Consumer<T> onDrop){
+            this.name = name;
+            this.task = task;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+            this.onDrop = onDrop;
+        }
+
+        @Override
+        public void run(){
+            if (cancelled) {
+                return;
+            }
+            T result;
+            computeLock.lock();
+            try {
+                fireProgress(name, -1);
+                result = task.compute(this);
+            } catch (Exception e) {
+                if (!cancelled) {
+                    e.printStackTrace();
+                    SwingUtilities.invokeLater(() -> {
+                        if (finish(this) && onFailure != null) {
+                            onFailure.accept(e);
+                        }
+                    });
+                }
+                return;
+            } finally {
+                computeLock.unlock();
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (finish(this)) {
+                    onSuccess.accept(result);
+                } else if (onDrop != null) {
+                    onDrop.accept(result);
+                }
+            });
+        }
+
+        @Override
+        public void update(int done, int total){
+            if (!cancelled) {
+                fireProgress(name, total > 0 ? (double) done / total : -1);
+            }
+        }
+
+        @Override
+        public boolean isCancelled(){
+            return cancelled || Thread.currentThread().isInterrupted();
+        }
+    }
+
+    private final ExecutorService executor;
+    private final ReentrantLock computeLock = new ReentrantLock();
+    private final Map<String, Job<?>> jobs = new HashMap<>();
+    private final List<ProgressListener> listeners = new ArrayList<>();
+
+    public IndicatorComputeService(){
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Indicator computation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a task on the worker thread. A task with the same name that is still waiting or running is cancelled.
+     * @param name the name of the task, e.g. "overlays" or the key of an indicator
+     * @param task the computation
+     * @param onSuccess receives the result on the event dispatch thread, if the task was not cancelled
+     * @param onFailure receives the exception on the event dispatch thread (can be null)
+     */
+    public <T> void submit(String name, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure){
+        submit(name, task, onSuccess, onFailure, null);
+    }
+
+    /**
+     * Runs a task on the worker thread. A task with the same name that is still waiting or running is cancelled.
+     * @param name the name of the task, e.g. "overlays" or the key of an indicator
+     * @param task the computation
+     * @param onSuccess receives the result on the event dispatch thread, if the task was not cancelled
+     * @param onFailure receives the exception on the event dispatch thread (can be null)
+     * @param onDrop receives the result on the event dispatch thread if it was computed but the task was cancelled or
+     *               replaced in the meantime, e.g. to release it (can be null)
+     */
+    public synchronized <T> void submit(String name, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure,
+                                        Consumer<T> onDrop){
+        Job<?> previous = jobs.remove(name);
+        if (previous != null) {
+            previous.cancelled = true;
+            previous.future.cancel(true);
+        }
+        Job<T> job = new Job<>(name, task, onSuccess, onFailure, onDrop);
+        jobs.put(name, job);
+        job.future = executor.submit(job);
+        fireProgress(name, -1);
+    }
+
+    /**
+     * Cancels the task with the name if it is waiting or running
+     * @param name the name of the task
+     */
+    public synchronized void cancel(String name){
+        Job<?> job = jobs.remove(name);
+        if (job != null) {
+            job.cancelled = true;
+            job.future.cancel(true);
+            fireProgress(name, 1);
+        }
+    }
+
+    /**
+     * @return true if a task is waiting or running
+     */
+    public synchronized boolean isBusy(){
+        return !jobs.isEmpty();
+    }
+
+    /**
+     * The lock that is held while a task runs. Code that computes indicator values on another thread (e.g. when
+     * ticks are added to a live chart) has to hold it as well.
+     * @return the compute lock
+     */
+    public ReentrantLock getComputeLock(){
+        return computeLock;
+    }
+
+    public void addProgressListener(ProgressListener listener){
+        listeners.add(listener);
+    }
+
+    public void removeProgressListener(ProgressListener listener){
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops the worker thread, waiting tasks are dropped
+     */
+    public void shutdown(){
+        executor.shutdownNow();
+    }
+
+    /**
+     * Removes a finished job if it was not replaced in the meantime
+     * @return true if the job is still the current job for its name
+     */
+    private synchronized boolean finish(Job<?> job){
+        if (job.cancelled || jobs.get(job.name) != job) {
+            return false;
+        }
+        jobs.remove(job.name);
+        fireProgress(job.name, 1);
+        return true;
+    }
+
+    private void fireProgress(String name, double fraction){
+        Runnable notify = () -> {
+            int running;
+            synchronized (this) {
+                running = jobs.size();
+            }
+            for (ProgressListener listener : listeners) {
+                listener.progressChanged(running, name, fraction);
+            }
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            notify.run();
+        } else {
+            SwingUtilities.invokeLater(notify);
+        }
+    }
+}
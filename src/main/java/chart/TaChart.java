@@ -18,6 +18,10 @@
 
 package chart;
 
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import chart.view.DataWindowPanel;
 import chart.view.TaChartMenuBar;
 import org.jfree.chart.ChartMouseEvent;
 import org.jfree.chart.ChartMouseListener;
@@ -28,27 +32,21 @@ import org.jfree.chart.axis.*;
 import org.jfree.chart.labels.CrosshairLabelGenerator;
 import org.jfree.chart.panel.CrosshairOverlay;
 import org.jfree.chart.plot.*;
-import org.jfree.chart.renderer.xy.CandlestickRenderer;
 import org.jfree.chart.title.LegendTitle;
-import org.jfree.data.Range;
-import org.jfree.data.general.DatasetUtilities;
-import org.jfree.data.time.Minute;
-import org.jfree.data.xy.DefaultHighLowDataset;
-import org.jfree.data.xy.OHLCDataset;
-import org.jfree.data.xy.XYDataset;
 import org.jfree.ui.ApplicationFrame;
-import org.jfree.ui.RectangleAnchor;
 import org.jfree.ui.RectangleEdge;
-import org.jfree.ui.TextAnchor;
 import org.ta4j.core.*;
 import org.ta4j.core.Tick;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 public class TaChart extends ApplicationFrame implements ChartMouseListener {
@@ -57,7 +55,7 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
     private TaChartIndicatorBox chartIndicatorBox;
 
     // gui and plotting
-    private XYDataset candlestickData;
+    private OHLCColumnDataset candlestickData;
     private Color plotBackground = Color.WHITE; // default colors for white theme
     private Color panelBackground = Color.WHITE;
     private Color frameBackground = Color.WHITE;
@@ -67,14 +65,27 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
     private Color legendItemPaint = Color.BLACK;
 
     private JFreeChart chart;
-    private CombinedDomainXYPlot combinedXYPlot;
-    private XYPlot mainPlot;
+    private TaPlotModel plotModel;
     private org.jfree.chart.ChartPanel chartPanel;
     private Crosshair xCrosshair;
     private Crosshair yCrosshair;
+    private final CrosshairValues crosshairValues = new CrosshairValues();
+    private final Insets panelInsets = new Insets(0, 0, 0, 0);
 
-    private Map<TradingRecord, List<Marker>> mapTradingRecordMarker;
-    private List<XYPlot> currentSubPlots;
+    private final DataWindowPanel dataWindow = new DataWindowPanel();
+
+    // live updates, ticks are queued and added to the chart at most maxFrameRate times per second
+    private final Queue<Tick> pendingTicks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private javax.swing.Timer flushTimer;
+    private int maxFrameRate = 10;
+
+    // indicators and datasets are computed on a worker thread, the progress is shown below the chart
+    private IndicatorComputeService computeService;
+    private JProgressBar progressBar;
+
+    // recomputes the indicators whose parameters were changed in the parameter file by another program
+    private final TaPropertiesManager.ParametersListener parametersListener = this::reloadIndicators;
 
     /**
      * Constructor
@@ -97,12 +108,13 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
      */
     public TaChart(TimeSeries series, TaChartIndicatorBox box, boolean darkTheme){
         super("TaCharting "+series.getName());
-        mapTradingRecordMarker = new HashMap<>();
         if (darkTheme){
             setDarkTheme();
         }
         this.series = series;
         this.chartIndicatorBox = box;
+        this.computeService = new IndicatorComputeService();
+        this.progressBar = createProgressBar();
         prepare();
 
     }
@@ -119,15 +131,13 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
 
     private void prepare(){
         this.candlestickData = createOHLCDataset(series);
-        this.mainPlot = createMainPlot(this.candlestickData, new ArrayList<>());
-        this.combinedXYPlot = createCombinedDomainXYPlot(mainPlot, new ArrayList<>());
-        this.currentSubPlots = new ArrayList<>();
+        this.plotModel = new TaPlotModel(this.candlestickData, plotBackground, subPlotNames);
         JMenuBar menuBar = new TaChartMenuBar(chartIndicatorBox,this);
         setJMenuBar(menuBar);
 
-        this.chart = new JFreeChart(series.getName(), combinedXYPlot);
+        this.chart = new JFreeChart(series.getName(), plotModel.getCombinedPlot());
         this.chart.setBackgroundPaint(chartBackground);
-        this.chartPanel = new ChartPanel(chart);
+        this.chartPanel = new TaChartPanel(chart);
         this.chartPanel.addChartMouseListener(this);
         this.chartPanel.addOverlay(createCrosshairOverlay());
         this.chartPanel.setBackground(panelBackground);
@@ -137,13 +147,15 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
         legend.setItemPaint(legendItemPaint);
         legend.setBackgroundPaint(legendBackground);
 
-        setContentPane(chartPanel);
+        setContentPane(createContentPane(chartPanel));
         setBackground(frameBackground);
         pack();
     }
 
-    // searching for a better way... currently recreate all because it is not possible to clean remove a data set
-    // from an existing chart
+    /**
+     * Recreates the chart and the chart panel for the current plots. Not needed to add or remove indicators, the
+     * plot model changes the plots in place.
+     */
     public void rep(){
         Dimension frameSize = getSize();
         Color bg = this.chartPanel.getBackground();
@@ -155,9 +167,9 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
         Font legendItemFont = chartLegend.getItemFont();
 
 
-        this.chart = new JFreeChart(this.series.getName(), this.combinedXYPlot);
+        this.chart = new JFreeChart(this.series.getName(), plotModel.getCombinedPlot());
         this.chart.setBackgroundPaint(chartBg);
-        this.chartPanel = new ChartPanel(this.chart);
+        this.chartPanel = new TaChartPanel(this.chart);
         this.chartPanel.addChartMouseListener(this);
         this.chartPanel.addOverlay(createCrosshairOverlay());
         this.chartPanel.setBackground(bg);
@@ -169,10 +181,66 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
 
         setBackground(frameBg);
         setSize(frameSize);
-        setContentPane(chartPanel);
+        setContentPane(createContentPane(chartPanel));
         revalidate();
     }
 
+    /**
+     * Shows or hides the data window with the values of the bar under the crosshair
+     * @param visible true if the data window should be shown
+     */
+    public void setDataWindowVisible(boolean visible){
+        dataWindow.setVisible(visible);
+        revalidate();
+    }
+
+    public boolean isDataWindowVisible(){
+        return dataWindow.isVisible();
+    }
+
+    private JPanel createContentPane(ChartPanel chartPanel){
+        JPanel contentPane = new JPanel(new BorderLayout());
+        contentPane.add(chartPanel, BorderLayout.CENTER);
+        contentPane.add(dataWindow, BorderLayout.EAST);
+        contentPane.add(progressBar, BorderLayout.SOUTH);
+        return contentPane;
+    }
+
+    private JProgressBar createProgressBar(){
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setStringPainted(true);
+        bar.setVisible(false);
+        computeService.addProgressListener((runningTasks, taskName, fraction) -> {
+            bar.setIndeterminate(fraction < 0);
+            if (fraction >= 0) {
+                bar.setValue((int) Math.round(fraction * 100));
+            }
+            bar.setString(runningTasks > 0 ? "Computing " + taskName : "");
+            bar.setVisible(runningTasks > 0);
+        });
+        return bar;
+    }
+
+    public TaPlotModel getPlotModel(){
+        return plotModel;
+    }
+
+    /**
+     * The service that computes the indicators of this chart off the event dispatch thread
+     * @return the compute service of this chart
+     */
+    public IndicatorComputeService getComputeService(){
+        return computeService;
+    }
+
+    @Override
+    public void dispose(){
+        setParameterHotReload(false);
+        computeService.shutdown();
+        chartIndicatorBox.getPropertiesManager().close();
+        super.dispose();
+    }
+
     /**
      * plots or removes the trading record
      * @param record the trading record
@@ -189,13 +257,7 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
     }
 
     private void removeEntryExitSignals(TradingRecord record) {
-        List<Marker> markers = this.mapTradingRecordMarker.get(record);
-        if (markers!= null) {
-            for (Marker m : markers) {
-                mainPlot.removeDomainMarker(m);
-            }
-            this.mapTradingRecordMarker.remove(record);
-        }
+        plotModel.getTradeLayer().removeRecord(record);
     }
 
     /**
@@ -203,43 +265,7 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
      * @param record the trading record
      * */
     private void addEntryExitSignals(TradingRecord record){
-        List<Trade> trades = record.getTrades();
-        Order.OrderType orderType = record.getLastExit().getType().complementType();
-        List<Marker> markers = new ArrayList<>();
-        Color entryColor = Color.GREEN;
-        Color exitColor = Color.RED;
-        RectangleAnchor entryAnchor = RectangleAnchor.TOP_LEFT;
-        RectangleAnchor exitAnchor = RectangleAnchor.BOTTOM_RIGHT;
-        if(orderType == Order.OrderType.SELL) {
-            entryColor = Color.RED;
-            exitColor = Color.GREEN;
-        }
-        for(Trade trade: trades){
-            double entry = new Minute(Date.from(series.getTick(trade.getEntry().getIndex()).getEndTime().toInstant())).getFirstMillisecond();
-            double exit = new Minute(Date.from(series.getTick(trade.getExit().getIndex()).getEndTime().toInstant())).getFirstMillisecond();
-
-            ValueMarker in = new ValueMarker(entry);
-            in.setLabel(orderType.toString());
-            in.setLabelPaint(Color.WHITE);
-            in.setLabelAnchor(entryAnchor);
-            in.setPaint(entryColor);
-            this.mainPlot.addDomainMarker(in);
-
-            ValueMarker out = new ValueMarker(exit);
-            out.setLabel(orderType.complementType().toString());
-            out.setLabelPaint(Color.WHITE);
-            out.setLabelAnchor(exitAnchor);
-            out.setPaint(exitColor);
-            this.mainPlot.addDomainMarker(out);
-
-            IntervalMarker imarker = new IntervalMarker(entry, exit, entryColor);
-            imarker.setAlpha(0.1f);
-            this.mainPlot.addDomainMarker(imarker);
-            markers.add(imarker);
-            markers.add(in);
-            markers.add(out);
-        }
-        this.mapTradingRecordMarker.put(record,markers);
+        plotModel.getTradeLayer().addRecord(record);
     }
 
 
@@ -248,19 +274,14 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
      * @param indicatorIdentifiers a list of identifiers e.g. "EMAIndicator_1"
      */
     public void plotOverlays(List<String> indicatorIdentifiers) {
-        List<TaChartIndicator> overlays = new ArrayList<>();
-        for (String identifier: indicatorIdentifiers){
-            TaChartIndicator taChartIndicator = chartIndicatorBox.getChartIndicator(identifier);
-            overlays.add(taChartIndicator);
-        }
-
-        Range domainRange = this.mainPlot.getDomainAxis().getRange();
-        Range valueRange = this.mainPlot.getRangeAxis().getRange();
-        this.mainPlot = createMainPlot(this.candlestickData, overlays);
-        this.mainPlot.getDomainAxis().setRange(domainRange);
-        this.mainPlot.getRangeAxis().setRange(valueRange);
-        this.combinedXYPlot = recreateCombinedDomainXYPlot();
-        rep();
+        Map<String, TaChartIndicator> overlays = getChartIndicators(indicatorIdentifiers);
+        // the datasets are computed by the compute service, the overlays are changed in place when all are ready
+        computeService.submit("overlays", progress -> createDataSets(overlays.values(), progress), completed -> {
+            if (completed) {
+                plotModel.setOverlays(overlays);
+                scheduleFlush(); // ticks added while the datasets were computed
+            }
+        }, null);
     }
 
     /**
@@ -268,56 +289,100 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
      * @param indicatorIdentifiers a list of identifiers e.g. "MACDIndicator_1"
      */
     public void plotSubPlots(List<String> indicatorIdentifiers){
-        List<TaChartIndicator> subPlots = new ArrayList<>();
+        Map<String, TaChartIndicator> subPlots = getChartIndicators(indicatorIdentifiers);
+        computeService.submit("subplots", progress -> createDataSets(subPlots.values(), progress), completed -> {
+            if (completed) {
+                plotModel.setSubPlots(subPlots);
+                scheduleFlush(); // ticks added while the datasets were computed
+            }
+        }, null);
+    }
+
+    private Map<String, TaChartIndicator> getChartIndicators(List<String> indicatorIdentifiers){
+        Map<String, TaChartIndicator> chartIndicators = new LinkedHashMap<>();
         for (String identifier: indicatorIdentifiers){
-            TaChartIndicator taChartIndicator = chartIndicatorBox.getChartIndicator(identifier);
-            subPlots.add(taChartIndicator);
+            chartIndicators.put(identifier, chartIndicatorBox.getChartIndicator(identifier));
         }
-
-        this.combinedXYPlot = createCombinedDomainXYPlot(mainPlot, subPlots);
-        rep();
+        return chartIndicators;
     }
 
     /**
-     * Creating the xyPlot for the base candlestick chart
-     * @param dataset a XYDataset for the candlestick
+     * Reloads the indicators when the parameter file is changed by another program (e.g. an editor). Only the
+     * indicators whose parameters changed are created and computed again, on the worker thread of the compute
+     * service. Shown indicators are replaced, all other indicators keep their datasets.
+     * @param hotReload true to watch the parameter file
      */
-    private XYPlot createMainPlot(XYDataset dataset, List<TaChartIndicator> overlays){
-
-        TaChart.MyCandlestickRenderer renderer = new TaChart.MyCandlestickRenderer();
-        renderer.setCandleWidth(2);
-        renderer.setDrawVolume(true);
-
-        NumberAxis numberAxis = new NumberAxis("Price");
-        numberAxis.setTickLabelPaint(Color.GRAY);
-        numberAxis.setLabelPaint(Color.GRAY);
-
-        DateAxis dateAxis = new DateAxis("Date");
-        dateAxis.setTickLabelPaint(Color.GRAY);
-        dateAxis.setLabelPaint(Color.GRAY);
-
-        // XYPlot with candlesticks
-        XYPlot plot = new XYPlot(dataset, dateAxis, numberAxis, renderer);
-        plot.setOrientation(PlotOrientation.VERTICAL);
-        plot.setRangeAxisLocation(AxisLocation.BOTTOM_OR_LEFT);
-        plot.setBackgroundPaint(plotBackground);
-        float dash[]={1.0f};
-        BasicStroke grid = new BasicStroke(0.1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,10.0f, dash, 0.0f);
-        plot.setDomainGridlineStroke(grid);
-        plot.setRangeGridlineStroke(grid);
-        for(TaChartIndicator taChartIndicator: overlays) {
-            int anonymID = plot.getDatasetCount();
-            plot.setDataset(anonymID, taChartIndicator.getDataSet());
-            plot.mapDatasetToRangeAxis(mainPlot.getDatasetCount(), 0);
-            plot.setRenderer(anonymID, taChartIndicator.getRenderer());
-            numberAxis.setAutoRangeIncludesZero(false);
-            plot.setDatasetRenderingOrder(DatasetRenderingOrder.FORWARD);
+    public void setParameterHotReload(boolean hotReload){
+        TaPropertiesManager parameters = chartIndicatorBox.getPropertiesManager();
+        if (hotReload) {
+            parameters.addParametersListener(parametersListener);
+            try {
+                parameters.startWatching();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        } else {
+            parameters.stopWatching();
+            parameters.removeParametersListener(parametersListener);
+        }
+    }
+
+    public boolean isParameterHotReload(){
+        return chartIndicatorBox.getPropertiesManager().isWatching();
+    }
 
+    // called on the watcher thread of the properties manager
+    private void reloadIndicators(List<String> changedKeys, List<String> removedKeys){
+        for (String key : changedKeys){
+            computeService.submit("reload " + key, progress -> {
+                IndicatorBatch batch = chartIndicatorBox.createIndicator(key);
+                try {
+                    if (!progress.isCancelled()) {
+                        batch.precomputeValues();
+                        createDataSets(batch.getIndicators().values(), progress);
+                    }
+                } catch (RuntimeException e) {
+                    chartIndicatorBox.discard(batch);
+                    throw e;
+                }
+                return batch; // a cancelled or replaced batch is discarded
+            }, this::publishReloaded, Throwable::printStackTrace, chartIndicatorBox::discard);
+        }
+        if (!removedKeys.isEmpty()) {
+            IndicatorBatch batch = new IndicatorBatch();
+            for (String key : removedKeys){
+                batch.remove(key);
+            }
+            SwingUtilities.invokeLater(() -> publishReloaded(batch));
         }
-        return plot;
     }
 
+    private void publishReloaded(IndicatorBatch batch){
+        for (String identifier : batch.getRemovals()){
+            plotModel.replaceIndicator(identifier, null);
+        }
+        for (Map.Entry<String, TaChartIndicator> entry : batch.getIndicators().entrySet()){
+            plotModel.replaceIndicator(entry.getKey(), entry.getValue());
+        }
+        chartIndicatorBox.publish(batch); // after the plots, the menu bar shows which indicators are plotted
+    }
 
+    /**
+     * Creates the (cached) datasets of the indicators on the worker thread of the compute service
+     * @return true if all datasets were created, false if the task was cancelled
+     */
+    private static boolean createDataSets(Collection<TaChartIndicator> chartIndicators,
+                                          IndicatorComputeService.Progress progress){
+        int done = 0;
+        for (TaChartIndicator taChartIndicator: chartIndicators){
+            if (progress.isCancelled()){
+                return false;
+            }
+            taChartIndicator.getDataSet();
+            progress.update(++done, chartIndicators.size());
+        }
+        return true;
+    }
 
     @Override
     public void chartMouseClicked(ChartMouseEvent chartMouseEvent) {
@@ -331,7 +396,14 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
 
         double x = xAxis.java2DToValue(chartMouseEvent.getTrigger().getX(), dataArea,
                 RectangleEdge.BOTTOM);
-        double y = DatasetUtilities.findYValue(((XYPlot)plot.getSubplots().get(0)).getDataset(), 0, x);
+        // selects the trade under the cursor (3 pixels tolerance)
+        double tolerance = 3 * xAxis.getRange().getLength() / dataArea.getWidth();
+        plotModel.getTradeLayer().select(x, tolerance);
+        if (!plotModel.findValues(x, crosshairValues)) {
+            return;
+        }
+        x = crosshairValues.getTime();
+        double y = crosshairValues.getClose();
 
         XYTextAnnotation an = new XYTextAnnotation(x+" "+y, x, y);
         an.setBackgroundPaint(Color.WHITE);
@@ -339,67 +411,6 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
 
     }
 
-    private CombinedDomainXYPlot createCombinedDomainXYPlot(XYPlot plot, List<TaChartIndicator> subplots){
-        // create the combined xy plot for this and the subplots
-        this.currentSubPlots = new ArrayList<>();
-        CombinedDomainXYPlot combinedXYPlot = new CombinedDomainXYPlot(plot.getDomainAxis());
-        combinedXYPlot.setGap(2);
-        combinedXYPlot.add(plot,11);
-        combinedXYPlot.setOrientation(PlotOrientation.VERTICAL);
-        combinedXYPlot.setBackgroundPaint(plotBackground);
-        for(TaChartIndicator taChartIndicator: subplots){
-            XYPlot subPlot = createSubplotforIndicators(taChartIndicator);
-            combinedXYPlot.add(subPlot);
-            currentSubPlots.add(subPlot);
-        }
-
-        return combinedXYPlot;
-    }
-
-    private CombinedDomainXYPlot recreateCombinedDomainXYPlot(){
-        CombinedDomainXYPlot combinedXYPlot = new CombinedDomainXYPlot(mainPlot.getDomainAxis());
-        combinedXYPlot.setGap(2);
-        combinedXYPlot.add(mainPlot,11);
-        combinedXYPlot.setOrientation(PlotOrientation.VERTICAL);
-        combinedXYPlot.setBackgroundPaint(plotBackground);
-        //TODO: loose mapping between TaChartIndicator and his plot
-        for(XYPlot p: currentSubPlots){
-            combinedXYPlot.add(p);
-        }
-
-        return combinedXYPlot;
-    }
-
-    /**
-     * Returns a plot with the given indicators plotted
-     * @param taChartIndicator chart indicators for the plot
-     * @return a XYPlot with the indicators as plots
-     */
-    private XYPlot createSubplotforIndicators(TaChartIndicator taChartIndicator){
-
-        NumberAxis numberAxis = new NumberAxis();
-
-        numberAxis.setLabelFont(new Font("NumberAxisLabelFont",1,8));
-        numberAxis.setTickLabelPaint(Color.GRAY);
-        numberAxis.setLabelPaint(Color.GRAY);
-        numberAxis.setTickUnit(new NumberTickUnit(0.5));
-        numberAxis.setTickLabelFont(new Font("NumberAxisTickFont",1,8));
-        numberAxis.setAutoTickUnitSelection(true);
-        XYPlot indicatorPlot = new XYPlot(taChartIndicator.getDataSet(), mainPlot.getDomainAxis(), numberAxis, taChartIndicator.getRenderer());
-
-        double x = new Minute(Date.from(series.getTick(0).getEndTime().minusDays(50).toInstant())).getFirstMillisecond();
-        double y = numberAxis.getLowerBound()+(numberAxis.getUpperBound()+numberAxis.getLowerBound())/1.1;
-        XYTextAnnotation annotation = new XYTextAnnotation(taChartIndicator.getGeneralName(), x, y);
-        annotation.setFont(new Font("SansSerif", Font.BOLD, 6));
-        annotation.setPaint(subPlotNames);
-        annotation.setOutlineVisible(true);
-        annotation.setTextAnchor(TextAnchor.TOP_LEFT);
-        indicatorPlot.addAnnotation(annotation);
-        indicatorPlot.setBackgroundPaint(plotBackground);
-        indicatorPlot.setRangeAxisLocation(AxisLocation.TOP_OR_LEFT);
-        return indicatorPlot;
-    }
-
     /**
      * Create the crosshair overlay with a custom paint procedure for main plot
      * @return an crosshair overlay for the main plot and sub plots
@@ -427,89 +438,155 @@ public class TaChart extends ApplicationFrame implements ChartMouseListener {
     /**
      * Builds a JFreeChart OHLC dataset from a ta4j time series.
      * @param series a time series
-     * @return an Open-High-Low-Close dataset
+     * @return an Open-High-Low-Close dataset that can be extended by {@link #addTicks(Collection)}, shares the
+     * columns of a {@link ColumnarTimeSeries}
      * See ta4j/ta4j-examples/src/main/java/ta4jexamples/indicators/CandlestickChart.java
      */
-    private static OHLCDataset createOHLCDataset(TimeSeries series) {
+    private static OHLCColumnDataset createOHLCDataset(TimeSeries series) {
+        if (series instanceof ColumnarTimeSeries) {
+            return new OHLCColumnDataset(series.getName(), ((ColumnarTimeSeries) series).getColumns());
+        }
         final int nbTicks = series.getTickCount();
-
-        Date[] dates = new Date[nbTicks];
-        double[] opens = new double[nbTicks];
-        double[] highs = new double[nbTicks];
-        double[] lows = new double[nbTicks];
-        double[] closes = new double[nbTicks];
-        double[] volumes = new double[nbTicks];
+        OHLCColumnDataset dataset = new OHLCColumnDataset(series.getName(),
+                new TickColumns(series.getTick(0).getEndTime().getZone(), nbTicks));
 
         for (int i = 0; i < nbTicks; i++) {
-            Tick tick = series.getTick(i);
-            dates[i] = new Date(tick.getEndTime().toEpochSecond() * 1000);
-            opens[i] = tick.getOpenPrice().toDouble();
-            highs[i] = tick.getMaxPrice().toDouble();
-            lows[i] = tick.getMinPrice().toDouble();
-            closes[i] = tick.getClosePrice().toDouble();
-            volumes[i] = tick.getVolume().toDouble();
+            addToDataset(dataset, series.getTick(i));
         }
-
-        return new DefaultHighLowDataset(series.getName(), dates, highs, lows, opens, closes, volumes);
+        return dataset;
     }
 
+    private static void addToDataset(OHLCColumnDataset dataset, Tick tick){
+        dataset.add(tick.getEndTime().toEpochSecond() * 1000,
+                tick.getOpenPrice().toDouble(),
+                tick.getMaxPrice().toDouble(),
+                tick.getMinPrice().toDouble(),
+                tick.getClosePrice().toDouble(),
+                tick.getVolume().toDouble());
+    }
 
+    /**
+     * Sets the maximum number of chart updates per second for ticks added by {@link #addTicks(Collection)}
+     * @param maxFrameRate updates per second
+     */
+    public void setMaxFrameRate(int maxFrameRate){
+        this.maxFrameRate = Math.max(1, maxFrameRate);
+        SwingUtilities.invokeLater(() -> {
+            if (flushTimer != null) {
+                flushTimer.setInitialDelay(1000 / this.maxFrameRate);
+            }
+        });
+    }
 
+    /**
+     * Adds new ticks to the time series and to the plotted candles and indicators without rebuilding the plots.
+     * Can be called from any thread, ticks arriving in a burst are added with one repaint.
+     * @param ticks ticks that end after the last tick of the series, in ascending order
+     */
+    public void addTicks(Collection<Tick> ticks){
+        pendingTicks.addAll(ticks);
+        scheduleFlush();
+    }
 
+    private void scheduleFlush(){
+        if (flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                if (flushTimer == null) {
+                    flushTimer = new javax.swing.Timer(1000 / maxFrameRate, e -> flushPendingTicks());
+                    flushTimer.setRepeats(false);
+                }
+                flushTimer.setInitialDelay(1000 / maxFrameRate);
+                flushTimer.restart();
+            });
+        }
+    }
 
-    public class MyCandlestickRenderer extends CandlestickRenderer {
-
-        private static final long serialVersionUID = 1L;
-
-        @Override
-        public Paint getItemPaint(int row, int column) {
-
-            //determine up or down candle
-            XYDataset dataset = getPlot().getDataset();
-            OHLCDataset highLowData = (OHLCDataset) dataset;
-
-            Number yOpen = highLowData.getOpen(row, column);
-            Number yClose = highLowData.getClose(row, column);
-            boolean isUpCandle = yClose.doubleValue() > yOpen.doubleValue();
+    /**
+     * Adds all queued ticks to the series and the datasets (on the event dispatch thread)
+     */
+    private void flushPendingTicks(){
+        // the series and the indicators must not change while the compute service works on them
+        if (!computeService.getComputeLock().tryLock()) {
+            flushTimer.restart();
+            return;
+        }
+        try {
+            addPendingTicks();
+        } finally {
+            computeService.getComputeLock().unlock();
+        }
+    }
 
-            //return the same color as that used to fill the candle
-            if (isUpCandle) {
-                return getUpPaint();
-            } else {
-                return getDownPaint();
+    private void addPendingTicks(){
+        flushScheduled.set(false);
+        int firstNew = series.getEndIndex() + 1;
+        boolean sharedColumns = series instanceof ColumnarTimeSeries
+                && ((ColumnarTimeSeries) series).getColumns() == candlestickData.getColumns();
+        Tick tick;
+        while ((tick = pendingTicks.poll()) != null) {
+            if (series.getTickCount() > 0 && !tick.getEndTime().isAfter(series.getLastTick().getEndTime())) {
+                continue; // already known or out of order
             }
+            series.addTick(tick);
+            if (!sharedColumns) {
+                addToDataset(candlestickData, tick);
+            }
+        }
+        // datasets created by the compute service may miss ticks that were added in the meantime
+        plotModel.appendNewTicks();
+        if (series.getEndIndex() >= firstNew) {
+            candlestickData.fireDatasetChanged();
         }
     }
 
-    @Override
-    public void chartMouseMoved(ChartMouseEvent chartMouseEvent) {
-        Rectangle2D dataArea = this.chartPanel.getScreenDataArea();
-        JFreeChart chart = chartMouseEvent.getChart();
-        CombinedDomainXYPlot plot = (CombinedDomainXYPlot) chart.getPlot();
 
-        List<XYPlot> subplots = (List<XYPlot>) plot.getSubplots();
 
-        DateAxis xAxis = (DateAxis) subplots.get(0).getDomainAxis();
 
-        double x = xAxis.java2DToValue(chartMouseEvent.getTrigger().getX(), dataArea, RectangleEdge.BOTTOM);
-        double y = DatasetUtilities.findYValue(((XYPlot)plot.getSubplots().get(0)).getDataset(), 0, x);
 
-        this.xCrosshair.setValue(x);
-        this.yCrosshair.setValue(y);
+    /**
+     * Moves the crosshair to the bar under the mouse. Called for every mouse move, so the lookup is a binary search
+     * and nothing is allocated (the data area is read in chart coordinates instead of creating the screen area).
+     */
+    @Override
+    public void chartMouseMoved(ChartMouseEvent chartMouseEvent) {
+        Insets insets = this.chartPanel.getInsets(this.panelInsets);
+        double chartX = (chartMouseEvent.getTrigger().getX() - insets.left) / this.chartPanel.getScaleX();
+        Rectangle2D dataArea = this.chartPanel.getChartRenderingInfo().getPlotInfo().getDataArea();
+        ValueAxis xAxis = plotModel.getMainPlot().getDomainAxis();
+
+        double x = xAxis.java2DToValue(chartX, dataArea, RectangleEdge.BOTTOM);
+        if (!plotModel.findValues(x, crosshairValues)) {
+            return;
+        }
+        // the crosshair snaps to the nearest bar
+        this.xCrosshair.setValue(crosshairValues.getTime());
+        this.yCrosshair.setValue(crosshairValues.getClose());
+        if (dataWindow.isVisible()) {
+            dataWindow.setValues(crosshairValues, plotModel.getTradeLayer().getIndices());
+        }
 
     }
 
     /**
-     * Custom CrosshairLabelGenerator to display the date on the crosshair
+     * Custom CrosshairLabelGenerator to display the date on the crosshair. The label of the last value is reused,
+     * so moving the mouse within a bar does not format the date again.
      */
     class TaXCrosshairLabelGenerator implements CrosshairLabelGenerator{
 
+        private final SimpleDateFormat format = new SimpleDateFormat();
+        private final Date date = new Date();
+        private double lastValue = Double.NaN;
+        private String lastLabel;
+
         @Override
         public String generateLabel(Crosshair crosshair) {
             double value = crosshair.getValue();
-            long itemLong = (long) (value);
-            Date itemDate = new Date(itemLong);
-            return new SimpleDateFormat().format(itemDate);
+            if (value != lastValue) {
+                date.setTime((long) value);
+                lastLabel = format.format(date);
+                lastValue = value;
+            }
+            return lastLabel;
         }
     }
 }
@@ -19,17 +19,17 @@
 
 package chart;
 
+import chart.data.IndicatorDataset;
+import chart.data.TimeIndex;
+import chart.fast.FastIndicator;
 import chart.types.IndicatorParameters;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
-import org.jfree.data.time.Second;
-import org.jfree.data.time.TimeSeriesCollection;
 import org.ta4j.core.Decimal;
 import org.ta4j.core.Indicator;
-import org.ta4j.core.Tick;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An Wrapper for the indicators displaying on a jfreeCharts chart panel.
@@ -38,6 +38,7 @@ import java.util.List;
 public class TaChartIndicator {
 
     private List<Indicator> indicators;
+    private List<FastIndicator> fastIndicators;
     private List<String> indicatorsNames;
     private XYLineAndShapeRenderer renderer;
 
@@ -46,6 +47,15 @@ public class TaChartIndicator {
 
     private IndicatorParameters.TaCategory category = IndicatorParameters.TaCategory.DEFAULT;
 
+    // dataset cache, valid as long as the series has the same begin index and the dataset covers all ticks
+    private IndicatorDataset cachedDataSet;
+    private int cachedBeginIndex;
+    private long cachedBuildNanos;
+
+    private static final AtomicLong dataSetCacheHits = new AtomicLong();
+    private static final AtomicLong dataSetCacheMisses = new AtomicLong();
+    private static final AtomicLong dataSetNanosSaved = new AtomicLong();
+
     public TaChartIndicator(Indicator indicator, String name, boolean isSubchart, IndicatorParameters.TaCategory c){
         this(indicator,name, new XYLineAndShapeRenderer(), isSubchart,c);
     }
@@ -110,6 +120,51 @@ public class TaChartIndicator {
     }
 
 
+    /**
+     * Sets double precision indicators that are plotted instead of the ta4j indicators
+     * @param fastIndicators one fast indicator for each ta4j indicator, in the same order
+     */
+    public void setFastIndicators(List<FastIndicator> fastIndicators){
+        if (fastIndicators != null && fastIndicators.size() != indicators.size()) {
+            throw new IllegalArgumentException("Expected "+indicators.size()+" fast indicators, got "+fastIndicators.size());
+        }
+        this.fastIndicators = fastIndicators;
+    }
+
+    public boolean hasFastIndicators(){
+        return fastIndicators != null;
+    }
+
+    public FastIndicator getFastIndicator(int index){
+        return fastIndicators.get(index);
+    }
+
+    /**
+     * Returns the value that is plotted for a tick, from the fast indicator if there is one
+     * @param index the index of the indicator
+     * @param tickIndex the index of the tick
+     * @return the value of the indicator as double
+     */
+    public double getPlotValue(int index, int tickIndex){
+        if (fastIndicators != null) {
+            return fastIndicators.get(index).getValue(tickIndex);
+        }
+        Indicator<Decimal> indicator = this.getIndicator(index);
+        return indicator.getValue(tickIndex).toDouble();
+    }
+
+    /**
+     * Computes the plot values of all ticks, so that creating the dataset later only reads cached values
+     */
+    public void precomputeValues(){
+        for(int index = 0; index< this.getIndicatorsCount(); index++){
+            int tickCount = this.getIndicator(index).getTimeSeries().getTickCount();
+            for(int i = 0; i<tickCount; i++){
+                getPlotValue(index, i);
+            }
+        }
+    }
+
     public boolean isSubchart(){
         return isSubchart;
     }
@@ -123,18 +178,97 @@ public class TaChartIndicator {
         return this.category;
     }
 
-    public TimeSeriesCollection getDataSet(){
-        TimeSeriesCollection dataset = new TimeSeriesCollection();
+    /**
+     * Returns the dataset of this indicator. The dataset is created once and cached, later calls return the same
+     * instance (ticks added to the series in the meantime are appended). The cache is dropped if ticks were removed
+     * from the series or by {@link #invalidateDataSet()}.
+     * @return the dataset with one series for each ta4j indicator
+     */
+    public synchronized IndicatorDataset getDataSet(){
+        org.ta4j.core.TimeSeries series = getIndicator().getTimeSeries();
+        if (cachedDataSet != null && cachedBeginIndex == series.getBeginIndex()
+                && cachedDataSet.getItemCount(0) <= series.getTickCount()) {
+            appendToDataSet(cachedDataSet);
+            dataSetCacheHits.incrementAndGet();
+            dataSetNanosSaved.addAndGet(cachedBuildNanos);
+            return cachedDataSet;
+        }
+        long start = System.nanoTime();
+        cachedDataSet = createDataSet();
+        cachedBeginIndex = series.getBeginIndex();
+        cachedBuildNanos = System.nanoTime() - start;
+        dataSetCacheMisses.incrementAndGet();
+        return cachedDataSet;
+    }
+
+    /**
+     * Drops the cached dataset, the next call of {@link #getDataSet()} creates a new one
+     */
+    public synchronized void invalidateDataSet(){
+        cachedDataSet = null;
+    }
+
+    /**
+     * @return number of {@link #getDataSet()} calls (of all indicators) that returned a cached dataset
+     */
+    public static long getDataSetCacheHits(){
+        return dataSetCacheHits.get();
+    }
+
+    /**
+     * @return number of {@link #getDataSet()} calls (of all indicators) that had to create a new dataset
+     */
+    public static long getDataSetCacheMisses(){
+        return dataSetCacheMisses.get();
+    }
+
+    /**
+     * @return the time the cache hits would have needed to create the datasets again, in nanoseconds
+     */
+    public static long getDataSetNanosSaved(){
+        return dataSetNanosSaved.get();
+    }
+
+    public static void resetDataSetCacheStatistics(){
+        dataSetCacheHits.set(0);
+        dataSetCacheMisses.set(0);
+        dataSetNanosSaved.set(0);
+    }
+
+    private IndicatorDataset createDataSet(){
+        org.ta4j.core.TimeSeries series = getIndicator().getTimeSeries();
+        IndicatorDataset dataset = new IndicatorDataset(TimeIndex.of(series), indicatorsNames, series.getTickCount());
+        appendToDataSet(dataset, 0);
+        return dataset;
+    }
+
+    /**
+     * Appends the values of new ticks to a dataset created by {@link #getDataSet()}
+     * @param dataset the dataset of this indicator
+     * @param fromIndex the index of the first tick that is not in the dataset
+     */
+    public synchronized void appendToDataSet(IndicatorDataset dataset, int fromIndex){
+        org.ta4j.core.TimeSeries series = getIndicator().getTimeSeries();
+        int tickCount = series.getTickCount();
+        if(fromIndex >= tickCount){
+            return;
+        }
+        dataset.getTimeIndex().update(series);
         for(int index = 0; index< this.getIndicatorsCount(); index++){
-            Indicator<Decimal> indicator = this.getIndicator(index);
-            org.jfree.data.time.TimeSeries chartTimeSeries = new org.jfree.data.time.TimeSeries(this.getName(index));
-            for(int i = 0; i<indicator.getTimeSeries().getTickCount(); i++){
-                Tick t = indicator.getTimeSeries().getTick(i);
-                chartTimeSeries.add(new Second(new Date(t.getEndTime().toEpochSecond() * 1000)), indicator.getValue(i).toDouble());
+            for(int i = fromIndex; i<tickCount; i++){
+                dataset.setValue(index, i, getPlotValue(index, i));
             }
-            dataset.addSeries(chartTimeSeries);
         }
-        return dataset;
+        dataset.setItemCount(tickCount);
+        dataset.fireDatasetChanged();
+    }
+
+    /**
+     * Appends the values of all ticks that are not yet in a dataset created by {@link #getDataSet()}
+     * @param dataset the dataset of this indicator
+     */
+    public synchronized void appendToDataSet(IndicatorDataset dataset){
+        appendToDataSet(dataset, dataset.getItemCount(0));
     }
 
     public XYLineAndShapeRenderer getRenderer(){
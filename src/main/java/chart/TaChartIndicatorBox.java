@@ -19,6 +19,12 @@
 
 package chart;
 
+import chart.data.IndicatorRegistry;
+import chart.fast.FastIndicator;
+import chart.fast.FastIndicatorFactory;
+import chart.fast.PriceIndicator.Price;
+import chart.fast.TickIndicator;
+import chart.fast.VolumeIndexIndicator;
 import chart.types.IndicatorParameters.*;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.ta4j.core.Decimal;
@@ -37,9 +43,11 @@ import org.ta4j.core.indicators.keltner.KeltnerChannelUpperIndicator;
 import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
 import org.ta4j.core.indicators.volume.*;
 
-import javax.xml.xpath.XPathException;
-import javax.xml.xpath.XPathExpressionException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import static chart.types.IndicatorParameters.TaCategory.DEFAULT;
 import static chart.types.IndicatorParameters.TaCategory.HELPERS;
@@ -53,15 +61,49 @@ public class TaChartIndicatorBox extends Observable {
     private TimeSeries series;
     private ClosePriceIndicator closePriceIndicator;
 
+    // canonical ta4j and fast indicators, identical (sub) indicators are shared by all chart indicators
+    private IndicatorRegistry registry;
+    private FastIndicatorFactory fast;
+    private boolean fastEngine = false;
+
+    // collects the indicators that are created by the current thread without adding them to the box, null else
+    private final ThreadLocal<IndicatorBatch> currentBatch = new ThreadLocal<>();
+    // registry nodes requested while loading an indicator key, released when the key is reloaded or removed
+    private final Map<String, List<Object>> nodesByKey = new ConcurrentHashMap<>();
+
     /**
      * Constructor
      */
     public TaChartIndicatorBox(TimeSeries series){
+        this(series, null);
+    }
+
+    /**
+     * Constructor for indicators with the parameters of another file than the default parameter file
+     * @param series the time series of the indicators
+     * @param parameters the properties manager of the parameter file, null for the default parameter file
+     */
+    public TaChartIndicatorBox(TimeSeries series, TaPropertiesManager parameters){
         this.chartIndicatorMap = new HashMap<>();
         this.tradingRecordMap = new HashMap<>();
         this.series = series;
-        this.closePriceIndicator = new ClosePriceIndicator(series);
-        this.parameter = new TaPropertiesManager(this);
+        this.registry = new IndicatorRegistry();
+        this.closePriceIndicator = registry.get(ClosePriceIndicator.class, () -> new ClosePriceIndicator(series), series);
+        this.fast = new FastIndicatorFactory(series, registry);
+        this.parameter = parameters != null ? parameters : new TaPropertiesManager(this);
+    }
+
+    /**
+     * Plots the indicators that are loaded afterwards with double precision fast indicators instead of the
+     * ta4j indicators (the ta4j indicators are still created, e.g. for strategies)
+     * @param fastEngine true to use the fast indicators
+     */
+    public void setFastEngine(boolean fastEngine){
+        this.fastEngine = fastEngine;
+    }
+
+    public boolean isFastEngine(){
+        return fastEngine;
     }
 
     public void addTradingRecord(String name, TradingRecord record){
@@ -77,97 +119,100 @@ public class TaChartIndicatorBox extends Observable {
     }
 
     // simple moving average
-    private void loadSMAIndicator(String key) throws XPathException {
-        int smaTimeFrame = Integer.parseInt(parameter.getParameter(key,"Time Frame"));
-        TaColor color = TaColor.valueOf(parameter.getParameter(key, "Color"));
-        TaStroke stroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke"));
-        TaShape shape = TaShape.valueOf(parameter.getParameter(key,"Shape"));
+    private void loadSMAIndicator(String key){
+        int smaTimeFrame = parameter.getInt(key, "Time Frame");
+        TaColor color = parameter.getTaColor(key, "Color");
+        TaStroke stroke = parameter.getTaStroke(key, "Stroke");
+        TaShape shape = parameter.getTaShape(key, "Shape");
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
-        TaChartIndicator sma = new TaChartIndicator(new SMAIndicator(closePriceIndicator, smaTimeFrame),
+        TaChartIndicator sma = new TaChartIndicator(node(SMAIndicator.class, () -> new SMAIndicator(closePriceIndicator, smaTimeFrame), closePriceIndicator, smaTimeFrame),
                 String.format("%s (%s) (%s)",getIdentifier(key),getID(key),smaTimeFrame),
                 createRendere(color,stroke,shape),
                 chartType.toBoolean(),
                 category);
-        addChartIndicator(key, sma);
+        addChartIndicator(key, sma, () -> Arrays.asList(fast.sma(fast.close(), smaTimeFrame)));
     }
 
     // exponential moving average
-    private void loadEMAIndicator(String key)throws XPathException {
-        int timeFrame = Integer.parseInt(parameter.getParameter(key,"Time Frame"));
-        TaColor color = TaColor.valueOf(parameter.getParameter(key, "Color"));
-        TaStroke stroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke"));
-        TaShape shape = TaShape.valueOf(parameter.getParameter(key,"Shape"));
+    private void loadEMAIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
+        TaColor color = parameter.getTaColor(key, "Color");
+        TaStroke stroke = parameter.getTaStroke(key, "Stroke");
+        TaShape shape = parameter.getTaShape(key, "Shape");
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
-        addChartIndicator(key, new EMAIndicator(closePriceIndicator, timeFrame),
+        addChartIndicator(key, new TaChartIndicator(node(EMAIndicator.class, () -> new EMAIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key),getID(key),timeFrame),
                 createRendere(color, stroke, shape),
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.ema(fast.close(), timeFrame)));
     }
 
     //CCI
-    private void loadCCIIndicator(String key)throws XPathException{
-        int timeFrame = Integer.parseInt(parameter.getParameter(key,"Time Frame"));
-        TaColor color = TaColor.valueOf(parameter.getParameter(key, "Color"));
-        TaStroke stroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke"));
-        TaShape shape = TaShape.valueOf(parameter.getParameter(key,"Shape"));
+    private void loadCCIIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
+        TaColor color = parameter.getTaColor(key, "Color");
+        TaStroke stroke = parameter.getTaStroke(key, "Stroke");
+        TaShape shape = parameter.getTaShape(key, "Shape");
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
-        addChartIndicator(key, new CCIIndicator(series, timeFrame),
+        addChartIndicator(key, new TaChartIndicator(node(CCIIndicator.class, () -> new CCIIndicator(series, timeFrame), series, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key),getID(key),timeFrame),
                 createRendere(color, stroke, shape),
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.cci(timeFrame)));
     }
 
     //CMO
-    private void loadCMOIndicator(String key)throws XPathException{
-        int timeFrame = Integer.parseInt(parameter.getParameter(key,"Time Frame"));
-        TaColor color = TaColor.valueOf(parameter.getParameter(key, "Color"));
-        TaStroke stroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke"));
-        TaShape shape = TaShape.valueOf(parameter.getParameter(key,"Shape"));
-        TaChartType chartType = TaChartType.valueOf(parameter.getParameter(key, "Chart Type"));
+    private void loadCMOIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
+        TaColor color = parameter.getTaColor(key, "Color");
+        TaStroke stroke = parameter.getTaStroke(key, "Stroke");
+        TaShape shape = parameter.getTaShape(key, "Shape");
+        TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
-        addChartIndicator(key, new CMOIndicator(closePriceIndicator, timeFrame),
+        addChartIndicator(key, new TaChartIndicator(node(CMOIndicator.class, () -> new CMOIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key), getID(key), timeFrame),
                 createRendere(color, stroke, shape),
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.cmo(fast.close(), timeFrame)));
     }
 
     // Bollinger Bands and the width
-    public void loadBollingerBands(String key) throws XPathException{
+    public void loadBollingerBands(String key){
         List<Indicator> indicatorList = new ArrayList<>();
         List<String> namesList = new ArrayList<>();
         XYLineAndShapeRenderer bbRenderer = new XYLineAndShapeRenderer();
         int id = getID(key);
 
-        int timeFrame = Integer.parseInt(parameter.getParameter(key,"Time Frame"));
-
-        StandardDeviationIndicator sd = new StandardDeviationIndicator(closePriceIndicator, timeFrame);
-        EMAIndicator bollingerEMA = new EMAIndicator(closePriceIndicator,timeFrame);
-        TaColor color1 = TaColor.valueOf(parameter.getParameter(key, "Color Middle Band"));
-        TaStroke stroke1 = TaStroke.valueOf(parameter.getParameter(key, "Stroke Middle Band"));
-        TaShape shape1 = TaShape.valueOf(parameter.getParameter(key,"Shape Middle Band"));
-        TaColor color2 = TaColor.valueOf(parameter.getParameter(key, "Color Upper Band"));
-        TaStroke stroke2 = TaStroke.valueOf(parameter.getParameter(key, "Stroke Upper Band"));
-        TaShape shape2 = TaShape.valueOf(parameter.getParameter(key,"Shape Upper Band"));
-        TaColor color3 = TaColor.valueOf(parameter.getParameter(key, "Color Lower Band"));
-        TaStroke stroke3 = TaStroke.valueOf(parameter.getParameter(key, "Stroke Lower Band"));
-        TaShape shape3 = TaShape.valueOf(parameter.getParameter(key,"Shape Lower Band"));
-        TaChartType chartType = TaChartType.valueOf(parameter.getParameter(key, "Chart Type"));
+        int timeFrame = parameter.getInt(key, "Time Frame");
+
+        StandardDeviationIndicator sd = node(StandardDeviationIndicator.class, () -> new StandardDeviationIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame);
+        EMAIndicator bollingerEMA = node(EMAIndicator.class, () -> new EMAIndicator(closePriceIndicator,timeFrame), closePriceIndicator,timeFrame);
+        TaColor color1 = parameter.getTaColor(key, "Color Middle Band");
+        TaStroke stroke1 = parameter.getTaStroke(key, "Stroke Middle Band");
+        TaShape shape1 = parameter.getTaShape(key, "Shape Middle Band");
+        TaColor color2 = parameter.getTaColor(key, "Color Upper Band");
+        TaStroke stroke2 = parameter.getTaStroke(key, "Stroke Upper Band");
+        TaShape shape2 = parameter.getTaShape(key, "Shape Upper Band");
+        TaColor color3 = parameter.getTaColor(key, "Color Lower Band");
+        TaStroke stroke3 = parameter.getTaStroke(key, "Stroke Lower Band");
+        TaShape shape3 = parameter.getTaShape(key, "Shape Lower Band");
+        TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
-        TaBoolean addWidth = TaBoolean.valueOf(parameter.getParameter(key, "Add Bollinger Bands Width"));
+        TaBoolean addWidth = parameter.getTaBoolean(key, "Add Bollinger Bands Width");
 
-        BollingerBandsMiddleIndicator bbm = new BollingerBandsMiddleIndicator(bollingerEMA);
-        BollingerBandsUpperIndicator bbu = new BollingerBandsUpperIndicator(bbm,sd);
-        BollingerBandsLowerIndicator bbl = new BollingerBandsLowerIndicator(bbm,sd);
+        BollingerBandsMiddleIndicator bbm = node(BollingerBandsMiddleIndicator.class, () -> new BollingerBandsMiddleIndicator(bollingerEMA), bollingerEMA);
+        BollingerBandsUpperIndicator bbu = node(BollingerBandsUpperIndicator.class, () -> new BollingerBandsUpperIndicator(bbm,sd), bbm,sd);
+        BollingerBandsLowerIndicator bbl = node(BollingerBandsLowerIndicator.class, () -> new BollingerBandsLowerIndicator(bbm,sd), bbm,sd);
 
         indicatorList.add(bbm);
         indicatorList.add(bbu);
@@ -187,18 +232,28 @@ public class TaChartIndicatorBox extends Observable {
         bbRenderer.setSeriesStroke(2, stroke3.getStroke());
         bbRenderer.setSeriesShape(2, shape3.getShape());
         addChartIndicator(key,
-                indicatorList,
+                new TaChartIndicator(indicatorList,
                 namesList,
                 String.format("Bollinger Bands [%s] (%s)",id,timeFrame),
                 bbRenderer,chartType.toBoolean(),
-                category);
+                category),
+                () -> {
+                    FastIndicator middle = fast.ema(fast.close(), timeFrame);
+                    FastIndicator deviation = fast.standardDeviation(fast.close(), timeFrame);
+                    return Arrays.asList(middle, fast.upperBand(middle, deviation, 2), fast.lowerBand(middle, deviation, 2));
+                });
         if(addWidth.toBoolean()) {
             addChartIndicator("BollingerBandsWidth_" + getID(key),
-                    new BollingerBandWidthIndicator(bbu, bbm, bbl),
+                    new TaChartIndicator(node(BollingerBandWidthIndicator.class, () -> new BollingerBandWidthIndicator(bbu, bbm, bbl), bbu, bbm, bbl),
                     String.format("Bollinger Band Width [%s]", id),
                     bbRenderer,
                     TaChartType.SUBCHART.toBoolean(),
-                    category);
+                    category),
+                () -> {
+                        FastIndicator middle = fast.ema(fast.close(), timeFrame);
+                        FastIndicator deviation = fast.standardDeviation(fast.close(), timeFrame);
+                        return Arrays.asList(fast.bandWidth(fast.upperBand(middle, deviation, 2), middle, fast.lowerBand(middle, deviation, 2)));
+                    });
         } else{
             removeIndicator("BollingerBandsWidth_"+getID(key));
         }
@@ -206,158 +261,171 @@ public class TaChartIndicatorBox extends Observable {
     }
 
 
-    public void loadPercentBIndicator(String key) throws XPathException{
-        int timeFrame =Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadPercentBIndicator(String key){
+        int timeFrame =parameter.getInt(key, "Time Frame");
         Decimal k = Decimal.valueOf(parameter.getParameter(key,"K Multiplier"));
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType type = parameter.getChartType(key);
         addChartIndicator(key,
-                new PercentBIndicator(closePriceIndicator, timeFrame, k),
+                new TaChartIndicator(node(PercentBIndicator.class, () -> new PercentBIndicator(closePriceIndicator, timeFrame, k), closePriceIndicator, timeFrame, k),
                 String.format("%s [%s] (%s, %s)",getIdentifier(key),getID(key),timeFrame,k),
                 renderer,
                 type.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.percentB(fast.close(), timeFrame, k.toDouble())));
 
     }
 
     //Amount Indicator
-    public void loadAmountIndicator(String key) throws XPathExpressionException {
+    public void loadAmountIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         addChartIndicator(key,
-                new AmountIndicator(series),
+                new TaChartIndicator(node(AmountIndicator.class, () -> new AmountIndicator(series), series),
                 String.format("Amount [%s]", getID(key)),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.price(Price.AMOUNT)));
     }
 
     // RSI Indicator
-    public void loadRSIIndicator(String key) throws XPathExpressionException {
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadRSIIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
 
         addChartIndicator(key,
-                new RSIIndicator(closePriceIndicator, timeFrame),
+                new TaChartIndicator(node(RSIIndicator.class, () -> new RSIIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key), getID(key),timeFrame),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.rsi(fast.close(), timeFrame)));
     }
 
     // SmoothedRSIIndicator
-    public void loadSmoothedRSIIndicator(String key) throws XPathExpressionException {
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadSmoothedRSIIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
 
         addChartIndicator(key,
-                new RSIIndicator(closePriceIndicator, timeFrame),
+                new TaChartIndicator(node(RSIIndicator.class, () -> new RSIIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key), getID(key),timeFrame),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.rsi(fast.close(), timeFrame)));
     }
 
     // PVIIndicator
-    public void loadPVIIndicator(String key) throws XPathExpressionException {
+    public void loadPVIIndicator(String key){
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
 
         addChartIndicator(key,
-                new PVIIndicator(series),
+                new TaChartIndicator(node(PVIIndicator.class, () -> new PVIIndicator(series), series),
                 String.format("%s [%s]",getIdentifier(key), getID(key)),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.volumeIndex(VolumeIndexIndicator.Type.POSITIVE_VOLUME_INDEX)));
     }
 
     // NVIIndicator
-    public void loadNVIIndicator(String key) throws XPathExpressionException {
+    public void loadNVIIndicator(String key){
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         addChartIndicator(key,
-                new NVIIndicator(series),
+                new TaChartIndicator(node(NVIIndicator.class, () -> new NVIIndicator(series), series),
                 String.format("%s [%s]",getIdentifier(key), getID(key)),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.volumeIndex(VolumeIndexIndicator.Type.NEGATIVE_VOLUME_INDEX)));
     }
 
     // OnBalanceVolumeIndicator
-    public void loadOnBalanceVolumeIndicator(String key) throws XPathExpressionException {
+    public void loadOnBalanceVolumeIndicator(String key){
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
 
         addChartIndicator(key,
-                new OnBalanceVolumeIndicator(series),
+                new TaChartIndicator(node(OnBalanceVolumeIndicator.class, () -> new OnBalanceVolumeIndicator(series), series),
                 String.format("%s [%s]",getIdentifier(key), getID(key)),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.volumeIndex(VolumeIndexIndicator.Type.ON_BALANCE_VOLUME)));
     }
 
     // VWAPIndicator
-    public void loadVWAPIndicator(String key) throws XPathExpressionException {
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadVWAPIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
 
         addChartIndicator(key,
-                new VWAPIndicator(series, timeFrame),
+                new TaChartIndicator(node(VWAPIndicator.class, () -> new VWAPIndicator(series, timeFrame), series, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key), getID(key), timeFrame),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.vwap(timeFrame)));
     }
 
     // MACD Indicator
-    public void loadMACDIndicator(String key) throws XPathExpressionException {
-        int timeFrameShort = Integer.parseInt(parameter.getParameter(key, "Time Frame Short"));
-        int timeFrameLong = Integer.parseInt(parameter.getParameter(key, "Time Frame Long"));
+    public void loadMACDIndicator(String key){
+        int timeFrameShort = parameter.getInt(key, "Time Frame Short");
+        int timeFrameLong = parameter.getInt(key, "Time Frame Long");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
-        TaBoolean signalLine = TaBoolean.valueOf(parameter.getParameter(key, "Add Signal Line"));
+        TaBoolean signalLine = parameter.getTaBoolean(key, "Add Signal Line");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
-        MACDIndicator mcd = new MACDIndicator(closePriceIndicator, timeFrameShort, timeFrameLong);
+        MACDIndicator mcd = node(MACDIndicator.class, () -> new MACDIndicator(closePriceIndicator, timeFrameShort, timeFrameLong), closePriceIndicator, timeFrameShort, timeFrameLong);
         if(!signalLine.toBoolean()){
             addChartIndicator(key,
-                    mcd,
+                    new TaChartIndicator(mcd,
                     String.format("%s [%s] (%s, %s)",getIdentifier(key), getID(key), timeFrameShort,timeFrameLong),
                     renderer,
                     chartType.toBoolean(),
-                    category);
+                    category),
+                () -> Arrays.asList(fast.macd(fast.close(), timeFrameShort, timeFrameLong)));
 
         } else{
-            int timeFrameSignal = Integer.parseInt(parameter.getParameter(key, "Time Frame Signal Line"));
+            int timeFrameSignal = parameter.getInt(key, "Time Frame Signal Line");
             List<String> names = new ArrayList<>();
             List<Indicator> indicators = new ArrayList<>();
             indicators.add(mcd);
-            indicators.add(new EMAIndicator(mcd, timeFrameSignal));
+            indicators.add(node(EMAIndicator.class, () -> new EMAIndicator(mcd, timeFrameSignal), mcd, timeFrameSignal));
             names.add(String.format("%s [%s] (%s, %s)",getIdentifier(key), getID(key), timeFrameShort,timeFrameLong));
             names.add(String.format("Signal Line [%s] (%s)",getID(key),timeFrameSignal));
-            TaColor color = TaColor.valueOf(parameter.getParameter(key, "Color Signal Line"));
-            TaShape shape = TaShape.valueOf(parameter.getParameter(key, "Shape Signal Line"));
-            TaStroke stroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke Signal Line"));
+            TaColor color = parameter.getTaColor(key, "Color Signal Line");
+            TaShape shape = parameter.getTaShape(key, "Shape Signal Line");
+            TaStroke stroke = parameter.getTaStroke(key, "Stroke Signal Line");
             renderer.setSeriesPaint(1,color.getPaint());
             renderer.setSeriesShape(1,shape.getShape());
             renderer.setSeriesStroke(1, stroke.getStroke());
             addChartIndicator(key,
-                    indicators,
+                    new TaChartIndicator(indicators,
                     names,
                     String.format("%s [%s] (%s, %s)",getIdentifier(key), getID(key), timeFrameShort,timeFrameLong),
                     renderer,
                     chartType.toBoolean(),
-                    category);
+                    category),
+                () -> {
+                        FastIndicator macd = fast.macd(fast.close(), timeFrameShort, timeFrameLong);
+                        return Arrays.asList(macd, fast.ema(macd, timeFrameSignal));
+                    });
         }
 
 
@@ -365,22 +433,22 @@ public class TaChartIndicatorBox extends Observable {
     }
 
     //Average Directional Movement Down and Up
-    public void loadAverageDirectionalMovementUP_DOWN(String key) throws XPathExpressionException {
-        TaColor color1 = TaColor.valueOf(parameter.getParameter(key, "Color Up"));
-        TaStroke stroke1 = TaStroke.valueOf(parameter.getParameter(key, "Stroke Up"));
-        TaShape shape1 = TaShape.valueOf(parameter.getParameter(key,"Shape Up"));
-        TaColor color2 = TaColor.valueOf(parameter.getParameter(key, "Color Down"));
-        TaStroke stroke2 = TaStroke.valueOf(parameter.getParameter(key, "Stroke Down"));
-        TaShape shape2 = TaShape.valueOf(parameter.getParameter(key,"Shape Down"));
-        TaChartType chartType = TaChartType.valueOf(parameter.getParameter(key, "Chart Type"));
+    public void loadAverageDirectionalMovementUP_DOWN(String key){
+        TaColor color1 = parameter.getTaColor(key, "Color Up");
+        TaStroke stroke1 = parameter.getTaStroke(key, "Stroke Up");
+        TaShape shape1 = parameter.getTaShape(key, "Shape Up");
+        TaColor color2 = parameter.getTaColor(key, "Color Down");
+        TaStroke stroke2 = parameter.getTaStroke(key, "Stroke Down");
+        TaShape shape2 = parameter.getTaShape(key, "Shape Down");
+        TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
-        int timeFrameUp = Integer.parseInt(parameter.getParameter(key, "Time Frame Up"));
-        int timeFrameDown = Integer.parseInt(parameter.getParameter(key, "Time Frame Up"));
+        int timeFrameUp = parameter.getInt(key, "Time Frame Up");
+        int timeFrameDown = parameter.getInt(key, "Time Frame Up");
         List<Indicator> ilAdx = new ArrayList<>();
         List<String> nlAdx = new ArrayList<>();
 
-        ilAdx.add(new AverageDirectionalMovementUpIndicator(series, timeFrameDown));
-        ilAdx.add(new AverageDirectionalMovementDownIndicator(series, timeFrameDown));
+        ilAdx.add(node(AverageDirectionalMovementUpIndicator.class, () -> new AverageDirectionalMovementUpIndicator(series, timeFrameDown), series, timeFrameDown));
+        ilAdx.add(node(AverageDirectionalMovementDownIndicator.class, () -> new AverageDirectionalMovementDownIndicator(series, timeFrameDown), series, timeFrameDown));
         nlAdx.add("ADX UP "+timeFrameUp);
         nlAdx.add("ADX Down "+timeFrameUp);
         XYLineAndShapeRenderer adxRenderer = new XYLineAndShapeRenderer();
@@ -391,42 +459,44 @@ public class TaChartIndicatorBox extends Observable {
         adxRenderer.setSeriesStroke(1, stroke2.getStroke());
         adxRenderer.setSeriesShape(1, shape2.getShape());
         addChartIndicator(key,
-                ilAdx,
+                new TaChartIndicator(ilAdx,
                 nlAdx,
                 String.format("%s [%s] (%s, %s)", getIdentifier(key), getID(key), timeFrameUp, timeFrameDown ),
                 adxRenderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.averageDirectionalMovementUp(timeFrameDown), fast.averageDirectionalMovementDown(timeFrameDown)));
 
     }
 
     // True Range Indicator
-    public void loadTrueRangeIndicator(String key) throws XPathExpressionException {
+    public void loadTrueRangeIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
         addChartIndicator(key,
-                new TrueRangeIndicator(series),
+                new TaChartIndicator(node(TrueRangeIndicator.class, () -> new TrueRangeIndicator(series), series),
                 String.format("%s [%s]",getIdentifier(key), getID(key)),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.tick(TickIndicator.Type.TRUE_RANGE)));
 
     }
 
     // Keltner channels
-    public void loadKeltner(String key) throws XPathException{
+    public void loadKeltner(String key){
 
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+        int timeFrame = parameter.getInt(key, "Time Frame");
         Decimal ratio = Decimal.valueOf(parameter.getParameter(key, "Ratio"));
-        int atr = Integer.parseInt(parameter.getParameter(key, "Time Frame ATR"));
-        TaColor colorU = TaColor.valueOf(parameter.getParameter(key, "Color Upper"));
-        TaStroke strokeU = TaStroke.valueOf(parameter.getParameter(key, "Stroke Upper"));
-        TaShape shapeU = TaShape.valueOf(parameter.getParameter(key,"Shape Upper"));
-        TaColor colorL = TaColor.valueOf(parameter.getParameter(key, "Color Lower"));
-        TaStroke strokeL = TaStroke.valueOf(parameter.getParameter(key, "Stroke Lower"));
-        TaShape shapeL = TaShape.valueOf(parameter.getParameter(key,"Shape Lower"));
-        TaChartType chartType = TaChartType.valueOf(parameter.getParameter(key, "Chart Type"));
+        int atr = parameter.getInt(key, "Time Frame ATR");
+        TaColor colorU = parameter.getTaColor(key, "Color Upper");
+        TaStroke strokeU = parameter.getTaStroke(key, "Stroke Upper");
+        TaShape shapeU = parameter.getTaShape(key, "Shape Upper");
+        TaColor colorL = parameter.getTaColor(key, "Color Lower");
+        TaStroke strokeL = parameter.getTaStroke(key, "Stroke Lower");
+        TaShape shapeL = parameter.getTaShape(key, "Shape Lower");
+        TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
         XYLineAndShapeRenderer renderer = createRendere(key, "Color Middle", "Shape Middle", "Stroke Middle");
@@ -437,9 +507,9 @@ public class TaChartIndicatorBox extends Observable {
         renderer.setSeriesPaint(1, colorU.getPaint());
         renderer.setSeriesPaint(2, colorL.getPaint());
 
-        KeltnerChannelMiddleIndicator kcM = new KeltnerChannelMiddleIndicator(series, timeFrame);
-        KeltnerChannelUpperIndicator kcU = new KeltnerChannelUpperIndicator(kcM,ratio,atr);
-        KeltnerChannelLowerIndicator kcL = new KeltnerChannelLowerIndicator(kcM,ratio,atr);
+        KeltnerChannelMiddleIndicator kcM = node(KeltnerChannelMiddleIndicator.class, () -> new KeltnerChannelMiddleIndicator(series, timeFrame), series, timeFrame);
+        KeltnerChannelUpperIndicator kcU = node(KeltnerChannelUpperIndicator.class, () -> new KeltnerChannelUpperIndicator(kcM,ratio,atr), kcM,ratio,atr);
+        KeltnerChannelLowerIndicator kcL = node(KeltnerChannelLowerIndicator.class, () -> new KeltnerChannelLowerIndicator(kcM,ratio,atr), kcM,ratio,atr);
 
         List<Indicator> ilKelt = new ArrayList<>();
         List<String> nlKelt = new ArrayList<>();
@@ -450,28 +520,32 @@ public class TaChartIndicatorBox extends Observable {
         nlKelt.add("Keltner Middle");
         nlKelt.add("Keltner Upper");
         addChartIndicator(key,
-                ilKelt,
+                new TaChartIndicator(ilKelt,
                 nlKelt,
                 String.format("%s [%s] (%s, %s, %S)", getIdentifier(key), getID(key), timeFrame, ratio, atr),
                 renderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> {
+                    FastIndicator middle = fast.keltnerMiddle(timeFrame);
+                    return Arrays.asList(fast.keltnerLower(middle, ratio.toDouble(), atr), middle, fast.keltnerUpper(middle, ratio.toDouble(), atr));
+                });
     }
 
     // Arron Up/Down in one subplot
-    public void loadAroonUP_DOWN(String key) throws XPathException{
-        int arronUp = Integer.parseInt(parameter.getParameter(key, "Time Frame Up"));
-        int arronDown = Integer.parseInt(parameter.getParameter(key, "Time Frame Down"));
-        TaColor colorD = TaColor.valueOf(parameter.getParameter(key, "Color Down"));
-        TaStroke strokeD = TaStroke.valueOf(parameter.getParameter(key, "Stroke Down"));
-        TaShape shapeD = TaShape.valueOf(parameter.getParameter(key, "Shape Down"));
+    public void loadAroonUP_DOWN(String key){
+        int arronUp = parameter.getInt(key, "Time Frame Up");
+        int arronDown = parameter.getInt(key, "Time Frame Down");
+        TaColor colorD = parameter.getTaColor(key, "Color Down");
+        TaStroke strokeD = parameter.getTaStroke(key, "Stroke Down");
+        TaShape shapeD = parameter.getTaShape(key, "Shape Down");
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
 
         List<Indicator> ilAroon = new ArrayList<>();
         List<String> nlAroon = new ArrayList<>();
-        ilAroon.add(new AroonDownIndicator(series, arronDown));
-        ilAroon.add(new AroonUpIndicator(series, arronUp));
+        ilAroon.add(node(AroonDownIndicator.class, () -> new AroonDownIndicator(series, arronDown), series, arronDown));
+        ilAroon.add(node(AroonUpIndicator.class, () -> new AroonUpIndicator(series, arronUp), series, arronUp));
         nlAroon.add("Aroon Down "+arronDown);
         nlAroon.add("Aroon Up "+arronUp);
         XYLineAndShapeRenderer arronUpDownRenderer =createRendere(key, "Color Up", "Shape Up", "Stroke Up");
@@ -481,49 +555,53 @@ public class TaChartIndicatorBox extends Observable {
         arronUpDownRenderer.setSeriesShape(1, shapeD.getShape());
 
         addChartIndicator(key,
-                ilAroon,
+                new TaChartIndicator(ilAroon,
                 nlAroon,String.format("%s [%s] (%s, %s)",getIdentifier(key), getID(key),arronUp, arronDown),
                 arronUpDownRenderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.aroonDown(arronDown), fast.aroonUp(arronUp)));
     }
 
     // Lower Shadown Indicator
-    public  void loadLowerShadowIndicator(String key) throws XPathExpressionException {
+    public  void loadLowerShadowIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
-        addChartIndicator(key,new LowerShadowIndicator(series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category);
+        addChartIndicator(key,new TaChartIndicator(node(LowerShadowIndicator.class, () -> new LowerShadowIndicator(series), series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category),
+                () -> Arrays.asList(fast.tick(TickIndicator.Type.LOWER_SHADOW)));
     }
 
     // Upper Shadown Indicator
-    public  void loadUpperShadowIndicator(String key) throws XPathExpressionException {
+    public  void loadUpperShadowIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
-        addChartIndicator(key,new UpperShadowIndicator(series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category);
+        addChartIndicator(key,new TaChartIndicator(node(UpperShadowIndicator.class, () -> new UpperShadowIndicator(series), series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category),
+                () -> Arrays.asList(fast.tick(TickIndicator.Type.UPPER_SHADOW)));
     }
 
     // Upper Shadown Indicator
-    public  void loadRealBodyIndicator(String key) throws XPathExpressionException {
+    public  void loadRealBodyIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
-        addChartIndicator(key, new RealBodyIndicator(series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category);
+        addChartIndicator(key, new TaChartIndicator(node(RealBodyIndicator.class, () -> new RealBodyIndicator(series), series),String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, true, category),
+                () -> Arrays.asList(fast.tick(TickIndicator.Type.REAL_BODY)));
     }
 
     // MVWAP + VWAP
-    public void loadMVWAPIndicator(String key) throws XPathException{
-        int timeFrameMVWAP = Integer.parseInt(parameter.getParameter(key, "Time Frame VWAP"));
-        int timeFrameVWAP = Integer.parseInt(parameter.getParameter(key, "Time Frame MVWAP"));
+    public void loadMVWAPIndicator(String key){
+        int timeFrameMVWAP = parameter.getInt(key, "Time Frame VWAP");
+        int timeFrameVWAP = parameter.getInt(key, "Time Frame MVWAP");
 
-        VWAPIndicator vwap = new VWAPIndicator(series,timeFrameVWAP);
-        MVWAPIndicator mvwap = new MVWAPIndicator(vwap,timeFrameMVWAP);
+        VWAPIndicator vwap = node(VWAPIndicator.class, () -> new VWAPIndicator(series,timeFrameVWAP), series,timeFrameVWAP);
+        MVWAPIndicator mvwap = node(MVWAPIndicator.class, () -> new MVWAPIndicator(vwap,timeFrameMVWAP), vwap,timeFrameMVWAP);
 
         List<Indicator> ilVwap = new ArrayList<>();
         List<String> nlVwap = new ArrayList<>();
 
         XYLineAndShapeRenderer wapRenderer = createRendere(key, "Color MVWAP", "Shape MVWAP", "Stroke MVWAP");
-        TaColor vwapColor = TaColor.valueOf(parameter.getParameter(key, "Color VWAP"));
-        TaStroke vwapStroke = TaStroke.valueOf(parameter.getParameter(key, "Stroke VWAP"));
-        TaShape vwapShape = TaShape.valueOf(parameter.getParameter(key, "Shape VWAP"));
+        TaColor vwapColor = parameter.getTaColor(key, "Color VWAP");
+        TaStroke vwapStroke = parameter.getTaStroke(key, "Stroke VWAP");
+        TaShape vwapShape = parameter.getTaShape(key, "Shape VWAP");
         wapRenderer.setSeriesPaint(1, vwapColor.getPaint());
         wapRenderer.setSeriesStroke(1, vwapStroke.getStroke());
         wapRenderer.setSeriesShape(1, vwapShape.getShape());
@@ -533,153 +611,168 @@ public class TaChartIndicatorBox extends Observable {
         ilVwap.add(vwap);
         nlVwap.add(String.format("%s [%s] (%s)",getIdentifier(key), getID(key), timeFrameMVWAP));
         nlVwap.add(String.format("%s [%s] (%s)","VWAP", getID(key), timeFrameVWAP));
-        addChartIndicator(key, ilVwap, nlVwap,"MVWAP/VWAP ",wapRenderer, chartType.toBoolean(), category);
+        addChartIndicator(key, new TaChartIndicator(ilVwap, nlVwap,"MVWAP/VWAP ",wapRenderer, chartType.toBoolean(), category),
+                () -> {
+                    FastIndicator fastVwap = fast.vwap(timeFrameVWAP);
+                    return Arrays.asList(fast.sma(fastVwap, timeFrameMVWAP), fastVwap);
+                });
     }
 
     // TrailingStopLossIndicator
-    public void loadTraillingStopLossIndicator(String key) throws XPathException{
-        Double threshold = Double.parseDouble(parameter.getParameter(key, "Threshold"));
+    public void loadTraillingStopLossIndicator(String key){
+        Double threshold = parameter.getDouble(key, "Threshold");
 
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
         XYLineAndShapeRenderer xyLineAndShapeRenderer = createRendere(key, "Color", "Shape", "Stroke");
         addChartIndicator(key,
-                new TrailingStopLossIndicator(closePriceIndicator,Decimal.valueOf(threshold)),
+                new TaChartIndicator(node(TrailingStopLossIndicator.class, () -> new TrailingStopLossIndicator(closePriceIndicator,Decimal.valueOf(threshold)), closePriceIndicator,Decimal.valueOf(threshold)),
                 String.format("%s [%s] (%s)", getIdentifier(key), getID(key), threshold),
                 xyLineAndShapeRenderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.trailingStopLoss(fast.close(), threshold)));
     }
 
     // Triple EMAIndicator
-    public void loadTrippleEMAIndicator(String key) throws XPathException{
-        int timeFrame =Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadTrippleEMAIndicator(String key){
+        int timeFrame =parameter.getInt(key, "Time Frame");
 
         TaChartType chartType = parameter.getChartType(key);
         TaCategory category = parameter.getCategory(key);
         XYLineAndShapeRenderer xyLineAndShapeRenderer = createRendere(key, "Color", "Shape", "Stroke");
         addChartIndicator(key,
-                new TripleEMAIndicator(closePriceIndicator, timeFrame),
+                new TaChartIndicator(node(TripleEMAIndicator.class, () -> new TripleEMAIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)", getIdentifier(key), getID(key), timeFrame),
                 xyLineAndShapeRenderer,
                 chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.tripleEma(fast.close(), timeFrame)));
     }
 
     // UlcerIndexIndicator
-    public void loadUlcerIndexIndicator(String key) throws XPathException{
+    public void loadUlcerIndexIndicator(String key){
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+        int timeFrame = parameter.getInt(key, "Time Frame");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
-        addChartIndicator(key, new UlcerIndexIndicator(closePriceIndicator, timeFrame),
-                String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, chartType.toBoolean(), category);
+        addChartIndicator(key, new TaChartIndicator(node(UlcerIndexIndicator.class, () -> new UlcerIndexIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
+                String.format("%s [%s]", getIdentifier(key), getID(key)),renderer, chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.ulcerIndex(fast.close(), timeFrame)));
     }
 
 
     // WMAIndicator
-    public void loadWMAIndicator(String key) throws XPathException{
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadWMAIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
-        addChartIndicator(key, new WMAIndicator(closePriceIndicator, timeFrame),String.format("%s [%s] (%s)",
-                getIdentifier(key), getID(key), timeFrame),renderer, chartType.toBoolean(), category);
+        addChartIndicator(key, new TaChartIndicator(node(WMAIndicator.class, () -> new WMAIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),String.format("%s [%s] (%s)",
+                getIdentifier(key), getID(key), timeFrame),renderer, chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.wma(fast.close(), timeFrame)));
     }
 
 
     // ZLEMAIndicator
-    public void loadZLEMAIndicator(String key) throws XPathException{
-        int ZLEMAIndicator_1 = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadZLEMAIndicator(String key){
+        int ZLEMAIndicator_1 = parameter.getInt(key, "Time Frame");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         addChartIndicator(key,
-                new ZLEMAIndicator(closePriceIndicator, ZLEMAIndicator_1),String.format("%s [%s] (%s)",
-                        getIdentifier(key), getID(key),ZLEMAIndicator_1), renderer, chartType.toBoolean(), category);
+                new TaChartIndicator(node(ZLEMAIndicator.class, () -> new ZLEMAIndicator(closePriceIndicator, ZLEMAIndicator_1), closePriceIndicator, ZLEMAIndicator_1),String.format("%s [%s] (%s)",
+                        getIdentifier(key), getID(key),ZLEMAIndicator_1), renderer, chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.zlema(fast.close(), ZLEMAIndicator_1)));
     }
 
 
 
 
     // RAVI Indicator
-    public void loadRAVIIndicator(String key) throws XPathException{
-        int timeFrameShort = Integer.parseInt(parameter.getParameter(key, "Time Frame Short"));
-        int timeFrameLong = Integer.parseInt(parameter.getParameter(key, "Time Frame Long"));
+    public void loadRAVIIndicator(String key){
+        int timeFrameShort = parameter.getInt(key, "Time Frame Short");
+        int timeFrameLong = parameter.getInt(key, "Time Frame Long");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
 
-        addChartIndicator(key,new RAVIIndicator(closePriceIndicator, timeFrameShort, timeFrameLong),
+        addChartIndicator(key,new TaChartIndicator(node(RAVIIndicator.class, () -> new RAVIIndicator(closePriceIndicator, timeFrameShort, timeFrameLong), closePriceIndicator, timeFrameShort, timeFrameLong),
                 String.format("%s [%s] (%s, %s)", getIdentifier(key), getID(key),timeFrameShort,timeFrameLong),
-                renderer,chartType.toBoolean(), category);
+                renderer,chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.ravi(fast.close(), timeFrameShort, timeFrameLong)));
     }
 
 
     // ROC Indicator
-    public void loadROCIndicator(String key) throws XPathException{
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadROCIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
         addChartIndicator(key,
-                new ROCIndicator(closePriceIndicator, timeFrame),String.format("%s [%s] (%s)",
-                        getIdentifier(key), getID(key), timeFrame), renderer, chartType.toBoolean(), category);
+                new TaChartIndicator(node(ROCIndicator.class, () -> new ROCIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),String.format("%s [%s] (%s)",
+                        getIdentifier(key), getID(key), timeFrame), renderer, chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.roc(fast.close(), timeFrame)));
     }
 
     // Fisher Indicator
-    public void loadFischerIndicator(String key) throws XPathException{
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
-        double alpha = Double.parseDouble(parameter.getParameter(key, "Alpha"));
-        double beta = Double.parseDouble(parameter.getParameter(key, "Beta"));
+    public void loadFischerIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
+        double alpha = parameter.getDouble(key, "Alpha");
+        double beta = parameter.getDouble(key, "Beta");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
-        addChartIndicator(key, new FisherIndicator(closePriceIndicator, timeFrame, Decimal.valueOf(alpha), Decimal.valueOf(beta)),
+        addChartIndicator(key, new TaChartIndicator(node(FisherIndicator.class, () -> new FisherIndicator(closePriceIndicator, timeFrame, Decimal.valueOf(alpha), Decimal.valueOf(beta)), closePriceIndicator, timeFrame, Decimal.valueOf(alpha), Decimal.valueOf(beta)),
                 String.format("%s [%s] (%s, %s, %s)", getIdentifier(key), getID(key),timeFrame,alpha,beta),
-                chartType.toBoolean(), category);
+                chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.fisher(fast.close(), timeFrame, alpha, beta)));
     }
 
     // HMA Indicator
-    public void loadHMAIndicator(String key) throws XPathException {
-        int timeFrame = Integer.parseInt(parameter.getParameter(key, "Time Frame"));
+    public void loadHMAIndicator(String key){
+        int timeFrame = parameter.getInt(key, "Time Frame");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
-        addChartIndicator(key, new HMAIndicator(closePriceIndicator, timeFrame),
+        addChartIndicator(key, new TaChartIndicator(node(HMAIndicator.class, () -> new HMAIndicator(closePriceIndicator, timeFrame), closePriceIndicator, timeFrame),
                 String.format("%s [%s] (%s)",getIdentifier(key), getID(key), timeFrame), chartType.toBoolean(),
-                category);
+                category),
+                () -> Arrays.asList(fast.hma(fast.close(), timeFrame)));
     }
 
     // KAMA Indicator
-    public void loadKAMAIndicator(String key) throws XPathException{
-        int timeFrameEffRatio = Integer.parseInt(parameter.getParameter(key, "Time Frame Effective Ratio"));
-        int timeFrameFast = Integer.parseInt(parameter.getParameter(key, "Time Frame Slow"));
-        int timeFrameSlow = Integer.parseInt(parameter.getParameter(key, "Time Frame Fast"));
+    public void loadKAMAIndicator(String key){
+        int timeFrameEffRatio = parameter.getInt(key, "Time Frame Effective Ratio");
+        int timeFrameFast = parameter.getInt(key, "Time Frame Slow");
+        int timeFrameSlow = parameter.getInt(key, "Time Frame Fast");
         XYLineAndShapeRenderer renderer = createRendere(key, "Color", "Shape", "Stroke");
         TaCategory category = parameter.getCategory(key);
         TaChartType chartType = parameter.getChartType(key);
 
-        addChartIndicator(key,new KAMAIndicator(closePriceIndicator,timeFrameEffRatio,timeFrameFast,timeFrameSlow),
+        addChartIndicator(key,new TaChartIndicator(node(KAMAIndicator.class, () -> new KAMAIndicator(closePriceIndicator,timeFrameEffRatio,timeFrameFast,timeFrameSlow), closePriceIndicator,timeFrameEffRatio,timeFrameFast,timeFrameSlow),
                 String.format("%s [%s] (%s, %s, %s)",getIdentifier(key), getID(key), timeFrameEffRatio, timeFrameFast, timeFrameSlow),
-                chartType.toBoolean(), category);
+                chartType.toBoolean(), category),
+                () -> Arrays.asList(fast.kama(fast.close(), timeFrameEffRatio, timeFrameFast, timeFrameSlow)));
     }
 
 
     /**
      * Creates and add all ta4j indicators with generic type Decimal to the box.
      * Use the parameter from the indicatorParameter.properties for indicator parameter
+     * @return the exceptions of the indicators with invalid parameters, by key
      */
-    public void initAllIndicators(){
+    public Map<String, Exception> initAllIndicators(){
+        Map<String, Exception> failures = new LinkedHashMap<>();
 
-        addChartIndicator("closePriceIndicator", closePriceIndicator, false, HELPERS);
+        reloadIndicator("closePriceIndicator");
 
         List<String> allKeys = parameter.getAllKeys();
         for(String key: allKeys){
             try {
                 reloadIndicator(key);
-            } catch (XPathException xpe){
-                //TODO: handle exception
-                xpe.printStackTrace();
+            } catch (IllegalArgumentException e){
+                failures.put(key, e);
             }
         }
 
@@ -1022,7 +1115,7 @@ public class TaChartIndicatorBox extends Observable {
 
 
         */
-
+        return failures;
     }
 
     public void addChartIndicator(String identifier, List<Indicator> indicators, List<String> names, String generalName,XYLineAndShapeRenderer renderer, boolean isSubchart, TaCategory c){
@@ -1073,20 +1166,166 @@ public class TaChartIndicatorBox extends Observable {
         notifyObservers();
     }
 
+    /**
+     * Returns the canonical ta4j indicator for a type and parameters, identical indicators are created only once
+     * @param type the type of the indicator
+     * @param factory creates the indicator if there is none yet
+     * @param parameters the inputs and parameters of the indicator
+     * @return the shared indicator
+     */
+    private <T extends Indicator> T node(Class<T> type, Supplier<T> factory, Object... parameters){
+        return registry.get(type, factory, parameters);
+    }
+
+    /**
+     * The registry with the ta4j and fast indicators of this box, e.g. for the number of shared indicators
+     * @return the indicator registry of this box
+     */
+    public IndicatorRegistry getIndicatorRegistry(){
+        return registry;
+    }
+
+    /**
+     * Adds a TaChartIndicator to the box, with fast indicators if the fast engine is enabled
+     * @param chartIndicator an TaChartIndicator
+     * @param fastIndicators creates the fast indicators for the ta4j indicators of the chart indicator
+     */
+    private void addChartIndicator(String identifier, TaChartIndicator chartIndicator, Supplier<List<FastIndicator>> fastIndicators){
+        if(fastEngine){
+            chartIndicator.setFastIndicators(fastIndicators.get());
+        }
+        addChartIndicator(identifier, chartIndicator);
+    }
+
     /**
      * Adds an existing TaChartIndicator to the box
      * @param taChartIndicator an TaChartIndicator
      */
     public void addChartIndicator(String identifier, TaChartIndicator taChartIndicator){
+        IndicatorBatch batch = currentBatch.get();
+        if(batch != null){
+            batch.add(identifier, taChartIndicator);
+            return;
+        }
         chartIndicatorMap.put(identifier, taChartIndicator);
         setChanged();
         notifyObservers();
     }
 
     public void removeIndicator(String key){
+        IndicatorBatch batch = currentBatch.get();
+        if(batch != null){
+            batch.remove(key);
+            return;
+        }
+        releaseNodes(nodesByKey.remove(key));
         this.chartIndicatorMap.remove(key);
     }
 
+    /**
+     * Like {@link #initAllIndicators()}, but the parameters are resolved, the indicators are created and their plot
+     * values are computed on one thread per available processor. The indicators are added to the box in one batch
+     * and the observers are notified once.
+     * @return the exceptions of the indicators that could not be created or computed, by key
+     */
+    public Map<String, Exception> initAllIndicatorsParallel(){
+        return initAllIndicatorsParallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Like {@link #initAllIndicators()}, but the parameters are resolved, the indicators are created and their plot
+     * values are computed concurrently. The indicators are added to the box in one batch and the observers are
+     * notified once. An indicator that could not be created or computed is left out of the batch.
+     * @param parallelism the maximum number of indicators that are created at the same time
+     * @return the exceptions of the indicators that could not be created or computed, by key
+     */
+    public Map<String, Exception> initAllIndicatorsParallel(int parallelism){
+        IndicatorBatch batch = new IndicatorBatch();
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            loadIndicator(batch, "closePriceIndicator");
+
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
+            for(String key: parameter.getAllKeys()){
+                loads.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        loadIndicator(batch, key);
+                    } catch (RuntimeException e){
+                        failures.put(key, e);
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).join();
+
+            // ta4j indicators that are shared by several chart indicators (e.g. the close price) are computed on this
+            // thread with their inputs first, a completely cached ta4j indicator can be read concurrently
+            if(!fastEngine){
+                for(Indicator shared: registry.getSharedNodes(Indicator.class)){
+                    for(int i = 0; i < series.getTickCount(); i++){
+                        shared.getValue(i);
+                    }
+                }
+            }
+
+            List<CompletableFuture<Void>> computations = new ArrayList<>();
+            for(Map.Entry<String, TaChartIndicator> entry: batch.getIndicators().entrySet()){
+                computations.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        entry.getValue().precomputeValues();
+                    } catch (RuntimeException e){
+                        failures.put(entry.getKey(), e);
+                        batch.discard(entry.getKey());
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(computations.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+        publish(batch);
+        return failures;
+    }
+
+    /**
+     * Creates the indicator for a key from the properties file like {@link #reloadIndicator(String)}, but does not
+     * add it to the box. Can be called from a worker thread, use {@link #publish(IndicatorBatch)} on the event
+     * dispatch thread to add the indicator.
+     * @param key the key of the indicator (instance)
+     * @return a batch with the created indicators
+     */
+    public IndicatorBatch createIndicator(String key){
+        IndicatorBatch batch = new IndicatorBatch();
+        loadIndicator(batch, key);
+        return batch;
+    }
+
+    private void loadIndicator(IndicatorBatch batch, String key){
+        currentBatch.set(batch);
+        try {
+            reloadIndicator(key);
+        } finally {
+            currentBatch.remove();
+        }
+    }
+
+    /**
+     * Adds and removes the indicators of a batch and notifies the observers once
+     * @param batch indicators created by {@link #createIndicator(String)}
+     */
+    public void publish(IndicatorBatch batch){
+        for(String identifier: batch.getRemovals()){
+            releaseNodes(nodesByKey.remove(identifier));
+        }
+        for(Map.Entry<String, List<Object>> nodes: batch.getNodes().entrySet()){
+            releaseNodes(nodesByKey.put(nodes.getKey(), nodes.getValue()));
+        }
+        chartIndicatorMap.keySet().removeAll(batch.getRemovals());
+        chartIndicatorMap.putAll(batch.getIndicators());
+        setChanged();
+        notifyObservers();
+    }
+
     /**
      * Get all indicators that are stored in this box
      * @return all ChartIndicators that are stored in this box
@@ -1113,7 +1352,40 @@ public class TaChartIndicatorBox extends Observable {
      * Reloads the indicator from the properties file
      * @param key
      */
-    public void reloadIndicator(String key) throws IllegalArgumentException, XPathException{
+    public void reloadIndicator(String key) throws IllegalArgumentException{
+        registry.startRecording();
+        try {
+            loadFromParameters(key);
+        } catch (RuntimeException e){
+            registry.release(registry.stopRecording());
+            throw e;
+        }
+        List<Object> nodes = registry.stopRecording();
+        IndicatorBatch batch = currentBatch.get();
+        if(batch != null){
+            batch.setNodes(key, nodes);
+        } else {
+            releaseNodes(nodesByKey.put(key, nodes));
+        }
+    }
+
+    private void releaseNodes(List<Object> nodes){
+        if(nodes != null){
+            registry.release(nodes);
+        }
+    }
+
+    /**
+     * Releases the registry nodes of a batch that will not be published, e.g. because its computation was cancelled
+     * @param batch indicators created by {@link #createIndicator(String)}
+     */
+    public void discard(IndicatorBatch batch){
+        for(List<Object> nodes: batch.getNodes().values()){
+            registry.release(nodes);
+        }
+    }
+
+    private void loadFromParameters(String key) throws IllegalArgumentException{
         String indicatorName = key.split("_")[0];
 
         switch (indicatorName){
@@ -1249,6 +1521,12 @@ public class TaChartIndicatorBox extends Observable {
                 break;
             }
 
+            case "closePriceIndicator":{ // not in the properties file, added by the init methods
+                addChartIndicator(key,
+                        new TaChartIndicator(closePriceIndicator, closePriceIndicator.toString(), false, HELPERS),
+                        () -> Arrays.asList(fast.close()));
+                break;
+            }
             default:
                 throw new IllegalArgumentException(key+ " could not be loaded!");
         }
@@ -1292,10 +1570,10 @@ public class TaChartIndicatorBox extends Observable {
     }
 
 
-    private XYLineAndShapeRenderer createRendere(String key, String color, String shape, String stroke) throws XPathExpressionException {
-        TaColor c = TaColor.valueOf(parameter.getParameter(key,color));
-        TaStroke st = TaStroke.valueOf(parameter.getParameter(key,stroke));
-        TaShape sh = TaShape.valueOf(parameter.getParameter(key,shape));
+    private XYLineAndShapeRenderer createRendere(String key, String color, String shape, String stroke){
+        TaColor c = parameter.getTaColor(key, color);
+        TaStroke st = parameter.getTaStroke(key, stroke);
+        TaShape sh = parameter.getTaShape(key, shape);
         return createRendere(c,st,sh);
     }
 
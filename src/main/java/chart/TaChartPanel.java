@@ -0,0 +1,45 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart;
+
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+
+/**
+ * Chart panel of a {@link TaChart}. The chart is drawn into an off-screen buffer that is only drawn again if the
+ * chart changed (data, zoom, colors, indicators, trades) or the panel was resized. Overlays like the crosshair
+ * are painted on top of the buffer, so moving the mouse does not draw the chart.
+ * Chart entities are not collected: the chart has no tool tips or item clicks, and otherwise an entity would be
+ * created for every drawn item on each draw and all of them would be searched on each mouse move.
+ */
+public class TaChartPanel extends ChartPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor
+     * @param chart the chart to display
+     */
+    public TaChartPanel(JFreeChart chart){
+        super(chart, true);
+        setDisplayToolTips(false);
+        getChartRenderingInfo().setEntityCollection(null);
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart;
+
+import chart.data.AggregatedOHLCDataset;
+import chart.data.DecimatedXYDataset;
+import chart.data.IndicatorDataset;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import chart.data.TimeIndex;
+import chart.data.ViewportDataset;
+import org.jfree.chart.annotations.XYTextAnnotation;
+import org.jfree.chart.axis.AxisLocation;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.CombinedDomainXYPlot;
+import org.jfree.chart.plot.CrosshairState;
+import org.jfree.chart.plot.DatasetRenderingOrder;
+import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.CandlestickRenderer;
+import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.data.Range;
+import org.jfree.data.xy.OHLCDataset;
+import org.jfree.data.xy.XYDataset;
+import org.jfree.ui.TextAnchor;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The plots of a {@link TaChart}: the main plot with the candles and the overlays and the sub plots of the
+ * indicators, combined in one {@link CombinedDomainXYPlot}. Indicators are added and removed in place by their
+ * identifier, the plots, axes and zoom state stay the same.
+ * Must be used on the event dispatch thread if the plot is displayed.
+ */
+public class TaPlotModel {
+
+    private final CombinedDomainXYPlot combinedPlot;
+    private final XYPlot mainPlot;
+    private final Color plotBackground;
+    private final Color subPlotNames;
+
+    private final Map<String, Overlay> overlays = new LinkedHashMap<>();
+    private final Map<String, SubPlot> subPlots = new LinkedHashMap<>();
+    private final BitSet datasetIndices = new BitSet(); // indices of the overlays, 0 is the candlestick dataset
+    private boolean decimation = true;
+
+    // for the crosshair lookup without iterators
+    private final TickColumns columns;
+    private final TimeIndex timeIndex;
+    private IndicatorDataset[] lookupDataSets = new IndicatorDataset[0];
+    private XYItemRenderer[] lookupRenderers = new XYItemRenderer[0];
+
+    private final TradeLayer tradeLayer;
+
+    private static class Overlay {
+        final TaChartIndicator indicator;
+        final IndicatorDataset dataSet;
+        final XYDataset plotted;
+        final int datasetIndex;
+
+        Overlay(TaChartIndicator indicator, IndicatorDataset dataSet, XYDataset plotted, int datasetIndex){
+            this.indicator = indicator;
+            this.dataSet = dataSet;
+            this.plotted = plotted;
+            this.datasetIndex = datasetIndex;
+        }
+    }
+
+    private static class SubPlot {
+        final TaChartIndicator indicator;
+        final IndicatorDataset dataSet;
+        final XYDataset plotted;
+        final XYPlot plot;
+
+        SubPlot(TaChartIndicator indicator, IndicatorDataset dataSet, XYDataset plotted, XYPlot plot){
+            this.indicator = indicator;
+            this.dataSet = dataSet;
+            this.plotted = plotted;
+            this.plot = plot;
+        }
+    }
+
+    /**
+     * XY plot that passes the visible domain range and the width of the data area to its level of detail
+     * datasets before they are drawn
+     */
+    private static class LevelOfDetailXYPlot extends XYPlot {
+
+        private static final long serialVersionUID = 1L;
+
+        LevelOfDetailXYPlot(XYDataset dataset, ValueAxis domainAxis, ValueAxis rangeAxis, XYItemRenderer renderer){
+            super(dataset, domainAxis, rangeAxis, renderer);
+        }
+
+        @Override
+        public boolean render(Graphics2D g2, Rectangle2D dataArea, int index, PlotRenderingInfo info,
+                              CrosshairState crosshairState){
+            XYDataset dataset = getDataset(index);
+            if (dataset instanceof ViewportDataset) {
+                Range range = getDomainAxisForDataset(index).getRange();
+                ((ViewportDataset) dataset).setView(range.getLowerBound(), range.getUpperBound(),
+                        dataArea.getX(), dataArea.getWidth());
+            }
+            return super.render(g2, dataArea, index, info, crosshairState);
+        }
+    }
+
+    /**
+     * Constructor
+     * @param candles the candlestick dataset of the main plot, zoomed out views show merged candles (see
+     *                {@link AggregatedOHLCDataset})
+     * @param plotBackground background of the plots
+     * @param subPlotNames color of the indicator names in the sub plots
+     */
+    public TaPlotModel(OHLCColumnDataset candles, Color plotBackground, Color subPlotNames){
+        this.plotBackground = plotBackground;
+        this.subPlotNames = subPlotNames;
+        this.columns = candles.getColumns();
+        this.timeIndex = TimeIndex.of(columns);
+        this.mainPlot = createMainPlot(new AggregatedOHLCDataset(candles));
+        this.tradeLayer = new TradeLayer(timeIndex);
+        mainPlot.addAnnotation(tradeLayer);
+        this.combinedPlot = new CombinedDomainXYPlot(mainPlot.getDomainAxis());
+        combinedPlot.setGap(2);
+        combinedPlot.add(mainPlot,11);
+        combinedPlot.setOrientation(PlotOrientation.VERTICAL);
+        combinedPlot.setBackgroundPaint(plotBackground);
+    }
+
+    public CombinedDomainXYPlot getCombinedPlot(){
+        return combinedPlot;
+    }
+
+    public XYPlot getMainPlot(){
+        return mainPlot;
+    }
+
+    /**
+     * @return the layer of the main plot that draws the trades of trading records
+     */
+    public TradeLayer getTradeLayer(){
+        return tradeLayer;
+    }
+
+    /**
+     * Enables or disables the level of detail decimation of the indicator lines (enabled by default), applies to
+     * indicators that are added afterwards
+     * @param decimation true if only the items that make a difference at screen resolution should be drawn
+     */
+    public void setDecimation(boolean decimation){
+        this.decimation = decimation;
+    }
+
+    private XYDataset plotted(TaChartIndicator indicator, IndicatorDataset dataSet){
+        if (!decimation) {
+            return dataSet;
+        }
+        // lines can be reduced to the extremes of each pixel column, shapes are needed for every item
+        boolean linesOnly = true;
+        for (int series = 0; series < dataSet.getSeriesCount(); series++) {
+            linesOnly &= !indicator.getRenderer().getItemShapeVisible(series, 0);
+        }
+        return new DecimatedXYDataset(dataSet, linesOnly);
+    }
+
+    private static void dispose(XYDataset plotted){
+        if (plotted instanceof DecimatedXYDataset) {
+            ((DecimatedXYDataset) plotted).dispose();
+        }
+    }
+
+    /**
+     * Creating the xyPlot for the base candlestick chart
+     * @param dataset a XYDataset for the candlestick
+     */
+    private XYPlot createMainPlot(XYDataset dataset){
+
+        CandlestickRenderer renderer = new MyCandlestickRenderer();
+        renderer.setCandleWidth(2);
+        renderer.setDrawVolume(true);
+
+        NumberAxis numberAxis = new NumberAxis("Price");
+        numberAxis.setTickLabelPaint(Color.GRAY);
+        numberAxis.setLabelPaint(Color.GRAY);
+        numberAxis.setAutoRangeIncludesZero(false);
+
+        DateAxis dateAxis = new DateAxis("Date");
+        dateAxis.setTickLabelPaint(Color.GRAY);
+        dateAxis.setLabelPaint(Color.GRAY);
+
+        // XYPlot with candlesticks
+        XYPlot plot = new LevelOfDetailXYPlot(dataset, dateAxis, numberAxis, renderer);
+        plot.setOrientation(PlotOrientation.VERTICAL);
+        plot.setRangeAxisLocation(AxisLocation.BOTTOM_OR_LEFT);
+        plot.setBackgroundPaint(plotBackground);
+        float dash[]={1.0f};
+        BasicStroke grid = new BasicStroke(0.1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER,10.0f, dash, 0.0f);
+        plot.setDomainGridlineStroke(grid);
+        plot.setRangeGridlineStroke(grid);
+        plot.setDatasetRenderingOrder(DatasetRenderingOrder.FORWARD);
+        return plot;
+    }
+
+    /**
+     * Shows exactly the given overlays, only the differences to the current overlays are added or removed.
+     * An indicator that was reloaded under the same identifier is replaced.
+     * @param indicators the overlays by identifier, their datasets should be computed before (see {@link TaChartIndicator#getDataSet()})
+     */
+    public void setOverlays(Map<String, TaChartIndicator> indicators){
+        for (String identifier : new ArrayList<>(overlays.keySet())) {
+            if (indicators.get(identifier) != overlays.get(identifier).indicator) {
+                removeOverlay(identifier);
+            }
+        }
+        for (Map.Entry<String, TaChartIndicator> entry : indicators.entrySet()) {
+            if (!overlays.containsKey(entry.getKey())) {
+                addOverlay(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Shows exactly the given sub plots, only the differences to the current sub plots are added or removed
+     * @param indicators the sub plot indicators by identifier
+     */
+    public void setSubPlots(Map<String, TaChartIndicator> indicators){
+        for (String identifier : new ArrayList<>(subPlots.keySet())) {
+            if (indicators.get(identifier) != subPlots.get(identifier).indicator) {
+                removeSubPlot(identifier);
+            }
+        }
+        for (Map.Entry<String, TaChartIndicator> entry : indicators.entrySet()) {
+            if (!subPlots.containsKey(entry.getKey())) {
+                addSubPlot(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Adds an indicator to the main plot
+     * @param identifier the identifier of the indicator e.g. "EMAIndicator_1"
+     * @param indicator the chart indicator
+     */
+    public void addOverlay(String identifier, TaChartIndicator indicator){
+        removeOverlay(identifier);
+        int index = datasetIndices.nextClearBit(1); // the lowest index of a removed overlay is reused
+        datasetIndices.set(index);
+        IndicatorDataset dataSet = indicator.getDataSet();
+        XYDataset plotted = plotted(indicator, dataSet);
+        mainPlot.setRenderer(index, indicator.getRenderer());
+        mainPlot.setDataset(index, plotted);
+        mainPlot.mapDatasetToRangeAxis(index, 0);
+        overlays.put(identifier, new Overlay(indicator, dataSet, plotted, index));
+        updateLookup();
+    }
+
+    /**
+     * Removes an indicator from the main plot
+     * @param identifier the identifier of the indicator
+     */
+    public void removeOverlay(String identifier){
+        Overlay overlay = overlays.remove(identifier);
+        if (overlay != null) {
+            mainPlot.setDataset(overlay.datasetIndex, null);
+            mainPlot.setRenderer(overlay.datasetIndex, null);
+            datasetIndices.clear(overlay.datasetIndex);
+            dispose(overlay.plotted);
+            updateLookup();
+        }
+    }
+
+    /**
+     * Adds a sub plot for an indicator below the existing sub plots
+     * @param identifier the identifier of the indicator e.g. "MACDIndicator_1"
+     * @param indicator the chart indicator
+     */
+    public void addSubPlot(String identifier, TaChartIndicator indicator){
+        removeSubPlot(identifier);
+        IndicatorDataset dataSet = indicator.getDataSet();
+        XYDataset plotted = plotted(indicator, dataSet);
+        XYPlot plot = createSubplotforIndicators(indicator, dataSet, plotted);
+        combinedPlot.add(plot);
+        subPlots.put(identifier, new SubPlot(indicator, dataSet, plotted, plot));
+        updateLookup();
+    }
+
+    /**
+     * Removes the sub plot of an indicator
+     * @param identifier the identifier of the indicator
+     */
+    public void removeSubPlot(String identifier){
+        SubPlot subPlot = subPlots.remove(identifier);
+        if (subPlot != null) {
+            combinedPlot.remove(subPlot.plot);
+            subPlot.plot.setDataset(null); // the dataset is cached by the indicator, unregister the plot
+            dispose(subPlot.plotted);
+            updateLookup();
+        }
+    }
+
+    /**
+     * @param identifier the identifier of an indicator
+     * @return true if the indicator is shown as overlay or sub plot
+     */
+    public boolean isPlotted(String identifier){
+        return overlays.containsKey(identifier) || subPlots.containsKey(identifier);
+    }
+
+    /**
+     * Replaces a shown indicator, e.g. after its parameters changed. The new indicator is shown as overlay or sub plot
+     * depending on {@link TaChartIndicator#isSubchart()}. Does nothing if the indicator is not shown.
+     * @param identifier the identifier of the indicator
+     * @param indicator the new chart indicator, null to remove the indicator
+     */
+    public void replaceIndicator(String identifier, TaChartIndicator indicator){
+        if (!isPlotted(identifier)) {
+            return;
+        }
+        removeOverlay(identifier);
+        removeSubPlot(identifier);
+        if (indicator == null) {
+            return;
+        }
+        if (indicator.isSubchart()) {
+            addSubPlot(identifier, indicator);
+        } else {
+            addOverlay(identifier, indicator);
+        }
+    }
+
+    private void updateLookup(){
+        int count = overlays.size() + subPlots.size();
+        IndicatorDataset[] dataSets = new IndicatorDataset[count];
+        XYItemRenderer[] renderers = new XYItemRenderer[count];
+        int i = 0;
+        for (Overlay overlay : overlays.values()) {
+            dataSets[i] = overlay.dataSet;
+            renderers[i++] = overlay.indicator.getRenderer();
+        }
+        for (SubPlot subPlot : subPlots.values()) {
+            dataSets[i] = subPlot.dataSet;
+            renderers[i++] = subPlot.indicator.getRenderer();
+        }
+        lookupDataSets = dataSets;
+        lookupRenderers = renderers;
+    }
+
+    /**
+     * Finds the bar with the end time nearest to a domain value by binary search and fills the values of the bar
+     * and of all visible indicator series at the bar. Nothing is allocated (unless there are more indicator
+     * series than ever before).
+     * @param x the domain value, e.g. of the mouse position
+     * @param values receives the values
+     * @return true if a bar was found, false if there are no bars
+     */
+    public boolean findValues(double x, CrosshairValues values){
+        int index = timeIndex.nearestIndex((long) x);
+        if (index < 0) {
+            values.clear();
+            return false;
+        }
+        values.setBar(index, columns.getEndTime(index), columns.getOpen(index), columns.getHigh(index),
+                columns.getLow(index), columns.getClose(index), columns.getVolume(index));
+        for (int d = 0; d < lookupDataSets.length; d++) {
+            IndicatorDataset dataSet = lookupDataSets[d];
+            for (int series = 0; series < dataSet.getSeriesCount(); series++) {
+                if (lookupRenderers[d].isSeriesVisible(series)) {
+                    double value = index < dataSet.getItemCount(series) ? dataSet.getYValue(series, index) : Double.NaN;
+                    values.addIndicatorValue(dataSet.getSeriesKey(series), value);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the values of new ticks to the datasets of all plotted indicators
+     */
+    public void appendNewTicks(){
+        for (Overlay overlay : overlays.values()) {
+            overlay.indicator.appendToDataSet(overlay.dataSet);
+        }
+        for (SubPlot subPlot : subPlots.values()) {
+            subPlot.indicator.appendToDataSet(subPlot.dataSet);
+        }
+    }
+
+    /**
+     * Returns a plot with the given indicators plotted
+     * @param taChartIndicator chart indicators for the plot
+     * @param dataSet the dataset of the chart indicator
+     * @param plotted the dataset that is drawn, the dataset of the indicator or a view of it
+     * @return a XYPlot with the indicators as plots
+     */
+    private XYPlot createSubplotforIndicators(TaChartIndicator taChartIndicator, IndicatorDataset dataSet, XYDataset plotted){
+
+        NumberAxis numberAxis = new NumberAxis();
+
+        numberAxis.setLabelFont(new Font("NumberAxisLabelFont",1,8));
+        numberAxis.setTickLabelPaint(Color.GRAY);
+        numberAxis.setLabelPaint(Color.GRAY);
+        numberAxis.setTickUnit(new NumberTickUnit(0.5));
+        numberAxis.setTickLabelFont(new Font("NumberAxisTickFont",1,8));
+        numberAxis.setAutoTickUnitSelection(true);
+        XYPlot indicatorPlot = new LevelOfDetailXYPlot(plotted, mainPlot.getDomainAxis(), numberAxis, taChartIndicator.getRenderer());
+
+        if (dataSet.getItemCount(0) > 0) {
+            double x = dataSet.getTimeIndex().getTime(0) - Duration.ofDays(50).toMillis();
+            double y = numberAxis.getLowerBound()+(numberAxis.getUpperBound()+numberAxis.getLowerBound())/1.1;
+            XYTextAnnotation annotation = new XYTextAnnotation(taChartIndicator.getGeneralName(), x, y);
+            annotation.setFont(new Font("SansSerif", Font.BOLD, 6));
+            annotation.setPaint(subPlotNames);
+            annotation.setOutlineVisible(true);
+            annotation.setTextAnchor(TextAnchor.TOP_LEFT);
+            indicatorPlot.addAnnotation(annotation);
+        }
+        indicatorPlot.setBackgroundPaint(plotBackground);
+        indicatorPlot.setRangeAxisLocation(AxisLocation.TOP_OR_LEFT);
+        return indicatorPlot;
+    }
+
+    public static class MyCandlestickRenderer extends CandlestickRenderer {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Paint getItemPaint(int row, int column) {
+
+            //determine up or down candle
+            XYDataset dataset = getPlot().getDataset();
+            OHLCDataset highLowData = (OHLCDataset) dataset;
+
+            Number yOpen = highLowData.getOpen(row, column);
+            Number yClose = highLowData.getClose(row, column);
+            boolean isUpCandle = yClose.doubleValue() > yOpen.doubleValue();
+
+            //return the same color as that used to fill the candle
+            if (isUpCandle) {
+                return getUpPaint();
+            } else {
+                return getDownPaint();
+            }
+        }
+    }
+}
@@ -18,16 +18,16 @@
 
 package chart;
 
+import chart.types.IndicatorParameters.TaBoolean;
 import chart.types.IndicatorParameters.TaCategory;
 import chart.types.IndicatorParameters.TaChartType;
+import chart.types.IndicatorParameters.TaColor;
 import chart.types.IndicatorParameters.TaShape;
 import chart.types.IndicatorParameters.TaStroke;
+import chart.types.ParameterModel;
 import chart.types.Paths;
-import com.sun.org.apache.xml.internal.dtm.ref.DTMNodeList;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -39,55 +39,121 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.xpath.*;
 import java.awt.*;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads and writes the indicator parameters of the xml file. The file is parsed once into a typed
+ * {@link ParameterModel} that serves all reads with hash lookups and without locking (the indicator box reads the
+ * parameters from several threads). The document is only used to write changes back to the file, the methods that
+ * change it are synchronized because the document is not thread safe. Changes are written behind on a background
+ * thread, see {@link #setParameters(String, Map)}. Changes of the file by other programs can be picked up, see
+ * {@link #startWatching()}.
+ */
+public class TaPropertiesManager {
 
+    /**
+     * Is informed when the parameter file was changed by another program and reloaded
+     */
+    public interface ParametersListener {
+        /**
+         * Called on the watcher thread after the model was replaced
+         * @param changedKeys the keys of the indicator instances that are new or have other parameters
+         * @param removedKeys the keys of the indicator instances that were removed from the file
+         */
+        void parametersChanged(List<String> changedKeys, List<String> removedKeys);
+    }
 
-public class TaPropertiesManager {
+    private static final long SAVE_DELAY_MILLIS = 300; // edits within this time are written together
+    private static final long RELOAD_DELAY_MILLIS = 200; // the file is reloaded when there was no change for this time
+    private static final AtomicLong fileWrites = new AtomicLong();
 
     private File propertiesFile;
     private Document doc;
-    private XPath xPath;
-    private StreamResult result;
+    private volatile ParameterModel model = ParameterModel.of(null);
     private Transformer transformer;
 
+    // write behind: changes of the document increase the revision, the writer thread saves the latest revision
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "parameter-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> pendingSave;
+    private final Thread shutdownHook = new Thread(this::flush, "parameter-flush"); // until the manager is closed
+    private long revision;
+    private long savedRevision;
+
+    private final List<ParametersListener> listeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
+
 
     public TaPropertiesManager(TaChartIndicatorBox chartIndicatorBox) {
         loadParametersFile();
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
 
+    /**
+     * Constructor for a parameter file that is not on the class path
+     * @param propertiesFile the xml file with the indicator parameters
+     */
+    public TaPropertiesManager(File propertiesFile) {
+        loadParametersFile(propertiesFile);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
     }
 
     /**
      * Load the property file (if there is any) and initialize the class variables
      */
     private void loadParametersFile() {
-        try {
-            ClassLoader cl = getClass().getClassLoader();
-            URL fileURL = cl.getResource(Paths.PROPERTIES_FILE);
-
-            if (fileURL == null) { // no file found create one
-                propertiesFile = new File(Paths.PROPERTIES_FILE);
-                propertiesFile.createNewFile();
-            } else {
-                propertiesFile = new File(fileURL.getFile());
+        ClassLoader cl = getClass().getClassLoader();
+        URL fileURL = cl.getResource(Paths.PROPERTIES_FILE);
+
+        if (fileURL == null) { // no file found create one
+            File file = new File(Paths.PROPERTIES_FILE);
+            try {
+                file.createNewFile();
+            } catch (IOException e) {
+                e.printStackTrace();
             }
+            loadParametersFile(file);
+        } else {
+            loadParametersFile(new File(fileURL.getFile()));
+        }
+    }
 
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            doc = dBuilder.parse(propertiesFile);
-            doc.getDocumentElement().normalize();
-            XPathFactory xPathfactory = XPathFactory.newInstance();
-            xPath = xPathfactory.newXPath();
+    private void loadParametersFile(File file) {
+        propertiesFile = file;
+        try {
             TransformerFactory transformerFactory = TransformerFactory.newInstance();
             transformer = transformerFactory.newTransformer();
-            result = new StreamResult(propertiesFile);
+            doc = parse(propertiesFile);
+            model = ParameterModel.of(doc);
         } catch (IOException e) {
             //TODO: Exception handling
             e.printStackTrace();
@@ -101,58 +167,206 @@ public class TaPropertiesManager {
 
     }
 
+    private static Document parse(File file) throws ParserConfigurationException, IOException, SAXException {
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+        Document document = dBuilder.parse(file);
+        document.getDocumentElement().normalize();
+        return document;
+    }
+
+    /**
+     * Watches the parameter file for changes by other programs (e.g. an editor). When the file changes it is parsed
+     * again and compared with the current model, the {@link ParametersListener listeners} are informed about the
+     * indicator instances that were added, changed or removed. Writes of this manager do not cause notifications.
+     * @throws IOException if the directory of the file could not be watched
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Path file = propertiesFile.getAbsoluteFile().toPath();
+        watchService = file.getFileSystem().newWatchService();
+        // the directory is watched, the file is replaced on save by many editors (and by this manager)
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> watch(service, file.getFileName()), "parameter-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the parameter file
+     */
+    public synchronized void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        watchService = null;
+    }
+
+    public synchronized boolean isWatching() {
+        return watchService != null;
+    }
+
+    public void addParametersListener(ParametersListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeParametersListener(ParametersListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void watch(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                boolean changed = isFileEvent(service.take(), fileName);
+                // a save can consist of several events (truncate, write, rename), wait until they stop
+                WatchKey next;
+                while ((next = service.poll(RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isFileEvent(next, fileName);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean isFileEvent(WatchKey key, Path fileName) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()){
+            found |= fileName.equals(event.context()) || event.kind() == StandardWatchEventKinds.OVERFLOW;
+        }
+        key.reset();
+        return found;
+    }
+
+    /**
+     * Parses the parameter file again and replaces the model if indicator instances were added, changed or removed.
+     * Does nothing while changes of this manager are not written (they would overwrite the file anyway) or if the
+     * file can not be parsed (e.g. while it is written) or has invalid values (e.g. an unknown category).
+     */
+    public void reload() {
+        Document newDoc;
+        ParameterModel newModel;
+        try {
+            newDoc = parse(propertiesFile);
+            newModel = ParameterModel.of(newDoc);
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            e.printStackTrace();
+            return;
+        } catch (RuntimeException e) { // e.g. an unknown category, the current model is kept
+            e.printStackTrace();
+            return;
+        }
+        List<String> changedKeys;
+        List<String> removedKeys;
+        synchronized (this) {
+            if (!isSaved()) {
+                return;
+            }
+            changedKeys = model.getChangedKeys(newModel);
+            removedKeys = model.getRemovedKeys(newModel);
+            if (changedKeys.isEmpty() && removedKeys.isEmpty()) {
+                return; // e.g. written by this manager
+            }
+            doc = newDoc;
+            model = newModel;
+        }
+        for (ParametersListener listener : listeners){
+            try {
+                listener.parametersChanged(changedKeys, removedKeys);
+            } catch (RuntimeException e) { // must not stop the watcher thread
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Reads a parameter from the parameter file
      *
      * @param key key for property
-     * @param paramName default string array if not found
-     * @return
+     * @param paramName the name of the parameter
+     * @return the value of the parameter as in the file
+     */
+    public String getParameter(String key, String paramName) {
+        return getParameterModel(key, paramName).getValue();
+    }
+
+    /**
+     * @param key the key of the indicator
+     * @param paramName the name of the parameter
+     * @return the value of an integer parameter
      */
-    public String getParameter(String key, String paramName) throws XPathExpressionException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String id = raw[1];
-        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']/param[@name='%s']",indicator,id,paramName);
-        XPathExpression expr = xPath.compile(command);
-        Node resultNode = (Node) expr.evaluate(doc, XPathConstants.NODE);
-        return resultNode.getTextContent();
+    public int getInt(String key, String paramName) {
+        ParameterModel.Parameter parameter = getParameterModel(key, paramName);
+        Object value = parameter.getTypedValue();
+        return value instanceof Integer ? (Integer) value : Integer.parseInt(parameter.getValue().trim());
+    }
+
+    /**
+     * @param key the key of the indicator
+     * @param paramName the name of the parameter
+     * @return the value of a numeric parameter
+     */
+    public double getDouble(String key, String paramName) {
+        ParameterModel.Parameter parameter = getParameterModel(key, paramName);
+        Object value = parameter.getTypedValue();
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(parameter.getValue().trim());
+    }
+
+    public TaColor getTaColor(String key, String paramName) {
+        return getEnum(key, paramName, TaColor.class);
+    }
+
+    public TaShape getTaShape(String key, String paramName) {
+        return getEnum(key, paramName, TaShape.class);
+    }
+
+    public TaStroke getTaStroke(String key, String paramName) {
+        return getEnum(key, paramName, TaStroke.class);
+    }
+
+    public TaBoolean getTaBoolean(String key, String paramName) {
+        return getEnum(key, paramName, TaBoolean.class);
+    }
+
+    private <E extends Enum<E>> E getEnum(String key, String paramName, Class<E> type) {
+        ParameterModel.Parameter parameter = getParameterModel(key, paramName);
+        Object value = parameter.getTypedValue();
+        return type.isInstance(value) ? type.cast(value) : Enum.valueOf(type, parameter.getValue());
     }
 
     /**
      *
      * @param key the key of the indicator
      * @return the category if found, DEFAULT else
-     * @throws XPathExpressionException d
      */
-    public TaCategory getCategory(String key) throws XPathExpressionException {
-        Node node = getNodeForInstance(key);
-        String command = "@category";
-        XPathExpression expr = xPath.compile(command);
-        String categorie = (String) expr.evaluate(node, XPathConstants.STRING);
-        if(categorie.equals(""))
-            return TaCategory.DEFAULT;
-        return TaCategory.valueOf(categorie);
+    public TaCategory getCategory(String key) {
+        return getInstance(key).getCategory();
     }
 
     //TODO overload those with extra int id for further color, shape and stroke params
-    public Shape getShapeOf(String key) throws XPathExpressionException {
-        Node node = getNodeForInstance(key);
-        String command = "./param[@name='Shape']";
-        XPathExpression expr = xPath.compile(command);
-        Node paramNode = (Node) expr.evaluate(node,XPathConstants.NODE);
-        String shape = paramNode.getTextContent();
+    public Shape getShapeOf(String key) {
+        String shape = getParameter(key, "Shape");
         if (shape.equals(""))
             return null;
-        return TaShape.valueOf(shape).getShape();
+        return getTaShape(key, "Shape").getShape();
     }
 
     //TODO: add more colors
-    public Paint getColorOf(String key) throws XPathExpressionException {
-        Node node = getNodeForInstance(key);
-        String command = "./param[@name='Color']";
-        XPathExpression expr = xPath.compile(command);
-        Node paramNode = (Node) expr.evaluate(node,XPathConstants.NODE);
-        String color = paramNode.getTextContent();
+    public Paint getColorOf(String key) {
+        String color = getParameter(key, "Color");
         switch (color){
             case "YELLOW":
                 return Color.YELLOW;
@@ -171,78 +385,67 @@ public class TaPropertiesManager {
      * returns the main {@link Stroke} of the indicator identified by key
      * @param key the identifier of the indicator
      * @return Stroke object or null
-     * @throws XPathExpressionException
      */
-    public Stroke getStrokeOf(String key) throws XPathExpressionException {
-        Node node = getNodeForInstance(key);
-        String command = "./param[@name='Stroke']";
-        XPathExpression expr = xPath.compile(command);
-        Node paramNode = (Node) expr.evaluate(node,XPathConstants.NODE);
-        String stroke = paramNode.getTextContent();
+    public Stroke getStrokeOf(String key) {
+        String stroke = getParameter(key, "Stroke");
         if(stroke.equals("")){
             return null;
         }
-        return TaStroke.valueOf(stroke).getStroke();
+        return getTaStroke(key, "Stroke").getStroke();
     }
 
-    public TaChartType getChartType(String key) throws XPathExpressionException {
-        Node node = getNodeForInstance(key);
-        String command = "./param[@name='Chart Type']";
-        XPathExpression expr = xPath.compile(command);
-        Node paramNode = (Node) expr.evaluate(node,XPathConstants.NODE);
-        String chartType = paramNode.getTextContent();
+    public TaChartType getChartType(String key) {
+        String chartType = getParameter(key, "Chart Type");
         if(chartType.equals("")){
             return null;
         }
-        return TaChartType.valueOf(chartType);
+        return getEnum(key, "Chart Type", TaChartType.class);
     }
 
-    public void setParameter(String key, String paramName, String value) throws IOException, XPathExpressionException, TransformerException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String id = raw[1];
-        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']/param[@name='%s']",indicator,id,paramName);
-        XPathExpression expr = xPath.compile(command);
-        Node resultNode = (Node) expr.evaluate(doc, XPathConstants.NODE);
-        //((Element) resultNode).getAttribute("type"); //TODO implement type check
-        resultNode.setTextContent(value);
-        DOMSource source = new DOMSource(doc);
-        transformer.transform(source, result);
+    /**
+     * Changes a parameter. The file is written later on a background thread, see {@link #setParameters(String, Map)}
+     * @param key the key of the indicator
+     * @param paramName the name of the parameter
+     * @param value the new value
+     */
+    public void setParameter(String key, String paramName, String value) {
+        setParameters(key, Collections.singletonMap(paramName, value));
     }
 
     /**
-     * @return all indicator names for that are properties stored as a list
+     * Changes several parameters of an indicator at once. Either all parameters are changed or none (if one of
+     * them does not exist). The file is not written immediately: the writer thread saves the document
+     * {@value #SAVE_DELAY_MILLIS} ms after the last change, so rapid edits are written once. The file is replaced
+     * atomically by a temporary file, it is never left half written.
+     * @param key the key of the indicator
+     * @param values the new values by parameter name
      */
-    public java.util.List<String> getAllKeys() {
-        List<String> keyList = new ArrayList<String>();
-        NodeList indicators = doc.getElementsByTagName("indicator");
-        for (int i = 0; i < indicators.getLength(); i++){
-            Node node = indicators.item(i);
-            if (node.getNodeType() == Node.ELEMENT_NODE){
-                String indicator= ((Element)node).getAttribute("identifier");
-                NodeList instances = ((Element) node).getElementsByTagName("instance");
-                for (int j=0; j<instances.getLength(); j++){
-                    String id = ((Element)instances.item(j)).getAttribute("id");
-                    keyList.add(indicator+"_"+id);
-                }
-            }
+    public synchronized void setParameters(String key, Map<String,String> values) {
+        List<ParameterModel.Parameter> parameters = new ArrayList<>(values.size());
+        for (String paramName : values.keySet()){
+            parameters.add(getParameterModel(key, paramName));
         }
-        return keyList;
+        //parameter.getType(); //TODO implement type check
+        for (ParameterModel.Parameter parameter : parameters){
+            String value = values.get(parameter.getName());
+            parameter.getElement().setTextContent(value);
+            parameter.setValue(value);
+        }
+        scheduleSave();
     }
 
-    public List<String> getKeysForCategory(TaCategory category) throws XPathExpressionException {
-        String command = String.format("//instance[@category='%s']",category.toString());
-        XPathExpression expr = xPath.compile(command);
-        DTMNodeList nodes = (DTMNodeList) expr.evaluate(doc, XPathConstants.NODESET);
+    /**
+     * @return all indicator names for that are properties stored as a list
+     */
+    public java.util.List<String> getAllKeys() {
+        return new ArrayList<>(model.getKeys());
+    }
 
+    public List<String> getKeysForCategory(TaCategory category) {
         List<String> keyList = new ArrayList<>();
-        for (int i = 0; i < nodes.getLength(); i++){
-            Node node = nodes.item(i);
-            if (node.getNodeType() == Node.ELEMENT_NODE){
-                String id = ((Element) node).getAttribute("id");
-                Element parent =(Element) node.getParentNode();
-                String name = parent.getAttribute("identifier");
-                keyList.add(name+"_"+id);
+        for (String key : model.getKeys()){
+            if (model.getInstance(key).getCategory() == category) {
+                keyList.add(key);
             }
         }
         return keyList;
@@ -251,83 +454,164 @@ public class TaPropertiesManager {
     /**
      * Get all parameters for a
      * @param key identifier of the indicator
-     * @return a Map of name and value of the parameter
+     * @return a Map of name and value of the parameter in the order of the file
      */
-    public Map<String,String> getParametersFor(String key) throws XPathExpressionException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String id = raw[1];
-        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']/*",indicator,id);
-        XPathExpression expr = xPath.compile(command);
-        NodeList nodes = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
-        Map<String,String> mapNameValue = new HashMap<>();
-        for (int i = 0; i<nodes.getLength(); i++){
-            Node node = nodes.item(i);
-            if(node.getNodeType()==Node.ELEMENT_NODE){
-                Element paraElement = (Element) node;
-                if(paraElement.getNodeName().equals("param")){
-                    String name = paraElement.getAttribute("name");
-                    String value = paraElement.getTextContent();
-                    mapNameValue.put(name,value);
-                }
-
-            }
+    public Map<String,String> getParametersFor(String key) {
+        Map<String,String> mapNameValue = new LinkedHashMap<>();
+        for (ParameterModel.Parameter parameter : getInstance(key).getParameters()){
+            mapNameValue.put(parameter.getName(), parameter.getValue());
         }
         return mapNameValue;
     }
 
-    public void duplicate(String key) throws XPathExpressionException, TransformerException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String id = raw[1];
+    public synchronized void duplicate(String key) {
+        ParameterModel.Instance instance = getInstance(key);
         //get valid id (the biggest+1 ...)
-        String command = String.format("//indicator[@identifier='%s']/instance",indicator,id);
-        XPathExpression expr = xPath.compile(command);
-        NodeList nodes = (NodeList) expr.evaluate(doc, XPathConstants.NODESET);
-        int nextID = 1;
-        for(int i = 0; i < nodes.getLength(); i++){
-            Element instance = (Element) nodes.item(i);
-            int elementId = Integer.parseInt(instance.getAttribute("id"));
-            if (nextID<=elementId){
-                nextID = elementId;
-            }
-        }
-        nextID++;
+        int nextID = Math.max(model.getMaxId(instance.getIdentifier()), 1) + 1;
 
         // get instance, clone it and append to parent of instance
-        Node toDuplicate = getNodeForInstance(key);
-        Element duplicate = (Element) toDuplicate.cloneNode(true);
+        Element duplicate = (Element) instance.getElement().cloneNode(true);
         duplicate.setAttribute("id", String.valueOf(nextID));
-        Node parent = toDuplicate.getParentNode();
-        parent.appendChild(duplicate);
-        DOMSource source = new DOMSource(doc);
-        transformer.transform(source, result);
+        instance.getElement().getParentNode().appendChild(duplicate);
+        model.add(new ParameterModel.Instance(instance.getIdentifier(), duplicate));
+        scheduleSave();
+    }
+
+    private synchronized void scheduleSave() {
+        revision++;
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        try {
+            pendingSave = writer.schedule(this::writeFile, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) { // closed, written on the calling thread
+            pendingSave = null;
+            writeFile();
+        }
+    }
+
+    /**
+     * Writes the document to a temporary file next to the parameter file and renames it to the parameter file.
+     * Runs on the writer thread, the document is only serialized while holding the lock.
+     */
+    private void writeFile() {
+        byte[] content;
+        long contentRevision;
+        synchronized (this) {
+            if (savedRevision == revision || doc == null) {
+                return;
+            }
+            contentRevision = revision;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                transformer.transform(new DOMSource(doc), new StreamResult(out));
+            } catch (TransformerException e) {
+                e.printStackTrace();
+                return;
+            }
+            content = out.toByteArray();
+        }
+        Path target = propertiesFile.getAbsoluteFile().toPath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            fileWrites.incrementAndGet();
+            synchronized (this) {
+                savedRevision = Math.max(savedRevision, contentRevision);
+            }
+        } catch (IOException e) {
+            e.printStackTrace(); // the revision stays unsaved, the next change or flush tries again
+            if (temp != null) {
+                temp.toFile().delete();
+            }
+        }
     }
 
-    private Node getNodeForInstance(String key) throws XPathExpressionException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String id = raw[1];
-        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']",indicator,id);
-        XPathExpression expr = xPath.compile(command);
-        return (Node) expr.evaluate(doc, XPathConstants.NODE);
+    /**
+     * Writes pending changes immediately and waits until they are written
+     */
+    public void flush() {
+        if (isSaved()) {
+            return;
+        }
+        if (writer.isShutdown()) {
+            writeFile();
+            return;
+        }
+        try {
+            writer.submit(this::writeFile).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            e.printStackTrace();
+        }
     }
 
+    /**
+     * Writes pending changes, stops watching the file and stops the writer thread. The manager can still be used
+     * afterwards, changes are then written immediately on the calling thread.
+     */
+    public void close() {
+        flush();
+        stopWatching();
+        writer.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // the virtual machine is shutting down, the hook flushes
+        }
+    }
+
+    /**
+     * @return true if all changes are written to the file
+     */
+    public synchronized boolean isSaved() {
+        return savedRevision == revision;
+    }
+
+    /**
+     * @return number of times a parameter file was written (by all properties managers)
+     */
+    public static long getFileWrites() {
+        return fileWrites.get();
+    }
+
+    private ParameterModel.Instance getInstance(String key) {
+        ParameterModel.Instance instance = model.getInstance(key);
+        if (instance == null) {
+            throw new IllegalArgumentException("No parameters for indicator " + key);
+        }
+        return instance;
+    }
+
+    private ParameterModel.Parameter getParameterModel(String key, String paramName) {
+        ParameterModel.Parameter parameter = getInstance(key).getParameter(paramName);
+        if (parameter == null) {
+            throw new IllegalArgumentException("No parameter '" + paramName + "' for indicator " + key);
+        }
+        return parameter;
+    }
+
+    /**
+     * @return the in memory model of the parameter file
+     */
+    public ParameterModel getModel() {
+        return model;
+    }
 
-    public String getDescription(String key) throws XPathExpressionException {
-        String raw[] = key.split("_");
-        String indicator = raw[0];
-        String command = String.format("//indicator[@identifier='%s']/description/text()",indicator);
-        XPathExpression expr = xPath.compile(command);
-        String result = (String) expr.evaluate(doc,XPathConstants.STRING);
-        return result;
+    public String getDescription(String key) {
+        String indicator = key.split("_")[0];
+        return model.getDescription(indicator);
     }
 
-    public String getParameterType(String key, String param) throws XPathExpressionException {
-        Node instanceNode = getNodeForInstance(key);
-        String command = String.format("./param[@name='%s']/@type",param);
-        XPathExpression expr = xPath.compile(command);
-        String result = (String) expr.evaluate(instanceNode,XPathConstants.STRING);
-        return result;
+    public String getParameterType(String key, String param) {
+        ParameterModel.Parameter parameter = getInstance(key).getParameter(param);
+        return parameter == null ? "" : parameter.getType();
     }
 }
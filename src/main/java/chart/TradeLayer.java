@@ -0,0 +1,266 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart;
+
+import chart.data.TimeIndex;
+import chart.data.TradeIndex;
+import org.jfree.chart.annotations.AbstractXYAnnotation;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.ui.RectangleEdge;
+import org.ta4j.core.Order;
+import org.ta4j.core.TradingRecord;
+
+import java.awt.*;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Draws the trades of trading records on the main plot: a vertical line at each entry and exit and a translucent
+ * area between them. The trades are stored in {@link TradeIndex} arrays, only the trades that intersect the
+ * visible range are drawn. Areas that touch on screen are merged into one rectangle and each pixel column gets at most
+ * one entry and one exit line.
+ * The entry and exit lines are only drawn if the visible trades are at least {@value #LINE_PIXELS} pixels apart
+ * on average (otherwise the merged areas show where the trades are), the order labels only if there is room.
+ * A trade can be selected by hit testing ({@link #select(double, double)}), it is drawn highlighted.
+ */
+public class TradeLayer extends AbstractXYAnnotation {
+
+    private static final long serialVersionUID = 1L;
+    private static final int LINE_PIXELS = 3; // minimum space per visible trade to draw the entry and exit lines
+    private static final int LABEL_PIXELS = 40; // minimum space per visible trade to draw the labels
+
+    private final TimeIndex timeIndex;
+    private final Map<TradingRecord, TradeIndex> records = new LinkedHashMap<>();
+    private TradeIndex[] indices = new TradeIndex[0];
+
+    private final Stroke lineStroke = new BasicStroke(0.5f);
+    private final Stroke selectedStroke = new BasicStroke(2f);
+    private final Font labelFont = new Font("SansSerif", Font.PLAIN, 9);
+    private final Rectangle2D.Double area = new Rectangle2D.Double();
+    private final Line2D.Double line = new Line2D.Double();
+
+    private TradeIndex selectedRecord;
+    private int selectedTrade = -1;
+
+    /**
+     * Constructor
+     * @param timeIndex the time index of the series the trading records are created for
+     */
+    public TradeLayer(TimeIndex timeIndex){
+        this.timeIndex = timeIndex;
+    }
+
+    /**
+     * Adds the trades of a trading record
+     * @param record the trading record
+     */
+    public void addRecord(TradingRecord record){
+        records.put(record, new TradeIndex(record, timeIndex));
+        indices = records.values().toArray(new TradeIndex[0]);
+        fireAnnotationChanged();
+    }
+
+    /**
+     * Removes the trades of a trading record
+     * @param record the trading record
+     */
+    public void removeRecord(TradingRecord record){
+        TradeIndex removed = records.remove(record);
+        if (removed != null) {
+            if (removed == selectedRecord) {
+                selectedRecord = null;
+                selectedTrade = -1;
+            }
+            indices = records.values().toArray(new TradeIndex[0]);
+            fireAnnotationChanged();
+        }
+    }
+
+    /**
+     * @return the trades of the records in the order they were added
+     */
+    public TradeIndex[] getIndices(){
+        return indices;
+    }
+
+    /**
+     * Hit test: selects the trade under a domain value, or clears the selection if there is none
+     * @param x the domain value, e.g. of the mouse position
+     * @param tolerance the maximal distance of x to the trade in domain units
+     * @return true if the selection changed
+     */
+    public boolean select(double x, double tolerance){
+        TradeIndex hitRecord = null;
+        int hitTrade = -1;
+        for (int r = indices.length - 1; r >= 0 && hitRecord == null; r--) { // records added later are on top
+            int trade = indices[r].firstTradeEndingAfter(x - tolerance);
+            if (trade < indices[r].size() && indices[r].getEntryTime(trade) <= x + tolerance) {
+                hitRecord = indices[r];
+                hitTrade = trade;
+            }
+        }
+        if (hitRecord == selectedRecord && hitTrade == selectedTrade) {
+            return false;
+        }
+        selectedRecord = hitRecord;
+        selectedTrade = hitTrade;
+        fireAnnotationChanged();
+        return true;
+    }
+
+    /**
+     * @return the trades of the selected trade, null if no trade is selected
+     */
+    public TradeIndex getSelectedRecord(){
+        return selectedRecord;
+    }
+
+    /**
+     * @return the position of the selected trade in {@link #getSelectedRecord()}, -1 if no trade is selected
+     */
+    public int getSelectedTrade(){
+        return selectedTrade;
+    }
+
+    @Override
+    public void draw(Graphics2D g2, XYPlot plot, Rectangle2D dataArea, ValueAxis domainAxis, ValueAxis rangeAxis,
+                     int rendererIndex, PlotRenderingInfo info){
+        if (indices.length == 0) {
+            return;
+        }
+        RectangleEdge edge = Plot.resolveDomainAxisLocation(plot.getDomainAxisLocation(), plot.getOrientation());
+        double lower = domainAxis.getLowerBound();
+        double upper = domainAxis.getUpperBound();
+        double top = dataArea.getMinY();
+        double bottom = dataArea.getMaxY();
+        Shape savedClip = g2.getClip();
+        Composite savedComposite = g2.getComposite();
+        g2.clip(dataArea);
+        for (TradeIndex trades : indices) {
+            int first = trades.firstTradeEndingAfter(lower);
+            int last = trades.lastTradeStartingBefore(upper);
+            if (last < first) {
+                continue;
+            }
+            boolean lines = (last - first + 1) * LINE_PIXELS <= dataArea.getWidth();
+            boolean longTrades = trades.getEntryType() == Order.OrderType.BUY;
+            Color entryColor = longTrades ? Color.GREEN : Color.RED;
+            Color exitColor = longTrades ? Color.RED : Color.GREEN;
+
+            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.1f));
+            g2.setPaint(entryColor);
+            double areaStart = Double.NaN;
+            double areaEnd = Double.NaN;
+            for (int i = first; i <= last; i++) {
+                double entry = domainAxis.valueToJava2D(trades.getEntryTime(i), dataArea, edge);
+                double exit = domainAxis.valueToJava2D(trades.getExitTime(i), dataArea, edge);
+                if (entry <= areaEnd + 1) { // overlaps the current area in screen space
+                    areaEnd = Math.max(areaEnd, exit);
+                } else {
+                    fillArea(g2, areaStart, areaEnd, top, bottom);
+                    areaStart = entry;
+                    areaEnd = exit;
+                }
+            }
+            fillArea(g2, areaStart, areaEnd, top, bottom);
+
+            if (lines) {
+                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
+                g2.setStroke(lineStroke);
+                int lastEntryPixel = Integer.MIN_VALUE;
+                int lastExitPixel = Integer.MIN_VALUE;
+                for (int i = first; i <= last; i++) {
+                    double entry = domainAxis.valueToJava2D(trades.getEntryTime(i), dataArea, edge);
+                    double exit = domainAxis.valueToJava2D(trades.getExitTime(i), dataArea, edge);
+                    if ((int) entry != lastEntryPixel) {
+                        g2.setPaint(entryColor);
+                        drawLine(g2, entry, top, bottom);
+                        lastEntryPixel = (int) entry;
+                    }
+                    if ((int) exit != lastExitPixel) {
+                        g2.setPaint(exitColor);
+                        drawLine(g2, exit, top, bottom);
+                        lastExitPixel = (int) exit;
+                    }
+                }
+            }
+            g2.setComposite(savedComposite);
+
+            if ((last - first + 1) * LABEL_PIXELS <= dataArea.getWidth()) {
+                drawLabels(g2, trades, first, last, domainAxis, dataArea, edge, entryColor, exitColor);
+            }
+        }
+        drawSelection(g2, domainAxis, dataArea, edge, top, bottom);
+        g2.setComposite(savedComposite);
+        g2.setClip(savedClip);
+    }
+
+    // shapes are drawn one by one, a single antialiased path spanning the plot rasterizes much slower
+    private void fillArea(Graphics2D g2, double start, double end, double top, double bottom){
+        if (!Double.isNaN(start)) {
+            area.setRect(start, top, Math.max(end - start, 1), bottom - top);
+            g2.fill(area);
+        }
+    }
+
+    private void drawLine(Graphics2D g2, double x, double top, double bottom){
+        line.setLine(x, top, x, bottom);
+        g2.draw(line);
+    }
+
+    private void drawLabels(Graphics2D g2, TradeIndex trades, int first, int last, ValueAxis domainAxis,
+                            Rectangle2D dataArea, RectangleEdge edge, Color entryColor, Color exitColor){
+        g2.setFont(labelFont);
+        FontMetrics metrics = g2.getFontMetrics();
+        String entryLabel = trades.getEntryType().toString();
+        String exitLabel = trades.getEntryType().complementType().toString();
+        double entryY = dataArea.getMinY() + metrics.getAscent() + 2;
+        double exitY = dataArea.getMaxY() - metrics.getDescent() - 2;
+        for (int i = first; i <= last; i++) {
+            double entry = domainAxis.valueToJava2D(trades.getEntryTime(i), dataArea, edge);
+            double exit = domainAxis.valueToJava2D(trades.getExitTime(i), dataArea, edge);
+            g2.setPaint(entryColor);
+            g2.drawString(entryLabel, (float) entry + 2, (float) entryY);
+            g2.setPaint(exitColor);
+            g2.drawString(exitLabel, (float) (exit - metrics.stringWidth(exitLabel) - 2), (float) exitY);
+        }
+    }
+
+    private void drawSelection(Graphics2D g2, ValueAxis domainAxis, Rectangle2D dataArea, RectangleEdge edge,
+                               double top, double bottom){
+        if (selectedRecord == null) {
+            return;
+        }
+        double entry = domainAxis.valueToJava2D(selectedRecord.getEntryTime(selectedTrade), dataArea, edge);
+        double exit = domainAxis.valueToJava2D(selectedRecord.getExitTime(selectedTrade), dataArea, edge);
+        Color color = selectedRecord.getEntryType() == Order.OrderType.BUY ? Color.GREEN : Color.RED;
+        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f));
+        g2.setPaint(color);
+        g2.fill(new Rectangle2D.Double(entry, top, Math.max(exit - entry, 1), bottom - top));
+        g2.setComposite(AlphaComposite.SrcOver);
+        g2.setStroke(selectedStroke);
+        g2.draw(new Rectangle2D.Double(entry, top, Math.max(exit - entry, 1), bottom - top));
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.OHLCDataset;
+import org.jfree.data.xy.XYRangeInfo;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Level of detail view of an {@link OHLCColumnDataset} for the candlestick renderer. If the visible ticks fit
+ * into the data area with {@value #CANDLE_PIXELS} pixels per candle only the visible ticks are served. Otherwise
+ * the data area is split into buckets of {@value #CANDLE_PIXELS} pixels and one candle per bucket is served: open
+ * of the first tick, highest high, lowest low, close of the last tick and the summed volume, computed from a
+ * {@link CandlePyramid} in O(log n) per bucket. The bounds ({@link DomainInfo}, {@link RangeInfo},
+ * {@link XYRangeInfo}) are the bounds of the ticks, so the auto range of the axes does not depend on the view.
+ */
+public class AggregatedOHLCDataset extends AbstractXYDataset implements OHLCDataset, ViewportDataset,
+        DatasetChangeListener, DomainInfo, RangeInfo, XYRangeInfo {
+
+    private static final long serialVersionUID = 1L;
+    private static final int CANDLE_PIXELS = 3;
+
+    private final OHLCColumnDataset source;
+    private final TickColumns columns;
+    private final CandlePyramid pyramid;
+    private final double[] aggregate = new double[3];
+
+    // served ticks if not aggregated, all ticks until a view is set
+    private boolean aggregated;
+    private boolean viewSet;
+    private int rawStart;
+    private int rawCount;
+
+    // served candles if aggregated
+    private double[] times = new double[0];
+    private double[] opens = new double[0];
+    private double[] highs = new double[0];
+    private double[] lows = new double[0];
+    private double[] closes = new double[0];
+    private double[] volumes = new double[0];
+    private int candleCount;
+
+    private double viewLower = Double.NaN;
+    private double viewUpper = Double.NaN;
+    private double viewX = Double.NaN;
+    private double viewWidth = Double.NaN;
+    private int viewSourceCount = -1;
+
+    /**
+     * Constructor, builds the pyramid of the ticks. The dataset serves all ticks until a view is set.
+     * @param source the candlestick dataset with ascending end times
+     */
+    public AggregatedOHLCDataset(OHLCColumnDataset source){
+        this.source = source;
+        this.columns = source.getColumns();
+        this.pyramid = new CandlePyramid(columns);
+        source.addChangeListener(this);
+    }
+
+    public OHLCColumnDataset getSource(){
+        return source;
+    }
+
+    /**
+     * @return true if the current view serves merged candles instead of ticks
+     */
+    public boolean isAggregated(){
+        return aggregated;
+    }
+
+    /**
+     * Sets the view, the candles are only recomputed if the view or the number of ticks changed
+     */
+    @Override
+    public void setView(double lower, double upper, double x, double width){
+        int sourceCount = columns.size();
+        if (lower == viewLower && upper == viewUpper && x == viewX && width == viewWidth && sourceCount == viewSourceCount) {
+            return;
+        }
+        viewLower = lower;
+        viewUpper = upper;
+        viewX = x;
+        viewWidth = width;
+        viewSourceCount = sourceCount;
+        viewSet = true;
+        width = Math.max(width, 1);
+
+        // ticks one candle width outside of the data area are still partly visible
+        double pixel = (upper - lower) / width;
+        int start = Math.max(0, lastIndexBefore(lower - CANDLE_PIXELS * pixel, sourceCount) + 1);
+        int end = firstIndexAfter(upper + CANDLE_PIXELS * pixel, sourceCount);
+        int visible = end - start;
+        if (visible * CANDLE_PIXELS <= width + 2 * CANDLE_PIXELS) {
+            aggregated = false;
+            rawStart = start;
+            rawCount = Math.max(visible, 0);
+            return;
+        }
+
+        // one candle per bucket of CANDLE_PIXELS screen pixels, buckets are aligned to the data area
+        pyramid.update();
+        int buckets = (int) Math.ceil(width / CANDLE_PIXELS) + 2;
+        ensureCapacity(buckets);
+        double bucketWidth = CANDLE_PIXELS * pixel;
+        int count = 0;
+        int from = lastIndexBefore(lower - bucketWidth, sourceCount) + 1;
+        for (int bucket = -1; bucket < buckets - 1; bucket++) {
+            double bucketEnd = lower + (bucket + 1) * bucketWidth;
+            int to = lastIndexBefore(bucketEnd, sourceCount) + 1;
+            if (to > from) {
+                pyramid.aggregate(from, to, aggregate);
+                times[count] = bucketEnd - bucketWidth / 2;
+                opens[count] = columns.getOpen(from);
+                highs[count] = aggregate[0];
+                lows[count] = aggregate[1];
+                closes[count] = columns.getClose(to - 1);
+                volumes[count] = aggregate[2];
+                count++;
+            }
+            from = to;
+        }
+        candleCount = count;
+        aggregated = true;
+    }
+
+    private void ensureCapacity(int capacity){
+        if (times.length < capacity) {
+            times = Arrays.copyOf(times, capacity);
+            opens = Arrays.copyOf(opens, capacity);
+            highs = Arrays.copyOf(highs, capacity);
+            lows = Arrays.copyOf(lows, capacity);
+            closes = Arrays.copyOf(closes, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+        }
+    }
+
+    /**
+     * Stops listening to the source dataset
+     */
+    public void dispose(){
+        source.removeChangeListener(this);
+    }
+
+    /**
+     * @return the index of the last tick with end time < value, -1 if there is none
+     */
+    private int lastIndexBefore(double value, int size){
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (columns.getEndTime(mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return the index of the first tick with end time > value, size if there is none
+     */
+    private int firstIndexAfter(double value, int size){
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (columns.getEndTime(mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int tick(int item){
+        return viewSet ? rawStart + item : item;
+    }
+
+    @Override
+    public void datasetChanged(DatasetChangeEvent event){
+        fireDatasetChanged(); // the candles are recomputed on the next setView
+    }
+
+    @Override
+    public int getSeriesCount(){
+        return 1;
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series){
+        return source.getSeriesKey(series);
+    }
+
+    @Override
+    public DomainOrder getDomainOrder(){
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int series){
+        if (!viewSet) {
+            return columns.size();
+        }
+        return aggregated ? candleCount : rawCount;
+    }
+
+    @Override
+    public Number getX(int series, int item){
+        return getXValue(series, item);
+    }
+
+    @Override
+    public double getXValue(int series, int item){
+        return aggregated ? times[item] : columns.getEndTime(tick(item));
+    }
+
+    @Override
+    public Number getY(int series, int item){
+        return getYValue(series, item);
+    }
+
+    @Override
+    public double getYValue(int series, int item){
+        return getCloseValue(series, item);
+    }
+
+    @Override
+    public Number getHigh(int series, int item){
+        return getHighValue(series, item);
+    }
+
+    @Override
+    public double getHighValue(int series, int item){
+        return aggregated ? highs[item] : columns.getHigh(tick(item));
+    }
+
+    @Override
+    public Number getLow(int series, int item){
+        return getLowValue(series, item);
+    }
+
+    @Override
+    public double getLowValue(int series, int item){
+        return aggregated ? lows[item] : columns.getLow(tick(item));
+    }
+
+    @Override
+    public Number getOpen(int series, int item){
+        return getOpenValue(series, item);
+    }
+
+    @Override
+    public double getOpenValue(int series, int item){
+        return aggregated ? opens[item] : columns.getOpen(tick(item));
+    }
+
+    @Override
+    public Number getClose(int series, int item){
+        return getCloseValue(series, item);
+    }
+
+    @Override
+    public double getCloseValue(int series, int item){
+        return aggregated ? closes[item] : columns.getClose(tick(item));
+    }
+
+    @Override
+    public Number getVolume(int series, int item){
+        return getVolumeValue(series, item);
+    }
+
+    @Override
+    public double getVolumeValue(int series, int item){
+        return aggregated ? volumes[item] : columns.getVolume(tick(item));
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval){
+        return columns.size() == 0 ? Double.NaN : columns.getEndTime(0);
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval){
+        return columns.size() == 0 ? Double.NaN : columns.getEndTime(columns.size() - 1);
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval){
+        return columns.size() == 0 ? null : new Range(getDomainLowerBound(includeInterval), getDomainUpperBound(includeInterval));
+    }
+
+    @Override
+    public double getRangeLowerBound(boolean includeInterval){
+        Range bounds = getRangeBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getLowerBound();
+    }
+
+    @Override
+    public double getRangeUpperBound(boolean includeInterval){
+        Range bounds = getRangeBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getUpperBound();
+    }
+
+    /**
+     * @return lowest low and highest high of all ticks (also if the interval is not included)
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval){
+        return rangeOf(0, columns.size());
+    }
+
+    /**
+     * @return lowest low and highest high of the ticks in the x range (also if the interval is not included)
+     */
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange, boolean includeInterval){
+        if (visibleSeriesKeys != null && visibleSeriesKeys.isEmpty()) {
+            return null;
+        }
+        int size = columns.size();
+        return rangeOf(lastIndexBefore(xRange.getLowerBound(), size) + 1, firstIndexAfter(xRange.getUpperBound(), size));
+    }
+
+    private Range rangeOf(int from, int to){
+        if (to <= from) {
+            return null;
+        }
+        double[] result = new double[3];
+        pyramid.aggregate(from, to, result);
+        return new Range(result[1], result[0]);
+    }
+}
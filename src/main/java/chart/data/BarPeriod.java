@@ -0,0 +1,57 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.data;
+
+/**
+ * The timeframes that can be derived by the {@link Resampler}
+ */
+public enum BarPeriod {
+    MINUTES_5("5 Minutes", 5 * 60),
+    MINUTES_15("15 Minutes", 15 * 60),
+    HOUR_1("1 Hour", 60 * 60),
+    DAY_1("1 Day", 0),
+    WEEK_1("1 Week", 0);
+
+    private final String name;
+    private final int seconds;
+
+    BarPeriod(String name, int seconds){
+        this.name = name;
+        this.seconds = seconds;
+    }
+
+    /**
+     * @return true if the bars of this period lie within one session
+     */
+    public boolean isIntraday(){
+        return seconds > 0;
+    }
+
+    /**
+     * @return the length of an intraday bucket in seconds
+     */
+    public int getSeconds(){
+        return seconds;
+    }
+
+    @Override
+    public String toString(){
+        return name;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multi resolution summary of {@link TickColumns}: for groups of 4, 8, 16, ... consecutive ticks the highest
+ * price, the lowest price and the summed volume. High, low and volume of any range of ticks can be computed from
+ * O(log n) groups, open and close are the prices of the first and the last tick of the range.
+ * Only complete groups are stored, ticks added to the columns are included by {@link #update()}.
+ */
+public class CandlePyramid {
+
+    private static final int MIN_LEVEL = 2; // smallest groups have 1 << MIN_LEVEL ticks
+
+    private final TickColumns columns;
+    private final List<Level> levels = new ArrayList<>();
+    private int tickCount;
+
+    private static class Level {
+        double[] highs = new double[16];
+        double[] lows = new double[16];
+        double[] volumes = new double[16];
+        int count;
+
+        void add(double high, double low, double volume){
+            if (count == highs.length) {
+                int capacity = count + (count >> 1) + 1;
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            highs[count] = high;
+            lows[count] = low;
+            volumes[count] = volume;
+            count++;
+        }
+    }
+
+    /**
+     * Constructor, builds the pyramid for all ticks of the columns
+     * @param columns the tick data, is not copied
+     */
+    public CandlePyramid(TickColumns columns){
+        this.columns = columns;
+        update();
+    }
+
+    public TickColumns getColumns(){
+        return columns;
+    }
+
+    /**
+     * Adds the groups that were completed by ticks added to the columns
+     */
+    public synchronized void update(){
+        int size = columns.size();
+        if (size == tickCount) {
+            return;
+        }
+        tickCount = size;
+        int groupSize = 1 << MIN_LEVEL;
+        if (levels.isEmpty()) {
+            levels.add(new Level());
+        }
+        Level base = levels.get(0);
+        for (int group = base.count; (group + 1) * groupSize <= size; group++) {
+            int from = group * groupSize;
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            for (int i = from; i < from + groupSize; i++) {
+                high = Math.max(high, columns.getHigh(i));
+                low = Math.min(low, columns.getLow(i));
+                volume += columns.getVolume(i);
+            }
+            base.add(high, low, volume);
+        }
+        for (int l = 1; levels.get(l - 1).count >= 2; l++) {
+            Level lower = levels.get(l - 1);
+            if (levels.size() == l) {
+                levels.add(new Level());
+            }
+            Level level = levels.get(l);
+            for (int group = level.count; 2 * group + 1 < lower.count; group++) {
+                level.add(Math.max(lower.highs[2 * group], lower.highs[2 * group + 1]),
+                        Math.min(lower.lows[2 * group], lower.lows[2 * group + 1]),
+                        lower.volumes[2 * group] + lower.volumes[2 * group + 1]);
+            }
+        }
+    }
+
+    /**
+     * Computes high, low and volume of a range of ticks
+     * @param from index of the first tick
+     * @param to index after the last tick
+     * @param result receives the highest price at 0, the lowest price at 1 and the volume at 2
+     */
+    public synchronized void aggregate(int from, int to, double[] result){
+        update();
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        double volume = 0;
+        int i = from;
+        while (i < to) {
+            // the largest group that starts at i and ends before to
+            int alignment = i == 0 ? 31 : Integer.numberOfTrailingZeros(i);
+            int fits = 31 - Integer.numberOfLeadingZeros(to - i);
+            int level = Math.min(Math.min(alignment, fits), MIN_LEVEL + levels.size() - 1);
+            if (level < MIN_LEVEL) {
+                high = Math.max(high, columns.getHigh(i));
+                low = Math.min(low, columns.getLow(i));
+                volume += columns.getVolume(i);
+                i++;
+            } else {
+                Level groups = levels.get(level - MIN_LEVEL);
+                int group = i >> level;
+                high = Math.max(high, groups.highs[group]);
+                low = Math.min(low, groups.lows[group]);
+                volume += groups.volumes[group];
+                i += 1 << level;
+            }
+        }
+        result[0] = high;
+        result[1] = low;
+        result[2] = volume;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.data;
+
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * A ta4j time series that stores its ticks in {@link TickColumns}. Ticks are light views on a row of the columns,
+ * prices and times are only converted to Decimal and ZonedDateTime when they are requested. The columns can be
+ * shared with a {@link OHLCColumnDataset}, so the chart does not need a copy of the data.
+ * Like {@link org.ta4j.core.BaseTimeSeries#BaseTimeSeries(String, List)} the ticks have a time period of one day.
+ */
+public class ColumnarTimeSeries implements TimeSeries {
+
+    private static final long serialVersionUID = 1L;
+    private static final Duration TIME_PERIOD = Duration.ofDays(1);
+
+    private final String name;
+    private final TickColumns columns;
+    private int maximumTickCount = Integer.MAX_VALUE;
+    private int removedTicksCount = 0;
+
+    /**
+     * Constructor
+     * @param name the name of the series
+     * @param columns the ticks in ascending order, the series uses the columns without copying them
+     */
+    public ColumnarTimeSeries(String name, TickColumns columns){
+        this.name = name;
+        this.columns = columns;
+    }
+
+    /**
+     * @return the columns of this series, ticks added to the series are added to the columns
+     */
+    public TickColumns getColumns(){
+        return columns;
+    }
+
+    @Override
+    public String getName(){
+        return name;
+    }
+
+    @Override
+    public Tick getTick(int i){
+        if (i < 0 || i >= columns.size()) {
+            throw new IndexOutOfBoundsException("Tick " + i + " of " + columns.size());
+        }
+        // like the BaseTimeSeries, a removed tick is replaced by the first tick that was not removed
+        return new TickView(columns, Math.max(i, removedTicksCount));
+    }
+
+    @Override
+    public int getTickCount(){
+        return columns.size() - removedTicksCount;
+    }
+
+    @Override
+    public List<Tick> getTickData(){
+        return new AbstractList<Tick>() {
+            @Override
+            public Tick get(int index){
+                return getTick(removedTicksCount + index);
+            }
+
+            @Override
+            public int size(){
+                return getTickCount();
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex(){
+        return columns.size() == 0 ? -1 : removedTicksCount;
+    }
+
+    @Override
+    public int getEndIndex(){
+        return columns.size() - 1;
+    }
+
+    /**
+     * Limits the number of ticks that are visible to the indicators. Older ticks stay in the columns, they are
+     * only counted as removed.
+     * @param maximumTickCount the maximum number of ticks
+     */
+    @Override
+    public void setMaximumTickCount(int maximumTickCount){
+        if (maximumTickCount <= 0) {
+            throw new IllegalArgumentException("Maximum tick count must be strictly positive");
+        }
+        this.maximumTickCount = maximumTickCount;
+        removeExceedingTicks();
+    }
+
+    @Override
+    public int getMaximumTickCount(){
+        return maximumTickCount;
+    }
+
+    @Override
+    public int getRemovedTicksCount(){
+        return removedTicksCount;
+    }
+
+    @Override
+    public void addTick(Tick tick){
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot add null tick");
+        }
+        long endTime = tick.getEndTime().toInstant().toEpochMilli();
+        if (columns.size() > 0 && endTime <= columns.getEndTime(columns.size() - 1)) {
+            throw new IllegalArgumentException("Cannot add a tick with end time <= to series end time");
+        }
+        columns.add(endTime,
+                tick.getOpenPrice().toDouble(),
+                tick.getMaxPrice().toDouble(),
+                tick.getMinPrice().toDouble(),
+                tick.getClosePrice().toDouble(),
+                tick.getVolume().toDouble());
+        removeExceedingTicks();
+    }
+
+    private void removeExceedingTicks(){
+        int exceeding = getTickCount() - maximumTickCount;
+        if (exceeding > 0) {
+            removedTicksCount += exceeding;
+        }
+    }
+
+    /**
+     * Read only tick for one row of the columns
+     */
+    private static final class TickView implements Tick {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TickColumns columns;
+        private final int index;
+
+        TickView(TickColumns columns, int index){
+            this.columns = columns;
+            this.index = index;
+        }
+
+        @Override
+        public Decimal getOpenPrice(){
+            return Decimal.valueOf(columns.getOpen(index));
+        }
+
+        @Override
+        public Decimal getMinPrice(){
+            return Decimal.valueOf(columns.getLow(index));
+        }
+
+        @Override
+        public Decimal getMaxPrice(){
+            return Decimal.valueOf(columns.getHigh(index));
+        }
+
+        @Override
+        public Decimal getClosePrice(){
+            return Decimal.valueOf(columns.getClose(index));
+        }
+
+        @Override
+        public Decimal getVolume(){
+            return Decimal.valueOf(columns.getVolume(index));
+        }
+
+        @Override
+        public int getTrades(){
+            return 0;
+        }
+
+        @Override
+        public Decimal getAmount(){
+            return Decimal.ZERO;
+        }
+
+        @Override
+        public Duration getTimePeriod(){
+            return TIME_PERIOD;
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime(){
+            return getEndTime().minus(TIME_PERIOD);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime(){
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(columns.getEndTime(index)), columns.getZone());
+        }
+
+        @Override
+        public void addTrade(Decimal tradeVolume, Decimal tradePrice){
+            throw new UnsupportedOperationException("Ticks of a columnar series are read only");
+        }
+
+        @Override
+        public String toString(){
+            return String.format("{end time: %1s, close price: %2$f, open price: %3$f, min price: %4$f, max price: %5$f, volume: %6$f}",
+                    getEndTime().withZoneSameInstant(ZoneId.systemDefault()), columns.getClose(index),
+                    columns.getOpen(index), columns.getLow(index), columns.getHigh(index), columns.getVolume(index));
+        }
+    }
+}
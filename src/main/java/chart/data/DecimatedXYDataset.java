@@ -0,0 +1,339 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.RangeInfo;
+import org.jfree.data.general.DatasetChangeEvent;
+import org.jfree.data.general.DatasetChangeListener;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+import java.util.Arrays;
+
+/**
+ * Level of detail view of an XY dataset with ascending x values for line renderers. For the visible domain range
+ * and the data area of the plot ({@link #setView(double, double, double, double)}) only the items in the range are
+ * served, and if there are more than four items per pixel column only the first, the lowest, the highest and the
+ * last item of each column. A line through these items covers the same pixels as a line through all items, so
+ * the drawing cost depends on the plot width instead of the number of ticks.
+ * Renderers that draw a shape for each item need all items, for them the view only drops the items outside of
+ * the visible range. Gaps (NaN values) are kept. The bounds of the dataset ({@link DomainInfo}, {@link RangeInfo}) are the bounds of
+ * all items, so the auto range of the axes does not change.
+ */
+public class DecimatedXYDataset extends AbstractXYDataset implements ViewportDataset, DatasetChangeListener, DomainInfo,
+        RangeInfo {
+
+    private static final long serialVersionUID = 1L;
+    private static final int ITEMS_PER_PIXEL = 4;
+    private static final int MARGIN_PIXELS = 16; // items outside of the data area whose shapes can still be visible
+
+    private final XYDataset source;
+    private final boolean decimate;
+
+    // selected source items per series, null if all items are served; null for a series that serves the
+    // consecutive items from itemStarts
+    private int[][] items;
+    private int[] itemStarts;
+    private int[] itemCounts;
+
+    private double viewLower = Double.NaN;
+    private double viewUpper = Double.NaN;
+    private double viewX = Double.NaN;
+    private double viewWidth = Double.NaN;
+    private int viewSourceCount = -1;
+
+    // y bounds of all source items, extended when items are added
+    private int boundsItemCount;
+    private double minY = Double.POSITIVE_INFINITY;
+    private double maxY = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructor, the dataset serves all items until a view is set
+     * @param source the full dataset with ascending x values
+     * @param decimate true to serve only the extremes of each pixel column (lines only), false to serve all
+     *                 visible items (lines with shapes)
+     */
+    public DecimatedXYDataset(XYDataset source, boolean decimate){
+        this.source = source;
+        this.decimate = decimate;
+        source.addChangeListener(this);
+    }
+
+    public XYDataset getSource(){
+        return source;
+    }
+
+    /**
+     * Sets the view, the selection is only recomputed if the view or the number of source items changed
+     */
+    @Override
+    public void setView(double lower, double upper, double x, double width){
+        int sourceCount = source.getSeriesCount() == 0 ? 0 : source.getItemCount(0);
+        if (lower == viewLower && upper == viewUpper && x == viewX && width == viewWidth && sourceCount == viewSourceCount) {
+            return;
+        }
+        viewLower = lower;
+        viewUpper = upper;
+        viewX = x;
+        viewWidth = width;
+        viewSourceCount = sourceCount;
+        int seriesCount = source.getSeriesCount();
+        int[][] selected = new int[seriesCount][];
+        int[] starts = new int[seriesCount];
+        int[] counts = new int[seriesCount];
+        for (int series = 0; series < seriesCount; series++) {
+            selected[series] = select(series, lower, upper, x, Math.max(width, 1), starts, counts);
+        }
+        items = selected;
+        itemStarts = starts;
+        itemCounts = counts;
+    }
+
+    /**
+     * Stops listening to the source dataset
+     */
+    public void dispose(){
+        source.removeChangeListener(this);
+    }
+
+    /**
+     * Selects the items of a series for a view, including the last item before and the first item after the range
+     * so that the lines reach the border of the plot. The visible range is found by binary search, the items are
+     * only visited if they are decimated.
+     * @return the selected items, null if the consecutive items from starts[series] are served
+     */
+    private int[] select(int series, double lower, double upper, double x, double width, int[] starts, int[] counts){
+        int itemCount = source.getItemCount(series);
+        double margin = MARGIN_PIXELS * (upper - lower) / width;
+        int start = Math.max(0, lastIndexBefore(series, lower - margin, itemCount));
+        int end = Math.min(itemCount - 1, firstIndexAfter(series, upper + margin, itemCount));
+        int visible = end - start + 1;
+        int pixels = (int) Math.ceil(width) + 2 * MARGIN_PIXELS + 1;
+        if (!decimate || visible <= ITEMS_PER_PIXEL * pixels) {
+            starts[series] = start;
+            counts[series] = Math.max(visible, 0);
+            return null;
+        }
+
+        // items are grouped by the screen pixel column they are drawn in
+        double scale = width / (upper - lower);
+        int[] selected = new int[ITEMS_PER_PIXEL * (pixels + 2) + 16];
+        int count = 0;
+        int bucket = Integer.MIN_VALUE;
+        int first = -1, min = -1, max = -1, last = -1;
+        for (int i = start; i <= end; i++) {
+            double y = source.getYValue(series, i);
+            int b = (int) Math.floor(x + (source.getXValue(series, i) - lower) * scale);
+            if (b != bucket || Double.isNaN(y)) {
+                // close the run of the previous pixel column
+                if (count + 5 > selected.length) {
+                    selected = Arrays.copyOf(selected, selected.length * 2);
+                }
+                count = addRun(selected, count, first, min, max, last);
+                first = min = max = last = -1;
+                bucket = b;
+            }
+            if (Double.isNaN(y)) {
+                selected[count++] = i; // keeps the gap in the line
+                continue;
+            }
+            if (first < 0) {
+                first = min = max = i;
+            } else if (y < source.getYValue(series, min)) {
+                min = i;
+            } else if (y > source.getYValue(series, max)) {
+                max = i;
+            }
+            last = i;
+        }
+        if (count + 5 > selected.length) {
+            selected = Arrays.copyOf(selected, selected.length + 5);
+        }
+        count = addRun(selected, count, first, min, max, last);
+        counts[series] = count;
+        return selected;
+    }
+
+    /**
+     * Adds first, min, max and last of a run in ascending order without duplicates
+     */
+    private static int addRun(int[] selected, int count, int first, int min, int max, int last){
+        if (first < 0) {
+            return count;
+        }
+        int[] run = {first, Math.min(min, max), Math.max(min, max), last};
+        selected[count++] = first;
+        for (int i = 1; i < run.length; i++) {
+            if (run[i] != selected[count - 1]) {
+                selected[count++] = run[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the index of the last item with x < value, -1 if there is none
+     */
+    private int lastIndexBefore(int series, double value, int itemCount){
+        int low = 0;
+        int high = itemCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (source.getXValue(series, mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @return the index of the first item with x > value, itemCount if there is none
+     */
+    private int firstIndexAfter(int series, double value, int itemCount){
+        int low = 0;
+        int high = itemCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (source.getXValue(series, mid) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private int sourceItem(int series, int item){
+        if (items == null) {
+            return item;
+        }
+        int[] selected = items[series];
+        return selected == null ? itemStarts[series] + item : selected[item];
+    }
+
+    @Override
+    public void datasetChanged(DatasetChangeEvent event){
+        fireDatasetChanged(); // the selection is recomputed on the next setView
+    }
+
+    @Override
+    public int getSeriesCount(){
+        return source.getSeriesCount();
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series){
+        return source.getSeriesKey(series);
+    }
+
+    @Override
+    public DomainOrder getDomainOrder(){
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int series){
+        return items == null ? source.getItemCount(series) : itemCounts[series];
+    }
+
+    @Override
+    public Number getX(int series, int item){
+        return source.getX(series, sourceItem(series, item));
+    }
+
+    @Override
+    public double getXValue(int series, int item){
+        return source.getXValue(series, sourceItem(series, item));
+    }
+
+    @Override
+    public Number getY(int series, int item){
+        return source.getY(series, sourceItem(series, item));
+    }
+
+    @Override
+    public double getYValue(int series, int item){
+        return source.getYValue(series, sourceItem(series, item));
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval){
+        Range bounds = getDomainBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getLowerBound();
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval){
+        Range bounds = getDomainBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getUpperBound();
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval){
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        for (int series = 0; series < source.getSeriesCount(); series++) {
+            int itemCount = source.getItemCount(series);
+            if (itemCount > 0) {
+                lower = Math.min(lower, source.getXValue(series, 0));
+                upper = Math.max(upper, source.getXValue(series, itemCount - 1));
+            }
+        }
+        return lower > upper ? null : new Range(lower, upper);
+    }
+
+    @Override
+    public double getRangeLowerBound(boolean includeInterval){
+        Range bounds = getRangeBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getLowerBound();
+    }
+
+    @Override
+    public double getRangeUpperBound(boolean includeInterval){
+        Range bounds = getRangeBounds(includeInterval);
+        return bounds == null ? Double.NaN : bounds.getUpperBound();
+    }
+
+    @Override
+    public Range getRangeBounds(boolean includeInterval){
+        int itemCount = source.getSeriesCount() == 0 ? 0 : source.getItemCount(0);
+        if (itemCount < boundsItemCount) { // source was replaced, start again
+            boundsItemCount = 0;
+            minY = Double.POSITIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+        }
+        for (int series = 0; series < source.getSeriesCount(); series++) {
+            for (int item = boundsItemCount; item < source.getItemCount(series); item++) {
+                double y = source.getYValue(series, item);
+                if (!Double.isNaN(y)) {
+                    minY = Math.min(minY, y);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        boundsItemCount = itemCount;
+        return minY > maxY ? null : new Range(minY, maxY);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * XY dataset for the plot values of a chart indicator. The values are stored in one double array per series, the
+ * x values are read from the {@link TimeIndex} of the time series by item index.
+ * Values are written with {@link #setValue(int, int, double)} and become visible with {@link #setItemCount(int)},
+ * so a painting thread never sees an item without values.
+ */
+public class IndicatorDataset extends AbstractXYDataset {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TimeIndex timeIndex;
+    private final Comparable[] seriesKeys;
+    private volatile double[][] values;
+    private volatile int itemCount;
+
+    /**
+     * Constructor
+     * @param timeIndex the time index of the time series
+     * @param seriesKeys the names of the series
+     * @param initialCapacity the number of items that can be set before the arrays have to grow
+     */
+    public IndicatorDataset(TimeIndex timeIndex, List<? extends Comparable> seriesKeys, int initialCapacity){
+        this.timeIndex = timeIndex;
+        this.seriesKeys = seriesKeys.toArray(new Comparable[seriesKeys.size()]);
+        this.values = new double[this.seriesKeys.length][Math.max(initialCapacity, 16)];
+    }
+
+    public TimeIndex getTimeIndex(){
+        return timeIndex;
+    }
+
+    /**
+     * Sets a value of an item that is not yet visible (index >= {@link #getItemCount(int)}), the arrays grow if necessary
+     */
+    public void setValue(int series, int item, double value){
+        double[][] current = values;
+        if (item >= current[series].length) {
+            double[][] grown = new double[current.length][];
+            int capacity = Math.max(item + 1, current[series].length + (current[series].length >> 1));
+            for (int s = 0; s < current.length; s++) {
+                grown[s] = Arrays.copyOf(current[s], capacity);
+            }
+            values = grown;
+            current = grown;
+        }
+        current[series][item] = value;
+    }
+
+    /**
+     * Makes the items up to a count visible, listeners are not notified
+     * @param itemCount the number of items of each series
+     */
+    public void setItemCount(int itemCount){
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Notifies the plots that items were added
+     */
+    @Override
+    public void fireDatasetChanged(){
+        super.fireDatasetChanged();
+    }
+
+    @Override
+    public int getSeriesCount(){
+        return seriesKeys.length;
+    }
+
+    /**
+     * The x values are the end times of the ticks, so renderers can find the visible items by binary search
+     */
+    @Override
+    public DomainOrder getDomainOrder(){
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series){
+        return seriesKeys[series];
+    }
+
+    @Override
+    public int getItemCount(int series){
+        return itemCount;
+    }
+
+    @Override
+    public Number getX(int series, int item){
+        return timeIndex.getTime(item);
+    }
+
+    @Override
+    public double getXValue(int series, int item){
+        return timeIndex.getTime(item);
+    }
+
+    @Override
+    public Number getY(int series, int item){
+        return values[series][item];
+    }
+
+    @Override
+    public double getYValue(int series, int item){
+        return values[series][item];
+    }
+}
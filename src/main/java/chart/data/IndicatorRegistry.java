@@ -0,0 +1,210 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Canonicalises indicator nodes by their type and parameters, so that identical (sub) indicators are created and
+ * cached only once and shared by every indicator that needs them. Input indicators are part of the parameters and
+ * are compared by identity, so they have to be canonical nodes themselves.
+ * A node is shared if it is requested more than once or if it is the input of several nodes.
+ * Every request has to be {@link #release(Collection) released} when the requesting indicator is not used anymore,
+ * a node is removed when it has no users left. The requests of a thread can be recorded for that, see
+ * {@link #startRecording()}.
+ */
+public class IndicatorRegistry {
+
+    private static class Entry {
+        private final List<Object> key;
+        private final Object node;
+        private int requests = 1; // unreleased requests of the node
+        private int dependents; // registered nodes that use this node as input
+
+        private Entry(List<Object> key, Object node){
+            this.key = key;
+            this.node = node;
+        }
+
+        private boolean isShared(){
+            return requests > 1 || dependents > 1;
+        }
+    }
+
+    // in creation order, the inputs of a node are always created before the node
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<>();
+    private final Map<Object, Entry> entriesByNode = new IdentityHashMap<>();
+    private int requestCount;
+    private final ThreadLocal<List<Object>> recordedRequests = new ThreadLocal<>();
+
+    /**
+     * Returns the node for a type and parameters, the node is created if there is none yet
+     * @param type the type of the node
+     * @param factory creates the node, the inputs of the node have to be resolved before
+     * @param parameters the inputs and parameters that identify the node together with the type
+     * @return the canonical node
+     */
+    public synchronized <T> T get(Class<T> type, Supplier<? extends T> factory, Object... parameters){
+        List<Object> key = new ArrayList<>(parameters.length + 1);
+        key.add(type);
+        key.addAll(Arrays.asList(parameters));
+        requestCount++;
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.requests++;
+            record(entry.node);
+            return type.cast(entry.node);
+        }
+        T node = factory.get();
+        for (Object parameter : parameters) {
+            Entry input = entriesByNode.get(parameter);
+            if (input != null) {
+                input.dependents++;
+            }
+        }
+        entry = new Entry(key, node);
+        entries.put(key, entry);
+        entriesByNode.put(node, entry);
+        record(node);
+        return node;
+    }
+
+    private void record(Object node){
+        List<Object> recorded = recordedRequests.get();
+        if (recorded != null) {
+            recorded.add(node);
+        }
+    }
+
+    /**
+     * Starts recording the nodes that are requested by the calling thread, e.g. while an indicator is created
+     */
+    public void startRecording(){
+        recordedRequests.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording the requests of the calling thread
+     * @return the requested nodes since {@link #startRecording()}, once per request
+     */
+    public List<Object> stopRecording(){
+        List<Object> recorded = recordedRequests.get();
+        recordedRequests.remove();
+        return recorded == null ? Collections.emptyList() : recorded;
+    }
+
+    /**
+     * Releases requests, e.g. those recorded for an indicator that was replaced or removed. A node without users is
+     * removed from the registry and releases its inputs.
+     * @param nodes the requested nodes, once per request
+     */
+    public synchronized void release(Collection<?> nodes){
+        for (Object node : nodes) {
+            release(node);
+        }
+    }
+
+    private void release(Object node){
+        Entry entry = entriesByNode.get(node);
+        if (entry == null || entry.requests == 0) {
+            return;
+        }
+        entry.requests--;
+        requestCount--;
+        removeUnused(entry);
+    }
+
+    private void removeUnused(Entry entry){
+        if (entry.requests > 0 || entry.dependents > 0) {
+            return;
+        }
+        entries.remove(entry.key);
+        entriesByNode.remove(entry.node);
+        for (Object parameter : entry.key.subList(1, entry.key.size())) {
+            Entry input = entriesByNode.get(parameter);
+            if (input != null) {
+                input.dependents--;
+                removeUnused(input);
+            }
+        }
+    }
+
+    /**
+     * @return the number of registered nodes
+     */
+    public synchronized int getUniqueCount(){
+        return entries.size();
+    }
+
+    /**
+     * @return the number of nodes that are requested more than once or used as input by several nodes
+     */
+    public synchronized int getSharedCount(){
+        int shared = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.isShared()) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * @return the number of unreleased requests, with sharing this is usually more than the number of nodes
+     */
+    public synchronized int getRequestCount(){
+        return requestCount;
+    }
+
+    /**
+     * @return the shared nodes of a type in creation order (inputs before the nodes that use them)
+     */
+    public synchronized <T> List<T> getSharedNodes(Class<T> type){
+        List<T> nodes = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isShared() && type.isInstance(entry.node)) {
+                nodes.add(type.cast(entry.node));
+            }
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Removes all nodes and resets the counters
+     */
+    public synchronized void clear(){
+        entries.clear();
+        entriesByNode.clear();
+        requestCount = 0;
+    }
+
+    @Override
+    public synchronized String toString(){
+        return String.format("%d requested nodes, %d unique, %d shared (%d requests saved)",
+                requestCount, entries.size(), getSharedCount(), requestCount - entries.size());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.AbstractXYDataset;
+import org.jfree.data.xy.OHLCDataset;
+
+/**
+ * Open-High-Low-Close dataset that reads {@link TickColumns} directly. Ticks added to the columns become visible
+ * to the chart after {@link #fireDatasetChanged()}, so several new ticks can be published with one repaint.
+ */
+public class OHLCColumnDataset extends AbstractXYDataset implements OHLCDataset {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Comparable seriesKey;
+    private final TickColumns columns;
+
+    /**
+     * Constructor
+     * @param seriesKey the name of the series
+     * @param columns the tick data, is not copied
+     */
+    public OHLCColumnDataset(Comparable seriesKey, TickColumns columns){
+        this.seriesKey = seriesKey;
+        this.columns = columns;
+    }
+
+    public TickColumns getColumns(){
+        return columns;
+    }
+
+    /**
+     * Appends a tick without notifying listeners
+     */
+    public void add(long endTime, double open, double high, double low, double close, double volume){
+        columns.add(endTime, open, high, low, close, volume);
+    }
+
+    /**
+     * Notifies the plots that ticks were added
+     */
+    @Override
+    public void fireDatasetChanged(){
+        super.fireDatasetChanged();
+    }
+
+    @Override
+    public int getSeriesCount(){
+        return 1;
+    }
+
+    /**
+     * Ascending unless the columns are in descending order, so renderers can find the visible items by binary search
+     */
+    @Override
+    public DomainOrder getDomainOrder(){
+        return columns.isDescending() ? DomainOrder.DESCENDING : DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public Comparable getSeriesKey(int series){
+        return seriesKey;
+    }
+
+    @Override
+    public int getItemCount(int series){
+        return columns.size();
+    }
+
+    @Override
+    public Number getX(int series, int item){
+        return columns.getEndTime(item);
+    }
+
+    @Override
+    public double getXValue(int series, int item){
+        return columns.getEndTime(item);
+    }
+
+    @Override
+    public Number getY(int series, int item){
+        return columns.getClose(item);
+    }
+
+    @Override
+    public double getYValue(int series, int item){
+        return columns.getClose(item);
+    }
+
+    @Override
+    public Number getHigh(int series, int item){
+        return columns.getHigh(item);
+    }
+
+    @Override
+    public double getHighValue(int series, int item){
+        return columns.getHigh(item);
+    }
+
+    @Override
+    public Number getLow(int series, int item){
+        return columns.getLow(item);
+    }
+
+    @Override
+    public double getLowValue(int series, int item){
+        return columns.getLow(item);
+    }
+
+    @Override
+    public Number getOpen(int series, int item){
+        return columns.getOpen(item);
+    }
+
+    @Override
+    public double getOpenValue(int series, int item){
+        return columns.getOpen(item);
+    }
+
+    @Override
+    public Number getClose(int series, int item){
+        return columns.getClose(item);
+    }
+
+    @Override
+    public double getCloseValue(int series, int item){
+        return columns.getClose(item);
+    }
+
+    @Override
+    public Number getVolume(int series, int item){
+        return columns.getVolume(item);
+    }
+
+    @Override
+    public double getVolumeValue(int series, int item){
+        return columns.getVolume(item);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.data;
+
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Derives bars of higher timeframes from a finer time series in a single pass. A bar belongs to the bucket that
+ * contains its end time, buckets are counted from the open of the {@link TradingSession} (intraday buckets in elapsed
+ * time, so a local hour that repeats when the clocks are set back is not merged) and the last bucket of a session ends
+ * at the close. Daily bars cover one session, weekly bars all sessions from monday to sunday.
+ * Bars that end outside of the session are skipped.
+ */
+public class Resampler {
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private final TradingSession session;
+    private final ZoneRules rules;
+    private final int openSecond;
+    private final int sessionLength;
+
+    // offset of the source end times, valid until the next transition of the zone
+    private int offsetSeconds;
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidUntil = Long.MIN_VALUE;
+
+    // open and close of the current session as epoch seconds, intraday buckets are counted from the open instant
+    private long sessionDay = Long.MIN_VALUE;
+    private long sessionOpen;
+    private long sessionClose;
+
+    /**
+     * Constructor
+     * @param session the trading hours used for the bucket boundaries
+     */
+    public Resampler(TradingSession session){
+        this.session = session;
+        this.rules = session.getZone().getRules();
+        this.openSecond = session.getOpenSecond();
+        this.sessionLength = session.getLengthSeconds();
+    }
+
+    /**
+     * Builds all requested timeframes with one scan of the source
+     * @param source a series in ascending order, finer than all requested periods
+     * @param periods the timeframes to build
+     * @return a series for each requested period
+     */
+    public Map<BarPeriod, ColumnarTimeSeries> resample(TimeSeries source, BarPeriod... periods){
+        Bucket[] buckets = new Bucket[periods.length];
+        Map<BarPeriod, ColumnarTimeSeries> result = new EnumMap<>(BarPeriod.class);
+        for (int i = 0; i < periods.length; i++) {
+            buckets[i] = new Bucket(periods[i], new TickColumns(session.getZone(), expectedRows(source, periods[i])));
+            result.put(periods[i], new ColumnarTimeSeries(source.getName() + " " + periods[i], buckets[i].target));
+        }
+        if (source.getTickCount() == 0) {
+            return result;
+        }
+
+        TickColumns columns = source instanceof ColumnarTimeSeries ? ((ColumnarTimeSeries) source).getColumns() : null;
+        for (int index = source.getBeginIndex(); index <= source.getEndIndex(); index++) {
+            if (columns != null) {
+                add(buckets, columns.getEndTime(index), columns.getOpen(index), columns.getHigh(index),
+                        columns.getLow(index), columns.getClose(index), columns.getVolume(index));
+            } else {
+                Tick tick = source.getTick(index);
+                add(buckets, tick.getEndTime().toInstant().toEpochMilli(), tick.getOpenPrice().toDouble(),
+                        tick.getMaxPrice().toDouble(), tick.getMinPrice().toDouble(),
+                        tick.getClosePrice().toDouble(), tick.getVolume().toDouble());
+            }
+        }
+        for (Bucket bucket : buckets) {
+            bucket.flush();
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the number of bars of a period from the time span of the source, at most one bar per source tick
+     */
+    private int expectedRows(TimeSeries source, BarPeriod period){
+        int ticks = source.getTickCount();
+        if (ticks == 0) {
+            return 1;
+        }
+        long spanSeconds = Duration.between(source.getFirstTick().getEndTime(), source.getLastTick().getEndTime()).getSeconds();
+        long days = spanSeconds / SECONDS_PER_DAY + 2; // the first and the last session are partial
+        long rows;
+        switch (period) {
+            case DAY_1:
+                rows = days;
+                break;
+            case WEEK_1:
+                rows = days / 7 + 2;
+                break;
+            default:
+                rows = days * ((sessionLength + period.getSeconds() - 1) / period.getSeconds());
+        }
+        return (int) Math.max(1, Math.min(ticks, rows));
+    }
+
+    private void add(Bucket[] buckets, long endTime, double open, double high, double low, double close, double volume){
+        long localSeconds = Math.floorDiv(endTime, 1000L) + offsetSeconds(endTime);
+        // a bar that ends exactly at the open belongs to the previous session
+        long sessionSeconds = localSeconds - openSecond;
+        long tradingDay = Math.floorDiv(sessionSeconds - 1, SECONDS_PER_DAY);
+        long secondInSession = sessionSeconds - tradingDay * SECONDS_PER_DAY;
+        if (secondInSession > sessionLength) {
+            return;
+        }
+        if (tradingDay != sessionDay) {
+            long sessionStart = tradingDay * SECONDS_PER_DAY + openSecond;
+            sessionDay = tradingDay;
+            sessionOpen = toEpochSecond(sessionStart);
+            sessionClose = toEpochSecond(sessionStart + sessionLength);
+        }
+        for (Bucket bucket : buckets) {
+            long key;
+            long bucketEnd;
+            switch (bucket.period) {
+                case DAY_1:
+                    key = tradingDay;
+                    bucketEnd = sessionClose;
+                    break;
+                case WEEK_1:
+                    key = Math.floorDiv(tradingDay + 3, 7); // epoch day 0 is a thursday
+                    bucketEnd = sessionClose;
+                    break;
+                default:
+                    // by instant, the local hour that is repeated when the clocks are set back has its own buckets
+                    int length = bucket.period.getSeconds();
+                    long number = Math.floorDiv(Math.floorDiv(endTime, 1000L) - sessionOpen + length - 1, length);
+                    key = sessionOpen + number * length;
+                    bucketEnd = Math.min(key, sessionClose);
+            }
+            bucket.add(key, bucketEnd, open, high, low, close, volume);
+        }
+    }
+
+    private int offsetSeconds(long epochMilli){
+        if (epochMilli < offsetValidFrom || epochMilli >= offsetValidUntil) {
+            Instant instant = Instant.ofEpochMilli(epochMilli);
+            offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            offsetValidFrom = epochMilli;
+            offsetValidUntil = next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli();
+        }
+        return offsetSeconds;
+    }
+
+    private long toEpochSecond(long localSeconds){
+        ZoneOffset offset = rules.getOffset(LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC));
+        return localSeconds - offset.getTotalSeconds();
+    }
+
+    /**
+     * The bar of one period that is currently built
+     */
+    private final class Bucket {
+        private final BarPeriod period;
+        private final TickColumns target;
+        private long key = Long.MIN_VALUE;
+        private long endSecond; // epoch seconds
+        private double open, high, low, close, volume;
+
+        Bucket(BarPeriod period, TickColumns target){
+            this.period = period;
+            this.target = target;
+        }
+
+        void add(long key, long endSecond, double open, double high, double low, double close, double volume){
+            if (key != this.key) {
+                flush();
+                this.key = key;
+                this.open = open;
+                this.high = high;
+                this.low = low;
+                this.volume = 0;
+            } else {
+                this.high = Math.max(this.high, high);
+                this.low = Math.min(this.low, low);
+            }
+            this.endSecond = endSecond;
+            this.close = close;
+            this.volume += volume;
+        }
+
+        void flush(){
+            if (key != Long.MIN_VALUE) {
+                target.add(endSecond * 1000L, open, high, low, close, volume);
+            }
+        }
+    }
+}
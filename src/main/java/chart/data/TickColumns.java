@@ -0,0 +1,223 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.ta4j.core.BaseTick;
+import org.ta4j.core.Tick;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable primitive columns of tick data: the end time as epoch milliseconds and open, high, low, close and
+ * volume as doubles. Ticks are only created on demand.
+ */
+public class TickColumns implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final ZoneId zone;
+    private long[] endTimes;
+    private double[] opens;
+    private double[] highs;
+    private double[] lows;
+    private double[] closes;
+    private double[] volumes;
+    private int size;
+
+    /**
+     * Constructor
+     * @param zone the zone of the end times, used when ticks are created
+     */
+    public TickColumns(ZoneId zone){
+        this(zone, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     * @param zone the zone of the end times, used when ticks are created
+     * @param initialCapacity the number of ticks that can be added before the columns have to grow
+     */
+    public TickColumns(ZoneId zone, int initialCapacity){
+        this.zone = zone;
+        int capacity = Math.max(initialCapacity, 1);
+        this.endTimes = new long[capacity];
+        this.opens = new double[capacity];
+        this.highs = new double[capacity];
+        this.lows = new double[capacity];
+        this.closes = new double[capacity];
+        this.volumes = new double[capacity];
+    }
+
+    /**
+     * Constructor that uses the given arrays as columns without copying them
+     * @param zone the zone of the end times, used when ticks are created
+     * @param size the number of valid rows in the arrays
+     */
+    public TickColumns(ZoneId zone, long[] endTimes, double[] opens, double[] highs, double[] lows, double[] closes,
+                       double[] volumes, int size){
+        this.zone = zone;
+        this.endTimes = endTimes;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+        this.size = size;
+    }
+
+    /**
+     * Appends a tick to the columns
+     * @param endTime end time of the tick in epoch milliseconds
+     */
+    public void add(long endTime, double open, double high, double low, double close, double volume){
+        if (size == endTimes.length){
+            grow(size + (size >> 1) + 1);
+        }
+        endTimes[size] = endTime;
+        opens[size] = open;
+        highs[size] = high;
+        lows[size] = low;
+        closes[size] = close;
+        volumes[size] = volume;
+        size++;
+    }
+
+    private void grow(int capacity){
+        endTimes = Arrays.copyOf(endTimes, capacity);
+        opens = Arrays.copyOf(opens, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        closes = Arrays.copyOf(closes, capacity);
+        volumes = Arrays.copyOf(volumes, capacity);
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public ZoneId getZone(){
+        return zone;
+    }
+
+    public long getEndTime(int index){
+        return endTimes[index];
+    }
+
+    public double getOpen(int index){
+        return opens[index];
+    }
+
+    public double getHigh(int index){
+        return highs[index];
+    }
+
+    public double getLow(int index){
+        return lows[index];
+    }
+
+    public double getClose(int index){
+        return closes[index];
+    }
+
+    public double getVolume(int index){
+        return volumes[index];
+    }
+
+    // backing arrays, only the first size() entries are valid
+
+    public long[] getEndTimes(){
+        return endTimes;
+    }
+
+    public double[] getOpens(){
+        return opens;
+    }
+
+    public double[] getHighs(){
+        return highs;
+    }
+
+    public double[] getLows(){
+        return lows;
+    }
+
+    public double[] getCloses(){
+        return closes;
+    }
+
+    public double[] getVolumes(){
+        return volumes;
+    }
+
+    /**
+     * @return true if the first end time is after the last one
+     */
+    public boolean isDescending(){
+        return size > 1 && endTimes[0] > endTimes[size - 1];
+    }
+
+    /**
+     * Reverses the order of all ticks in place
+     */
+    public void reverse(){
+        for (int i = 0, j = size - 1; i < j; i++, j--){
+            long t = endTimes[i]; endTimes[i] = endTimes[j]; endTimes[j] = t;
+            swap(opens, i, j);
+            swap(highs, i, j);
+            swap(lows, i, j);
+            swap(closes, i, j);
+            swap(volumes, i, j);
+        }
+    }
+
+    private static void swap(double[] values, int i, int j){
+        double v = values[i];
+        values[i] = values[j];
+        values[j] = v;
+    }
+
+    /**
+     * Creates a ta4j tick for a row of the columns
+     * @param index the index of the row
+     * @return a new tick
+     */
+    public Tick getTick(int index){
+        ZonedDateTime endTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTimes[index]), zone);
+        return new BaseTick(endTime, opens[index], highs[index], lows[index], closes[index], volumes[index]);
+    }
+
+    /**
+     * @return a list with a ta4j tick for each row of the columns
+     */
+    public List<Tick> toTicks(){
+        List<Tick> ticks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            ticks.add(getTick(i));
+        }
+        return ticks;
+    }
+}
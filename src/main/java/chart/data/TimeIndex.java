@@ -0,0 +1,148 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.ta4j.core.TimeSeries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The end times of the ticks of a time series as epoch milliseconds in one append-only array. There is one index
+ * per series ({@link #of(TimeSeries)}) that is shared by all datasets of the series, so the datasets do not need
+ * time objects per item. The times of a {@link ColumnarTimeSeries} are read from its columns without a copy.
+ */
+public class TimeIndex {
+
+    private static final Map<TimeSeries, TimeIndex> indices = new WeakHashMap<>();
+
+    private final TickColumns columns;
+    private volatile long[] times;
+    private volatile int size;
+
+    private TimeIndex(TickColumns columns){
+        this.columns = columns;
+    }
+
+    private TimeIndex(int initialCapacity){
+        this.columns = null;
+        this.times = new long[Math.max(initialCapacity, 16)];
+    }
+
+    /**
+     * Returns the time index of a series, containing all ticks that are in the series at the moment
+     * @param series the time series
+     * @return the shared time index of the series
+     */
+    public static TimeIndex of(TimeSeries series){
+        TimeIndex index;
+        synchronized (indices) {
+            index = indices.get(series);
+            if (index == null) {
+                index = series instanceof ColumnarTimeSeries
+                        ? new TimeIndex(((ColumnarTimeSeries) series).getColumns())
+                        : new TimeIndex(series.getTickCount());
+                indices.put(series, index);
+            }
+        }
+        index.update(series);
+        return index;
+    }
+
+    /**
+     * Returns a time index that reads the end times of tick columns
+     * @param columns the tick data, is not copied
+     * @return a new index, ticks added to the columns are included without an update
+     */
+    public static TimeIndex of(TickColumns columns){
+        return new TimeIndex(columns);
+    }
+
+    /**
+     * Appends the end times of ticks that were added to the series
+     * @param series the series of this index
+     */
+    public synchronized void update(TimeSeries series){
+        if (columns != null) {
+            return;
+        }
+        int end = series.getEndIndex() + 1;
+        if (end <= size) {
+            return;
+        }
+        long[] target = times;
+        if (end > target.length) {
+            target = Arrays.copyOf(target, Math.max(end, target.length + (target.length >> 1)));
+        }
+        for (int i = size; i < end; i++) {
+            target[i] = series.getTick(i).getEndTime().toInstant().toEpochMilli();
+        }
+        times = target;
+        size = end; // published after the times
+    }
+
+    public int size(){
+        return columns != null ? columns.size() : size;
+    }
+
+    /**
+     * @param index the index of the tick
+     * @return the end time of the tick in epoch milliseconds
+     */
+    public long getTime(int index){
+        return columns != null ? columns.getEndTime(index) : times[index];
+    }
+
+    /**
+     * Binary search for the last tick that ends at or before a time
+     * @param time epoch milliseconds
+     * @return the index of the tick or -1 if all ticks end after the time
+     */
+    public int floorIndex(long time){
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (getTime(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Binary search for the tick with the end time closest to a time
+     * @param time epoch milliseconds
+     * @return the index of the tick or -1 if the index is empty
+     */
+    public int nearestIndex(long time){
+        int floor = floorIndex(time);
+        if (floor + 1 >= size()) {
+            return floor;
+        }
+        if (floor < 0 || getTime(floor + 1) - time < time - getTime(floor)) {
+            return floor + 1;
+        }
+        return floor;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.data;
+
+import org.ta4j.core.Order;
+import org.ta4j.core.Trade;
+import org.ta4j.core.TradingRecord;
+
+import java.util.List;
+
+/**
+ * The closed trades of a trading record in primitive arrays: tick index, end time of the tick and price of entry
+ * and exit, sorted by entry. The trades of one record do not overlap, so entries and exits are both ascending and
+ * the trades at a tick or in a time range are found by binary search.
+ */
+public class TradeIndex {
+
+    private final Order.OrderType entryType;
+    private final int[] entryIndices;
+    private final int[] exitIndices;
+    private final long[] entryTimes;
+    private final long[] exitTimes;
+    private final double[] entryPrices;
+    private final double[] exitPrices;
+
+    /**
+     * Constructor, copies the closed trades of the record
+     * @param record the trading record
+     * @param timeIndex the time index of the series the record was created for
+     */
+    public TradeIndex(TradingRecord record, TimeIndex timeIndex){
+        List<Trade> trades = record.getTrades();
+        int count = trades.size();
+        entryIndices = new int[count];
+        exitIndices = new int[count];
+        entryTimes = new long[count];
+        exitTimes = new long[count];
+        entryPrices = new double[count];
+        exitPrices = new double[count];
+        for (int i = 0; i < count; i++) {
+            Trade trade = trades.get(i);
+            entryIndices[i] = trade.getEntry().getIndex();
+            exitIndices[i] = trade.getExit().getIndex();
+            entryTimes[i] = timeIndex.getTime(entryIndices[i]);
+            exitTimes[i] = timeIndex.getTime(exitIndices[i]);
+            entryPrices[i] = trade.getEntry().getPrice().toDouble();
+            exitPrices[i] = trade.getExit().getPrice().toDouble();
+        }
+        entryType = count > 0 ? trades.get(0).getEntry().getType() : Order.OrderType.BUY;
+    }
+
+    public int size(){
+        return entryIndices.length;
+    }
+
+    /**
+     * @return the type of the entry orders, BUY for long and SELL for short trades
+     */
+    public Order.OrderType getEntryType(){
+        return entryType;
+    }
+
+    public int getEntryIndex(int trade){
+        return entryIndices[trade];
+    }
+
+    public int getExitIndex(int trade){
+        return exitIndices[trade];
+    }
+
+    /**
+     * @return the end time of the entry tick in epoch milliseconds
+     */
+    public long getEntryTime(int trade){
+        return entryTimes[trade];
+    }
+
+    /**
+     * @return the end time of the exit tick in epoch milliseconds
+     */
+    public long getExitTime(int trade){
+        return exitTimes[trade];
+    }
+
+    public double getEntryPrice(int trade){
+        return entryPrices[trade];
+    }
+
+    public double getExitPrice(int trade){
+        return exitPrices[trade];
+    }
+
+    /**
+     * Binary search for the trade that is open at a tick (from the entry to the exit tick)
+     * @param tickIndex the index of the tick
+     * @return the position of the trade in this index or -1 if no trade is open at the tick
+     */
+    public int findTrade(int tickIndex){
+        int low = 0;
+        int high = entryIndices.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (entryIndices[mid] <= tickIndex) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high >= 0 && exitIndices[high] >= tickIndex ? high : -1;
+    }
+
+    /**
+     * Binary search for the first trade that is not closed before a time
+     * @param time epoch milliseconds
+     * @return the position of the first trade with exit time >= time, {@link #size()} if there is none
+     */
+    public int firstTradeEndingAfter(double time){
+        int low = 0;
+        int high = exitTimes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (exitTimes[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Binary search for the last trade that is opened before or at a time
+     * @param time epoch milliseconds
+     * @return the position of the last trade with entry time <= time, -1 if there is none
+     */
+    public int lastTradeStartingBefore(double time){
+        int low = 0;
+        int high = entryTimes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (entryTimes[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.data;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * The daily trading hours of a market. Used by the {@link Resampler} to decide to which trading day and bucket a
+ * bar belongs. A session can span midnight (close before open), its trading day is the date of the open.
+ */
+public class TradingSession {
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+
+    /**
+     * Constructor
+     * @param zone the zone of the trading hours
+     * @param open start of the session
+     * @param close end of the session, equal to open for a 24 hour session
+     */
+    public TradingSession(ZoneId zone, LocalTime open, LocalTime close){
+        this.zone = zone;
+        this.open = open;
+        this.close = close;
+    }
+
+    /**
+     * @param zone the zone of the calendar days
+     * @return a 24 hour session from midnight to midnight, buckets are aligned to the clock
+     */
+    public static TradingSession allDay(ZoneId zone){
+        return new TradingSession(zone, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+    }
+
+    public ZoneId getZone(){
+        return zone;
+    }
+
+    public LocalTime getOpen(){
+        return open;
+    }
+
+    public LocalTime getClose(){
+        return close;
+    }
+
+    /**
+     * @return seconds after midnight of the open
+     */
+    int getOpenSecond(){
+        return open.toSecondOfDay();
+    }
+
+    /**
+     * @return length of the session in seconds, 1 to 86400
+     */
+    int getLengthSeconds(){
+        int length = Math.floorMod(close.toSecondOfDay() - open.toSecondOfDay(), SECONDS_PER_DAY);
+        return length == 0 ? SECONDS_PER_DAY : length;
+    }
+
+    @Override
+    public String toString(){
+        return open + "-" + close + " " + zone;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Aroon up or down like the ta4j AroonUpIndicator and AroonDownIndicator: the number of ticks since the most
+ * recent highest high (lowest low) of the last time frame + 1 ticks
+ */
+public class AroonIndicator extends FastIndicator {
+
+    private final int timeFrame;
+    private final MonotonicDeque deque;
+
+    /**
+     * @param prices the high prices for aroon up, the low prices for aroon down
+     * @param up true for aroon up
+     */
+    public AroonIndicator(FastIndicator prices, int timeFrame, boolean up){
+        super(prices.getTimeSeries());
+        this.timeFrame = timeFrame;
+        this.deque = new MonotonicDeque(prices, up);
+    }
+
+    @Override
+    protected double calculate(int index){
+        deque.push(index);
+        int ticksSince = index - deque.extremumIndex(Math.max(0, index - timeFrame));
+        return (double) (timeFrame - ticksSince) / timeFrame * 100;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Sum of the gains or of the losses between consecutive values of a moving window, like the ta4j
+ * CumulatedGainsIndicator and CumulatedLossesIndicator
+ */
+public class CumulatedChangeIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final int timeFrame;
+    private final boolean gains;
+    private final WindowSum sum = new WindowSum();
+
+    /**
+     * @param gains true for the sum of gains, false for the sum of losses
+     */
+    public CumulatedChangeIndicator(FastIndicator input, int timeFrame, boolean gains){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.timeFrame = timeFrame;
+        this.gains = gains;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (index >= 1) {
+            sum.add(change(index));
+        }
+        if (index - timeFrame >= 1) {
+            sum.remove(change(index - timeFrame));
+        }
+        return sum.get();
+    }
+
+    private double change(int index){
+        double difference = input.getValue(index) - input.getValue(index - 1);
+        if (gains) {
+            return difference > 0 ? difference : 0;
+        }
+        return difference < 0 ? -difference : 0;
+    }
+}
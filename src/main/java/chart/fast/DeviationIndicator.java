@@ -0,0 +1,56 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Mean absolute deviation or standard deviation of a moving window around its simple moving average, like the
+ * ta4j MeanDeviationIndicator and StandardDeviationIndicator. The deviations depend on the current average, so the
+ * window is summed up for each tick.
+ */
+public class DeviationIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final SMAIndicator sma;
+    private final int timeFrame;
+    private final boolean standard;
+
+    /**
+     * @param standard true for the standard deviation, false for the mean absolute deviation
+     */
+    public DeviationIndicator(FastIndicator input, SMAIndicator sma, int timeFrame, boolean standard){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.sma = sma;
+        this.timeFrame = timeFrame;
+        this.standard = standard;
+    }
+
+    @Override
+    protected double calculate(int index){
+        double average = sma.getValue(index);
+        int start = Math.max(0, index - timeFrame + 1);
+        double sum = 0;
+        for (int i = start; i <= index; i++) {
+            double deviation = input.getValue(i) - average;
+            sum += standard ? deviation * deviation : Math.abs(deviation);
+        }
+        double mean = sum / (index - start + 1);
+        return standard ? StrictMath.sqrt(mean) : mean;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import org.ta4j.core.TimeSeries;
+
+import java.util.Arrays;
+
+/**
+ * A double precision indicator for plotting. The values are computed strictly in ascending index order and stored
+ * in a primitive array, so an indicator can keep running state (sums, last value, min/max deques) between two
+ * indices. Computing the value for a new tick is as cheap as computing any other value and gives the same result
+ * as a full recomputation.
+ * Inputs are other fast indicators, the graph of indicators must not have cycles.
+ */
+public abstract class FastIndicator {
+
+    private final TimeSeries series;
+    private double[] values = new double[64];
+    private volatile int computed;
+
+    /**
+     * Constructor
+     * @param series the time series of the values
+     */
+    protected FastIndicator(TimeSeries series){
+        this.series = series;
+    }
+
+    public TimeSeries getTimeSeries(){
+        return series;
+    }
+
+    /**
+     * @param index the tick index
+     * @return the value of this indicator for the tick, all values up to the index are computed if necessary
+     */
+    public double getValue(int index){
+        if (index < computed) {
+            return values[index];
+        }
+        return computeUntil(index);
+    }
+
+    /**
+     * @return the number of values that are already computed
+     */
+    public int getComputedCount(){
+        return computed;
+    }
+
+    private synchronized double computeUntil(int index){
+        int next = computed;
+        if (index >= values.length) {
+            values = Arrays.copyOf(values, Math.max(index + 1, values.length + (values.length >> 1)));
+        }
+        while (next <= index) {
+            values[next] = calculate(next);
+            next++;
+            computed = next;
+        }
+        return values[index];
+    }
+
+    /**
+     * Computes the value for an index. Called exactly once per index in ascending order, starting with 0.
+     * @param index the tick index
+     * @return the value
+     */
+    protected abstract double calculate(int index);
+
+    /**
+     * Division like {@link org.ta4j.core.Decimal#dividedBy(org.ta4j.core.Decimal)}, NaN for a zero divisor
+     */
+    protected static double divide(double dividend, double divisor){
+        return divisor == 0 ? Double.NaN : dividend / divisor;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import chart.data.IndicatorRegistry;
+import chart.fast.PriceIndicator.Price;
+import org.ta4j.core.TimeSeries;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Creates the fast counterparts of the ta4j indicators used by the {@link chart.TaChartIndicatorBox} for one
+ * time series. The formulas follow ta4j (including the start values of the moving averages), the results differ
+ * only by the rounding of double arithmetic. Identical indicators (same type, inputs and parameters) are created
+ * once and shared via the {@link IndicatorRegistry}.
+ */
+public class FastIndicatorFactory {
+
+    private final TimeSeries series;
+    private final IndicatorRegistry registry;
+
+    public FastIndicatorFactory(TimeSeries series){
+        this(series, new IndicatorRegistry());
+    }
+
+    /**
+     * Constructor
+     * @param series the time series of the indicators
+     * @param registry the registry that canonicalises the created indicators
+     */
+    public FastIndicatorFactory(TimeSeries series, IndicatorRegistry registry){
+        this.series = series;
+        this.registry = registry;
+    }
+
+    public TimeSeries getTimeSeries(){
+        return series;
+    }
+
+    public IndicatorRegistry getRegistry(){
+        return registry;
+    }
+
+    private <T extends FastIndicator> T node(Class<T> type, Supplier<T> factory, Object... parameters){
+        return registry.get(type, factory, parameters);
+    }
+
+    /**
+     * A function of two indicators, the name identifies the function in the registry
+     */
+    private FastIndicator function(String name, FastIndicator first, FastIndicator second,
+                                   DoubleBinaryOperator function, Object... parameters){
+        Object[] key = new Object[parameters.length + 3];
+        key[0] = name;
+        key[1] = first;
+        key[2] = second;
+        System.arraycopy(parameters, 0, key, 3, parameters.length);
+        return node(FunctionIndicator.class, () -> new FunctionIndicator(first, second, function), key);
+    }
+
+    public FastIndicator price(Price price){
+        return node(PriceIndicator.class, () -> new PriceIndicator(series, price), series, price);
+    }
+
+    public FastIndicator close(){
+        return price(Price.CLOSE);
+    }
+
+    public SMAIndicator sma(FastIndicator input, int timeFrame){
+        return node(SMAIndicator.class, () -> new SMAIndicator(input, timeFrame), input, timeFrame);
+    }
+
+    public FastIndicator ema(FastIndicator input, int timeFrame){
+        SMAIndicator sma = sma(input, timeFrame);
+        return node(EMAIndicator.class, () -> new EMAIndicator(input, sma, timeFrame), input, timeFrame);
+    }
+
+    public FastIndicator wma(FastIndicator input, int timeFrame){
+        return node(WMAIndicator.class, () -> new WMAIndicator(input, timeFrame), input, timeFrame);
+    }
+
+    public FastIndicator zlema(FastIndicator input, int timeFrame){
+        SMAIndicator sma = sma(input, timeFrame);
+        return node(ZLEMAIndicator.class, () -> new ZLEMAIndicator(input, sma, timeFrame), input, timeFrame);
+    }
+
+    public FastIndicator hma(FastIndicator input, int timeFrame){
+        FastIndicator halfWma = wma(input, timeFrame / 2);
+        FastIndicator origWma = wma(input, timeFrame);
+        FastIndicator difference = function("hmaDifference", halfWma, origWma, (half, orig) -> half * 2 - orig);
+        return wma(difference, (int) Math.sqrt(timeFrame));
+    }
+
+    public FastIndicator tripleEma(FastIndicator input, int timeFrame){
+        FastIndicator ema = ema(input, timeFrame);
+        FastIndicator emaEma = ema(ema, timeFrame);
+        FastIndicator emaEmaEma = ema(emaEma, timeFrame);
+        FastIndicator difference = function("tripleEmaDifference", ema, emaEma, (e, ee) -> 3 * (e - ee));
+        return function("plus", difference, emaEmaEma, (d, eee) -> d + eee);
+    }
+
+    public FastIndicator macd(FastIndicator input, int shortTimeFrame, int longTimeFrame){
+        if (shortTimeFrame > longTimeFrame) {
+            throw new IllegalArgumentException("Long term period count must be greater than short term period count");
+        }
+        return function("minus", ema(input, shortTimeFrame), ema(input, longTimeFrame), (s, l) -> s - l);
+    }
+
+    public CumulatedChangeIndicator cumulatedGains(FastIndicator input, int timeFrame){
+        return node(CumulatedChangeIndicator.class, () -> new CumulatedChangeIndicator(input, timeFrame, true),
+                input, timeFrame, true);
+    }
+
+    public CumulatedChangeIndicator cumulatedLosses(FastIndicator input, int timeFrame){
+        return node(CumulatedChangeIndicator.class, () -> new CumulatedChangeIndicator(input, timeFrame, false),
+                input, timeFrame, false);
+    }
+
+    public FastIndicator rsi(FastIndicator input, int timeFrame){
+        CumulatedChangeIndicator gains = cumulatedGains(input, timeFrame);
+        CumulatedChangeIndicator losses = cumulatedLosses(input, timeFrame);
+        return node(RSIIndicator.class, () -> new RSIIndicator(gains, losses, timeFrame), gains, losses, timeFrame);
+    }
+
+    public FastIndicator cmo(FastIndicator input, int timeFrame){
+        return function("cmo", cumulatedGains(input, timeFrame), cumulatedLosses(input, timeFrame),
+                (gains, losses) -> FastIndicator.divide(gains - losses, gains + losses) * 100);
+    }
+
+    public DeviationIndicator standardDeviation(FastIndicator input, int timeFrame){
+        SMAIndicator sma = sma(input, timeFrame);
+        return node(DeviationIndicator.class, () -> new DeviationIndicator(input, sma, timeFrame, true),
+                input, timeFrame, true);
+    }
+
+    public DeviationIndicator meanDeviation(FastIndicator input, int timeFrame){
+        SMAIndicator sma = sma(input, timeFrame);
+        return node(DeviationIndicator.class, () -> new DeviationIndicator(input, sma, timeFrame, false),
+                input, timeFrame, false);
+    }
+
+    public FastIndicator cci(int timeFrame){
+        FastIndicator typicalPrice = price(Price.TYPICAL);
+        SMAIndicator sma = sma(typicalPrice, timeFrame);
+        DeviationIndicator meanDeviation = meanDeviation(typicalPrice, timeFrame);
+        return node(CCIIndicator.class, () -> new CCIIndicator(typicalPrice, sma, meanDeviation), typicalPrice, timeFrame);
+    }
+
+    /**
+     * @return middle + k * deviation
+     */
+    public FastIndicator upperBand(FastIndicator middle, FastIndicator deviation, double k){
+        return function("upperBand", middle, deviation, (m, d) -> m + d * k, k);
+    }
+
+    /**
+     * @return middle - k * deviation
+     */
+    public FastIndicator lowerBand(FastIndicator middle, FastIndicator deviation, double k){
+        return function("lowerBand", middle, deviation, (m, d) -> m - d * k, k);
+    }
+
+    public FastIndicator bandWidth(FastIndicator upper, FastIndicator middle, FastIndicator lower){
+        FastIndicator range = function("minus", upper, lower, (u, l) -> u - l);
+        return function("bandWidth", range, middle, (r, m) -> FastIndicator.divide(r, m) * 100);
+    }
+
+    public FastIndicator percentB(FastIndicator input, int timeFrame, double k){
+        FastIndicator middle = sma(input, timeFrame);
+        FastIndicator deviation = standardDeviation(input, timeFrame);
+        FastIndicator lower = lowerBand(middle, deviation, k);
+        FastIndicator range = function("minus", upperBand(middle, deviation, k), lower, (u, l) -> u - l);
+        FastIndicator distance = function("minus", input, lower, (v, l) -> v - l);
+        return function("divide", distance, range, FastIndicator::divide);
+    }
+
+    public FastIndicator tick(TickIndicator.Type type){
+        FastIndicator open = price(Price.OPEN);
+        FastIndicator high = price(Price.HIGH);
+        FastIndicator low = price(Price.LOW);
+        FastIndicator close = close();
+        return node(TickIndicator.class, () -> new TickIndicator(type, open, high, low, close), series, type);
+    }
+
+    public FastIndicator averageTrueRange(int timeFrame){
+        return recursive(tick(TickIndicator.Type.TRUE_RANGE), timeFrame, false);
+    }
+
+    public FastIndicator averageDirectionalMovementUp(int timeFrame){
+        return recursive(tick(TickIndicator.Type.DIRECTIONAL_MOVEMENT_UP), timeFrame, true);
+    }
+
+    public FastIndicator averageDirectionalMovementDown(int timeFrame){
+        return recursive(tick(TickIndicator.Type.DIRECTIONAL_MOVEMENT_DOWN), timeFrame, true);
+    }
+
+    private FastIndicator recursive(FastIndicator input, int timeFrame, boolean divideSeparately){
+        return node(RecursiveIndicator.class, () -> new RecursiveIndicator(input, timeFrame, divideSeparately),
+                input, timeFrame, divideSeparately);
+    }
+
+    public FastIndicator keltnerMiddle(int timeFrame){
+        return ema(price(Price.TYPICAL), timeFrame);
+    }
+
+    public FastIndicator keltnerUpper(FastIndicator middle, double ratio, int timeFrameATR){
+        return upperBand(middle, averageTrueRange(timeFrameATR), ratio);
+    }
+
+    public FastIndicator keltnerLower(FastIndicator middle, double ratio, int timeFrameATR){
+        return lowerBand(middle, averageTrueRange(timeFrameATR), ratio);
+    }
+
+    public ExtremumIndicator highest(FastIndicator input, int timeFrame){
+        return node(ExtremumIndicator.class, () -> new ExtremumIndicator(input, timeFrame, true), input, timeFrame, true);
+    }
+
+    public ExtremumIndicator lowest(FastIndicator input, int timeFrame){
+        return node(ExtremumIndicator.class, () -> new ExtremumIndicator(input, timeFrame, false), input, timeFrame, false);
+    }
+
+    public FastIndicator aroonUp(int timeFrame){
+        FastIndicator high = price(Price.HIGH);
+        return node(AroonIndicator.class, () -> new AroonIndicator(high, timeFrame, true), high, timeFrame, true);
+    }
+
+    public FastIndicator aroonDown(int timeFrame){
+        FastIndicator low = price(Price.LOW);
+        return node(AroonIndicator.class, () -> new AroonIndicator(low, timeFrame, false), low, timeFrame, false);
+    }
+
+    public FastIndicator vwap(int timeFrame){
+        FastIndicator typicalPrice = price(Price.TYPICAL);
+        FastIndicator volume = price(Price.VOLUME);
+        return node(VWAPIndicator.class, () -> new VWAPIndicator(typicalPrice, volume, timeFrame), series, timeFrame);
+    }
+
+    public FastIndicator volumeIndex(VolumeIndexIndicator.Type type){
+        FastIndicator close = close();
+        FastIndicator volume = price(Price.VOLUME);
+        return node(VolumeIndexIndicator.class, () -> new VolumeIndexIndicator(type, close, volume), series, type);
+    }
+
+    public FastIndicator trailingStopLoss(FastIndicator input, double distance){
+        return node(TrailingStopLossIndicator.class, () -> new TrailingStopLossIndicator(input, distance), input, distance);
+    }
+
+    public FastIndicator ulcerIndex(FastIndicator input, int timeFrame){
+        ExtremumIndicator highest = highest(input, timeFrame);
+        return node(UlcerIndexIndicator.class, () -> new UlcerIndexIndicator(input, highest, timeFrame), input, timeFrame);
+    }
+
+    public FastIndicator roc(FastIndicator input, int timeFrame){
+        return node(FastIndicator.class, () -> new FastIndicator(series) {
+            @Override
+            protected double calculate(int index){
+                double previous = input.getValue(Math.max(index - timeFrame, 0));
+                return divide(input.getValue(index) - previous, previous) * 100;
+            }
+        }, "roc", input, timeFrame);
+    }
+
+    public FastIndicator ravi(FastIndicator input, int shortTimeFrame, int longTimeFrame){
+        return function("ravi", sma(input, shortTimeFrame), sma(input, longTimeFrame),
+                (s, l) -> FastIndicator.divide(s - l, l) * 100);
+    }
+
+    public FastIndicator kama(FastIndicator input, int timeFrameEffectiveRatio, int timeFrameFast, int timeFrameSlow){
+        return node(KAMAIndicator.class,
+                () -> new KAMAIndicator(input, timeFrameEffectiveRatio, timeFrameFast, timeFrameSlow),
+                input, timeFrameEffectiveRatio, timeFrameFast, timeFrameSlow);
+    }
+
+    public FastIndicator fisher(FastIndicator input, int timeFrame, double alpha, double beta){
+        ExtremumIndicator periodHigh = highest(price(Price.HIGH), timeFrame);
+        ExtremumIndicator periodLow = lowest(price(Price.LOW), timeFrame);
+        return node(FisherIndicator.class, () -> new FisherIndicator(input, periodHigh, periodLow, alpha, beta),
+                input, timeFrame, alpha, beta);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Fisher transform like the ta4j FisherIndicator (including its use of the lowest low as divisor)
+ */
+public class FisherIndicator extends FastIndicator {
+
+    private static final double VALUE_MAX = 0.999;
+    private static final double VALUE_MIN = -0.999;
+
+    private final FastIndicator intermediate;
+
+    public FisherIndicator(FastIndicator price, ExtremumIndicator periodHigh, ExtremumIndicator periodLow,
+                           double alpha, double beta){
+        super(price.getTimeSeries());
+        this.intermediate = new FastIndicator(price.getTimeSeries()) {
+            @Override
+            protected double calculate(int index){
+                if (index <= 0) {
+                    return 0;
+                }
+                double low = periodLow.getValue(index);
+                double first = divide(price.getValue(index) - low, Math.min(periodHigh.getValue(index), low)) - 0.5;
+                double value = alpha * 2 * first + beta * getValue(index - 1);
+                if (value > VALUE_MAX) {
+                    return VALUE_MAX;
+                }
+                if (value < VALUE_MIN) {
+                    return VALUE_MIN;
+                }
+                return value;
+            }
+        };
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (index <= 0) {
+            return 0;
+        }
+        double value = intermediate.getValue(index);
+        double ext = StrictMath.log(divide(1 + value, 1 - value));
+        return (ext + getValue(index - 1)) / 2;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Stateless combination of the values of one or two indicators at the same index
+ */
+public class FunctionIndicator extends FastIndicator {
+
+    private final FastIndicator first;
+    private final FastIndicator second;
+    private final DoubleUnaryOperator unary;
+    private final DoubleBinaryOperator binary;
+
+    public FunctionIndicator(FastIndicator input, DoubleUnaryOperator function){
+        super(input.getTimeSeries());
+        this.first = input;
+        this.second = null;
+        this.unary = function;
+        this.binary = null;
+    }
+
+    public FunctionIndicator(FastIndicator first, FastIndicator second, DoubleBinaryOperator function){
+        super(first.getTimeSeries());
+        this.first = first;
+        this.second = second;
+        this.unary = null;
+        this.binary = function;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (binary != null) {
+            return binary.applyAsDouble(first.getValue(index), second.getValue(index));
+        }
+        return unary.applyAsDouble(first.getValue(index));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Kaufman adaptive moving average like the ta4j KAMAIndicator, the volatility is kept in a running sum
+ */
+public class KAMAIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final int timeFrameEffectiveRatio;
+    private final double fastest;
+    private final double slowest;
+    private final WindowSum volatility = new WindowSum();
+
+    public KAMAIndicator(FastIndicator input, int timeFrameEffectiveRatio, int timeFrameFast, int timeFrameSlow){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.timeFrameEffectiveRatio = timeFrameEffectiveRatio;
+        this.fastest = 2d / (timeFrameFast + 1);
+        this.slowest = 2d / (timeFrameSlow + 1);
+    }
+
+    @Override
+    protected double calculate(int index){
+        double price = input.getValue(index);
+        if (index >= 1) {
+            volatility.add(Math.abs(price - input.getValue(index - 1)));
+        }
+        int removed = index - timeFrameEffectiveRatio;
+        if (removed >= 1) {
+            volatility.remove(Math.abs(input.getValue(removed) - input.getValue(removed - 1)));
+        }
+        if (index < timeFrameEffectiveRatio) {
+            return price;
+        }
+        double change = Math.abs(price - input.getValue(index - timeFrameEffectiveRatio));
+        double efficiencyRatio = divide(change, volatility.get());
+        double smoothing = efficiencyRatio * (fastest - slowest) + slowest;
+        smoothing *= smoothing;
+        double previous = getValue(index - 1);
+        return previous + smoothing * (price - previous);
+    }
+}
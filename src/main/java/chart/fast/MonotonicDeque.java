@@ -0,0 +1,78 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import java.util.Arrays;
+
+/**
+ * Indices of the candidates for the highest (or lowest) value of a moving window. Each index is added and
+ * removed once, so the extremum of the window is found in amortized constant time.
+ */
+final class MonotonicDeque {
+
+    private final FastIndicator input;
+    private final boolean highest;
+    private int[] indices = new int[16];
+    private int head;
+    private int tail;
+
+    /**
+     * @param input the indicator of the values
+     * @param highest true for the highest value, false for the lowest value
+     */
+    MonotonicDeque(FastIndicator input, boolean highest){
+        this.input = input;
+        this.highest = highest;
+    }
+
+    /**
+     * Adds the next index, indices have to be added in ascending order
+     */
+    void push(int index){
+        double value = input.getValue(index);
+        while (tail > head && dominated(input.getValue(indices[tail - 1]), value)) {
+            tail--;
+        }
+        if (tail == indices.length) {
+            if (head > 0) {
+                System.arraycopy(indices, head, indices, 0, tail - head);
+                tail -= head;
+                head = 0;
+            } else {
+                indices = Arrays.copyOf(indices, indices.length * 2);
+            }
+        }
+        indices[tail++] = index;
+    }
+
+    /**
+     * @param windowStart the first index of the window
+     * @return the index of the most recent extremum in the window [windowStart, last added index]
+     */
+    int extremumIndex(int windowStart){
+        while (indices[head] < windowStart) {
+            head++;
+        }
+        return indices[head];
+    }
+
+    private boolean dominated(double old, double value){
+        return highest ? old <= value : old >= value;
+    }
+}
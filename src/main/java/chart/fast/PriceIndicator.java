@@ -0,0 +1,73 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import chart.data.ColumnarTimeSeries;
+import chart.data.TickColumns;
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+
+/**
+ * The prices and the volume of the ticks. Reads the columns of a {@link ColumnarTimeSeries} directly.
+ */
+public class PriceIndicator extends FastIndicator {
+
+    /**
+     * The value of a tick
+     */
+    public enum Price {
+        OPEN, HIGH, LOW, CLOSE, VOLUME, AMOUNT,
+        /** (high + low + close) / 3 */
+        TYPICAL
+    }
+
+    private final Price price;
+    private final TickColumns columns;
+
+    public PriceIndicator(TimeSeries series, Price price){
+        super(series);
+        this.price = price;
+        this.columns = series instanceof ColumnarTimeSeries ? ((ColumnarTimeSeries) series).getColumns() : null;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (columns != null) {
+            switch (price) {
+                case OPEN: return columns.getOpen(index);
+                case HIGH: return columns.getHigh(index);
+                case LOW: return columns.getLow(index);
+                case CLOSE: return columns.getClose(index);
+                case VOLUME: return columns.getVolume(index);
+                case AMOUNT: return 0; // not stored in the columns
+                default: return (columns.getHigh(index) + columns.getLow(index) + columns.getClose(index)) / 3;
+            }
+        }
+        Tick tick = getTimeSeries().getTick(index);
+        switch (price) {
+            case OPEN: return tick.getOpenPrice().toDouble();
+            case HIGH: return tick.getMaxPrice().toDouble();
+            case LOW: return tick.getMinPrice().toDouble();
+            case CLOSE: return tick.getClosePrice().toDouble();
+            case VOLUME: return tick.getVolume().toDouble();
+            case AMOUNT: return tick.getAmount().toDouble();
+            default: return (tick.getMaxPrice().toDouble() + tick.getMinPrice().toDouble() + tick.getClosePrice().toDouble()) / 3;
+        }
+    }
+}
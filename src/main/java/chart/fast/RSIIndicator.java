@@ -0,0 +1,50 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Relative strength index with simple average gains and losses like the ta4j RSIIndicator
+ */
+public class RSIIndicator extends FastIndicator {
+
+    private final CumulatedChangeIndicator gains;
+    private final CumulatedChangeIndicator losses;
+    private final int timeFrame;
+
+    public RSIIndicator(CumulatedChangeIndicator gains, CumulatedChangeIndicator losses, int timeFrame){
+        super(gains.getTimeSeries());
+        this.gains = gains;
+        this.losses = losses;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (index == 0) {
+            return 0;
+        }
+        int realTimeFrame = Math.min(timeFrame, index + 1);
+        double averageLoss = losses.getValue(index) / realTimeFrame;
+        if (averageLoss == 0) {
+            return 100;
+        }
+        double averageGain = gains.getValue(index) / realTimeFrame;
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+}
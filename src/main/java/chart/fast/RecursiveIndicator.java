@@ -0,0 +1,53 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Smoothing of an input with the previous value: value = (previous * (n - 1) + input) / n, like the ta4j
+ * AverageTrueRangeIndicator and AverageDirectionalMovementUp/DownIndicator. The first value is 1.
+ */
+public class RecursiveIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final int timeFrame;
+    private final boolean divideSeparately;
+
+    /**
+     * @param divideSeparately true to compute previous * (n - 1) / n + input / n (directional movement),
+     *                         false for (previous * (n - 1) + input) / n (average true range)
+     */
+    public RecursiveIndicator(FastIndicator input, int timeFrame, boolean divideSeparately){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.timeFrame = timeFrame;
+        this.divideSeparately = divideSeparately;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (index == 0) {
+            return 1;
+        }
+        double previous = getValue(index - 1);
+        if (divideSeparately) {
+            return divide(previous * (timeFrame - 1), timeFrame) + divide(input.getValue(index), timeFrame);
+        }
+        return divide(previous * (timeFrame - 1) + input.getValue(index), timeFrame);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Simple moving average with a running sum, same start values as the ta4j SMAIndicator (average of the
+ * available values)
+ */
+public class SMAIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final int timeFrame;
+    private final WindowSum sum = new WindowSum();
+
+    public SMAIndicator(FastIndicator input, int timeFrame){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected double calculate(int index){
+        sum.add(input.getValue(index));
+        if (index >= timeFrame) {
+            sum.remove(input.getValue(index - timeFrame));
+        }
+        return sum.get() / Math.min(timeFrame, index + 1);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+import org.ta4j.core.Decimal;
+
+/**
+ * Indicators that only depend on the prices of the current and the previous tick
+ */
+public class TickIndicator extends FastIndicator {
+
+    /**
+     * The ta4j indicator that is computed
+     */
+    public enum Type {
+        TRUE_RANGE, DIRECTIONAL_MOVEMENT_UP, DIRECTIONAL_MOVEMENT_DOWN, LOWER_SHADOW, UPPER_SHADOW, REAL_BODY
+    }
+
+    private final Type type;
+    private final FastIndicator open;
+    private final FastIndicator high;
+    private final FastIndicator low;
+    private final FastIndicator close;
+
+    public TickIndicator(Type type, FastIndicator open, FastIndicator high, FastIndicator low, FastIndicator close){
+        super(close.getTimeSeries());
+        this.type = type;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+    }
+
+    @Override
+    protected double calculate(int index){
+        switch (type) {
+            case TRUE_RANGE: {
+                double range = Math.abs(high.getValue(index) - low.getValue(index));
+                if (index == 0) {
+                    return range;
+                }
+                double previousClose = close.getValue(index - 1);
+                return Math.max(range, Math.max(Math.abs(high.getValue(index) - previousClose),
+                        Math.abs(previousClose - low.getValue(index))));
+            }
+            case DIRECTIONAL_MOVEMENT_UP: {
+                if (index == 0) {
+                    return 0;
+                }
+                double up = high.getValue(index) - high.getValue(index - 1);
+                double down = low.getValue(index - 1) - low.getValue(index);
+                int upVsDown = compareMovements(index, up, down);
+                if ((high.getValue(index) < high.getValue(index - 1) && low.getValue(index) > low.getValue(index - 1))
+                        || upVsDown == 0) {
+                    return 0;
+                }
+                return upVsDown > 0 ? up : 0;
+            }
+            case DIRECTIONAL_MOVEMENT_DOWN: {
+                if (index == 0) {
+                    return 0;
+                }
+                double up = high.getValue(index) - high.getValue(index - 1);
+                double down = low.getValue(index - 1) - low.getValue(index);
+                if ((high.getValue(index - 1) >= high.getValue(index) && low.getValue(index - 1) <= low.getValue(index))
+                        || compareMovements(index, up, down) >= 0) {
+                    return 0;
+                }
+                return down;
+            }
+            case LOWER_SHADOW: {
+                double o = open.getValue(index);
+                double c = close.getValue(index);
+                return (c > o ? o : c) - low.getValue(index);
+            }
+            case UPPER_SHADOW: {
+                double o = open.getValue(index);
+                double c = close.getValue(index);
+                return high.getValue(index) - (c > o ? c : o);
+            }
+            default:
+                return close.getValue(index) - open.getValue(index);
+        }
+    }
+
+    /**
+     * Compares the up and down movement like ta4j does. ta4j rounds the prices to 32 digits, so the differences of
+     * two movements that are (nearly) equal as doubles are compared with Decimals.
+     */
+    private int compareMovements(int index, double up, double down){
+        if (Math.abs(up - down) > 1e-9 * Math.max(Math.abs(up), Math.abs(down))) {
+            return up > down ? 1 : -1;
+        }
+        Decimal decimalUp = Decimal.valueOf(high.getValue(index)).minus(Decimal.valueOf(high.getValue(index - 1)));
+        Decimal decimalDown = Decimal.valueOf(low.getValue(index - 1)).minus(Decimal.valueOf(low.getValue(index)));
+        return decimalUp.compareTo(decimalDown);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Trailing stop loss like the ta4j TrailingStopLossIndicator without initial limit
+ */
+public class TrailingStopLossIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final double distance;
+    private double limit = Double.NaN;
+
+    public TrailingStopLossIndicator(FastIndicator input, double distance){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.distance = distance;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (Double.isNaN(limit)) {
+            limit = input.getValue(0) - distance;
+        }
+        double value = input.getValue(index);
+        if (value > limit + distance) {
+            limit = value - distance;
+        }
+        return limit;
+    }
+}
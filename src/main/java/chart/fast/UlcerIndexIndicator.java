@@ -0,0 +1,53 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Ulcer index like the ta4j UlcerIndexIndicator, the squared drawdowns are kept in a running sum
+ */
+public class UlcerIndexIndicator extends FastIndicator {
+
+    private final FastIndicator input;
+    private final ExtremumIndicator highest;
+    private final int timeFrame;
+    private final WindowSum squaredDrawdowns = new WindowSum();
+
+    public UlcerIndexIndicator(FastIndicator input, ExtremumIndicator highest, int timeFrame){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.highest = highest;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected double calculate(int index){
+        squaredDrawdowns.add(squaredDrawdown(index));
+        if (index >= timeFrame) {
+            squaredDrawdowns.remove(squaredDrawdown(index - timeFrame));
+        }
+        int observations = Math.min(timeFrame, index + 1);
+        return StrictMath.sqrt(squaredDrawdowns.get() / observations);
+    }
+
+    private double squaredDrawdown(int index){
+        double highestValue = highest.getValue(index);
+        double drawdown = divide(input.getValue(index) - highestValue, highestValue) * 100;
+        return drawdown * drawdown;
+    }
+}
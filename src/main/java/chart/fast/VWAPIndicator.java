@@ -0,0 +1,52 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Volume weighted average price of a moving window like the ta4j VWAPIndicator
+ */
+public class VWAPIndicator extends FastIndicator {
+
+    private final FastIndicator typicalPrice;
+    private final FastIndicator volume;
+    private final int timeFrame;
+    private final WindowSum priceVolume = new WindowSum();
+    private final WindowSum volumes = new WindowSum();
+
+    public VWAPIndicator(FastIndicator typicalPrice, FastIndicator volume, int timeFrame){
+        super(typicalPrice.getTimeSeries());
+        this.typicalPrice = typicalPrice;
+        this.volume = volume;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected double calculate(int index){
+        priceVolume.add(typicalPrice.getValue(index) * volume.getValue(index));
+        volumes.add(volume.getValue(index));
+        if (index >= timeFrame) {
+            priceVolume.remove(typicalPrice.getValue(index - timeFrame) * volume.getValue(index - timeFrame));
+            volumes.remove(volume.getValue(index - timeFrame));
+        }
+        if (index == 0) {
+            return typicalPrice.getValue(0);
+        }
+        return divide(priceVolume.get(), volumes.get());
+    }
+}
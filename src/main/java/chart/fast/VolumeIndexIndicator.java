@@ -0,0 +1,73 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Cumulative volume indicators like the ta4j OnBalanceVolumeIndicator, PVIIndicator and NVIIndicator
+ */
+public class VolumeIndexIndicator extends FastIndicator {
+
+    /**
+     * The ta4j indicator that is computed
+     */
+    public enum Type {
+        ON_BALANCE_VOLUME, POSITIVE_VOLUME_INDEX, NEGATIVE_VOLUME_INDEX
+    }
+
+    private final Type type;
+    private final FastIndicator close;
+    private final FastIndicator volume;
+
+    public VolumeIndexIndicator(Type type, FastIndicator close, FastIndicator volume){
+        super(close.getTimeSeries());
+        this.type = type;
+        this.close = close;
+        this.volume = volume;
+    }
+
+    @Override
+    protected double calculate(int index){
+        if (index == 0) {
+            return type == Type.ON_BALANCE_VOLUME ? 0 : 1000;
+        }
+        double previous = getValue(index - 1);
+        double previousClose = close.getValue(index - 1);
+        double currentClose = close.getValue(index);
+        switch (type) {
+            case ON_BALANCE_VOLUME:
+                if (previousClose > currentClose) {
+                    return previous - volume.getValue(index);
+                }
+                if (previousClose < currentClose) {
+                    return previous + volume.getValue(index);
+                }
+                return previous;
+            case POSITIVE_VOLUME_INDEX:
+                if (volume.getValue(index) > volume.getValue(index - 1)) {
+                    return previous + divide(currentClose - previousClose, previousClose) * previous;
+                }
+                return previous;
+            default:
+                if (volume.getValue(index) < volume.getValue(index - 1)) {
+                    return previous + divide(currentClose - previousClose, previousClose) * previous;
+                }
+                return previous;
+        }
+    }
+}
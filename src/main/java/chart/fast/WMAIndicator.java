@@ -0,0 +1,65 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Weighted moving average like the ta4j WMAIndicator. The weighted sum is updated with the sum of the window,
+ * both are summed up again every {@value #RESUM_INTERVAL} ticks to limit rounding drift.
+ */
+public class WMAIndicator extends FastIndicator {
+
+    private static final int RESUM_INTERVAL = 4096;
+
+    private final FastIndicator input;
+    private final int timeFrame;
+    private double weightedSum;
+    private double sum;
+
+    public WMAIndicator(FastIndicator input, int timeFrame){
+        super(input.getTimeSeries());
+        this.input = input;
+        this.timeFrame = timeFrame;
+    }
+
+    @Override
+    protected double calculate(int index){
+        double value = input.getValue(index);
+        if (index < timeFrame) {
+            weightedSum += (index + 1) * value;
+            sum += value;
+            if (index == 0) {
+                return value;
+            }
+            return weightedSum / ((index + 1) * (index + 2) / 2);
+        }
+        if (index % RESUM_INTERVAL == 0) {
+            weightedSum = 0;
+            sum = 0;
+            for (int i = 0; i < timeFrame; i++) {
+                double v = input.getValue(index - i);
+                weightedSum += (timeFrame - i) * v;
+                sum += v;
+            }
+        } else {
+            weightedSum += timeFrame * value - sum;
+            sum += value - input.getValue(index - timeFrame);
+        }
+        return weightedSum / (timeFrame * (timeFrame + 1) / 2);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.fast;
+
+/**
+ * Compensated running sum of the values in a moving window. The sum is exactly zero if all values in the window
+ * are zero, so "no gains" or "no volatility" checks behave like with exact arithmetic.
+ */
+final class WindowSum {
+
+    private double sum;
+    private double compensation;
+    private int nonZero;
+
+    void add(double value){
+        if (value != 0) {
+            nonZero++;
+            accumulate(value);
+        }
+    }
+
+    void remove(double value){
+        if (value != 0) {
+            nonZero--;
+            accumulate(-value);
+        }
+    }
+
+    double get(){
+        if (nonZero == 0) {
+            sum = 0;
+            compensation = 0;
+            return 0;
+        }
+        return sum + compensation;
+    }
+
+    // Neumaier summation
+    private void accumulate(double value){
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+}
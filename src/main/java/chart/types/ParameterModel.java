@@ -0,0 +1,328 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.types;
+
+import chart.types.IndicatorParameters.TaBoolean;
+import chart.types.IndicatorParameters.TaCategory;
+import chart.types.IndicatorParameters.TaChartType;
+import chart.types.IndicatorParameters.TaColor;
+import chart.types.IndicatorParameters.TaShape;
+import chart.types.IndicatorParameters.TaStroke;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In memory model of the indicator parameter xml file: indicator instances by key (identifier_id), each with its
+ * parameters by name. The values are parsed once according to their type attribute. Every parameter and instance
+ * keeps its DOM element, so changes can be written back to the document.
+ * Reads are lock free, changes have to be made by one thread at a time (see {@link chart.TaPropertiesManager}).
+ */
+public class ParameterModel {
+
+    private final Map<String, Instance> instances = new ConcurrentHashMap<>();
+    private final List<String> keys = new CopyOnWriteArrayList<>();
+    private final Map<String, String> descriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the model of a parsed parameter document
+     * @param doc the document, null for an empty model
+     * @return the model with all indicator instances of the document
+     */
+    public static ParameterModel of(Document doc){
+        ParameterModel model = new ParameterModel();
+        if (doc == null) {
+            return model;
+        }
+        NodeList indicators = doc.getElementsByTagName("indicator");
+        for (int i = 0; i < indicators.getLength(); i++){
+            Element indicator = (Element) indicators.item(i);
+            String identifier = indicator.getAttribute("identifier");
+            for (Node child = indicator.getFirstChild(); child != null; child = child.getNextSibling()){
+                if (child.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                if (child.getNodeName().equals("instance")) {
+                    model.add(new Instance(identifier, (Element) child));
+                } else if (child.getNodeName().equals("description") && !model.descriptions.containsKey(identifier)) {
+                    Node text = child.getFirstChild();
+                    model.descriptions.put(identifier, text == null ? "" : text.getNodeValue());
+                }
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Adds an instance to the model, e.g. after its element was added to the document
+     * @param instance the new instance
+     */
+    public void add(Instance instance){
+        if (instances.put(instance.getKey(), instance) == null) {
+            keys.add(instance.getKey());
+        }
+    }
+
+    /**
+     * @param key the key of the instance (identifier_id)
+     * @return the instance, null if there is none
+     */
+    public Instance getInstance(String key){
+        return instances.get(key);
+    }
+
+    /**
+     * @return the keys of all instances in document order
+     */
+    public List<String> getKeys(){
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * @param identifier the identifier of the indicator
+     * @return the description of the indicator, an empty string if there is none
+     */
+    public String getDescription(String identifier){
+        String description = descriptions.get(identifier);
+        return description == null ? "" : description;
+    }
+
+    /**
+     * Compares this model with a newer model of the same file
+     * @param newer the newer model
+     * @return the keys of the instances of the newer model that are new or have other parameters or another category
+     */
+    public List<String> getChangedKeys(ParameterModel newer){
+        List<String> changed = new ArrayList<>();
+        for (String key : newer.keys){
+            Instance instance = instances.get(key);
+            if (instance == null || !instance.hasSameParameters(newer.getInstance(key))) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Compares this model with a newer model of the same file
+     * @param newer the newer model
+     * @return the keys of the instances that are not in the newer model
+     */
+    public List<String> getRemovedKeys(ParameterModel newer){
+        List<String> removed = new ArrayList<>();
+        for (String key : keys){
+            if (newer.getInstance(key) == null) {
+                removed.add(key);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * The highest id of all instances of an indicator
+     * @param identifier the identifier of the indicator
+     * @return the highest id, 0 if there is no instance
+     */
+    public int getMaxId(String identifier){
+        int max = 0;
+        for (Instance instance : instances.values()){
+            if (instance.getIdentifier().equals(identifier)) {
+                try {
+                    max = Math.max(max, Integer.parseInt(instance.getId()));
+                } catch (NumberFormatException e) {
+                    // not a numeric id, can not collide with the next numeric id
+                }
+            }
+        }
+        return max;
+    }
+
+    /**
+     * An instance of an indicator, the instance element of the xml file
+     */
+    public static class Instance {
+
+        private final String identifier;
+        private final String id;
+        private final String key;
+        private final Element element;
+        private final TaCategory category;
+        private final Map<String, Parameter> parameters = new LinkedHashMap<>();
+
+        public Instance(String identifier, Element element){
+            this.identifier = identifier;
+            this.id = element.getAttribute("id");
+            this.key = identifier + "_" + id;
+            this.element = element;
+            String c = element.getAttribute("category");
+            this.category = c.equals("") ? TaCategory.DEFAULT : TaCategory.valueOf(c);
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()){
+                if (child.getNodeType() == Node.ELEMENT_NODE && child.getNodeName().equals("param")) {
+                    Parameter parameter = new Parameter((Element) child);
+                    parameters.putIfAbsent(parameter.getName(), parameter);
+                }
+            }
+        }
+
+        public String getIdentifier(){
+            return identifier;
+        }
+
+        public String getId(){
+            return id;
+        }
+
+        public String getKey(){
+            return key;
+        }
+
+        public Element getElement(){
+            return element;
+        }
+
+        public TaCategory getCategory(){
+            return category;
+        }
+
+        /**
+         * @param name the name of the parameter
+         * @return the parameter, null if there is none
+         */
+        public Parameter getParameter(String name){
+            return parameters.get(name);
+        }
+
+        /**
+         * @param other another instance
+         * @return true if the other instance has the same category and the same parameters with the same values
+         */
+        public boolean hasSameParameters(Instance other){
+            if (category != other.category || parameters.size() != other.parameters.size()) {
+                return false;
+            }
+            for (Parameter parameter : parameters.values()){
+                Parameter otherParameter = other.parameters.get(parameter.getName());
+                if (otherParameter == null || !parameter.getValue().equals(otherParameter.getValue())
+                        || !parameter.getType().equals(otherParameter.getType())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return all parameters in document order
+         */
+        public List<Parameter> getParameters(){
+            return new ArrayList<>(parameters.values());
+        }
+    }
+
+    /**
+     * A parameter of an indicator instance with its raw and parsed value
+     */
+    public static class Parameter {
+
+        private final String name;
+        private final String type;
+        private final Element element;
+        private volatile String value;
+        private volatile Object typedValue;
+
+        public Parameter(Element element){
+            this.name = element.getAttribute("name");
+            this.type = element.getAttribute("type");
+            this.element = element;
+            setValue(element.getTextContent());
+        }
+
+        public String getName(){
+            return name;
+        }
+
+        /**
+         * @return the type attribute of the parameter, an empty string if there is none
+         */
+        public String getType(){
+            return type;
+        }
+
+        public Element getElement(){
+            return element;
+        }
+
+        /**
+         * @return the value as in the xml file
+         */
+        public String getValue(){
+            return value;
+        }
+
+        /**
+         * @return the value parsed according to the type (Integer, Double, one of the enums of
+         * {@link IndicatorParameters}), the raw value for other types, null if the value could not be parsed
+         */
+        public Object getTypedValue(){
+            return typedValue;
+        }
+
+        /**
+         * Sets the value of the parameter (not of the DOM element)
+         * @param value the new value as in the xml file
+         */
+        public void setValue(String value){
+            this.typedValue = parse(type, value);
+            this.value = value;
+        }
+
+        private static Object parse(String type, String value){
+            try {
+                switch (type) {
+                    case "Integer":
+                        return Integer.valueOf(value.trim());
+                    case "Double":
+                        return Double.valueOf(value.trim());
+                    case "TaColor":
+                        return TaColor.valueOf(value);
+                    case "TaShape":
+                        return TaShape.valueOf(value);
+                    case "TaStroke":
+                        return TaStroke.valueOf(value);
+                    case "TaChartType":
+                        return TaChartType.valueOf(value);
+                    case "TaBoolean":
+                        return TaBoolean.valueOf(value);
+                    default:
+                        return value;
+                }
+            } catch (IllegalArgumentException e) { // also NumberFormatException
+                return null;
+            }
+        }
+    }
+}
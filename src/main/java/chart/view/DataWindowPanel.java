@@ -0,0 +1,158 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package chart.view;
+
+import chart.CrosshairValues;
+import chart.data.TradeIndex;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Side panel with the values of the bar under the crosshair: date, open, high, low, close and volume, the value
+ * of every visible series of the plotted indicators and the trades that are open at the bar. The values are read
+ * from a {@link CrosshairValues} lookup and the trades from {@link TradeIndex} arrays, nothing is computed when the
+ * mouse moves.
+ */
+public class DataWindowPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+    private static final String[] BAR_ROWS = {"Date", "Open", "High", "Low", "Close", "Volume"};
+
+    private final DataWindowModel model = new DataWindowModel();
+
+    public DataWindowPanel(){
+        super(new BorderLayout());
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setRowSelectionAllowed(false);
+        table.getTableHeader().setReorderingAllowed(false);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        setPreferredSize(new Dimension(260, 0));
+    }
+
+    /**
+     * Shows the values of a bar
+     * @param values the values of the bar under the crosshair, read until the next call
+     * @param trades the indices of the plotted trading records
+     */
+    public void setValues(CrosshairValues values, TradeIndex[] trades){
+        model.setValues(values, trades);
+    }
+
+    private static class DataWindowModel extends AbstractTableModel {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        private final Date date = new Date();
+        private final DecimalFormat priceFormat = new DecimalFormat("#,##0.00####");
+        private final DecimalFormat volumeFormat = new DecimalFormat("#,##0");
+
+        private CrosshairValues values;
+        // open trades at the bar: the trading record and the trade in its index
+        private TradeIndex[] tradeRecords = new TradeIndex[4];
+        private int[] tradePositions = new int[4];
+        private int tradeCount;
+
+        void setValues(CrosshairValues values, TradeIndex[] trades){
+            this.values = values;
+            tradeCount = 0;
+            if (values.isValid()) {
+                for (TradeIndex trade : trades) {
+                    int position = trade.findTrade(values.getIndex());
+                    if (position >= 0) {
+                        if (tradeCount == tradeRecords.length) {
+                            tradeRecords = Arrays.copyOf(tradeRecords, tradeCount * 2);
+                            tradePositions = Arrays.copyOf(tradePositions, tradeCount * 2);
+                        }
+                        tradeRecords[tradeCount] = trade;
+                        tradePositions[tradeCount++] = position;
+                    }
+                }
+            }
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount(){
+            if (values == null || !values.isValid()) {
+                return 0;
+            }
+            return BAR_ROWS.length + values.getIndicatorCount() + tradeCount;
+        }
+
+        @Override
+        public int getColumnCount(){
+            return 2;
+        }
+
+        @Override
+        public String getColumnName(int column){
+            return column == 0 ? "Name" : "Value";
+        }
+
+        @Override
+        public Object getValueAt(int row, int column){
+            if (row < BAR_ROWS.length) {
+                return column == 0 ? BAR_ROWS[row] : barValue(row);
+            }
+            row -= BAR_ROWS.length;
+            if (row < values.getIndicatorCount()) {
+                return column == 0 ? values.getIndicatorName(row) : format(values.getIndicatorValue(row));
+            }
+            row -= values.getIndicatorCount();
+            TradeIndex trade = tradeRecords[row];
+            int position = tradePositions[row];
+            if (column == 0) {
+                return "Trade";
+            }
+            return trade.getEntryType() + " " + format(trade.getEntryPrice(position)) + " -> "
+                    + trade.getEntryType().complementType() + " " + format(trade.getExitPrice(position));
+        }
+
+        private String barValue(int row){
+            switch (row) {
+                case 0:
+                    date.setTime(values.getTime());
+                    return dateFormat.format(date);
+                case 1:
+                    return format(values.getOpen());
+                case 2:
+                    return format(values.getHigh());
+                case 3:
+                    return format(values.getLow());
+                case 4:
+                    return format(values.getClose());
+                default:
+                    return volumeFormat.format(values.getVolume());
+            }
+        }
+
+        private String format(double value){
+            return Double.isNaN(value) ? "-" : priceFormat.format(value);
+        }
+    }
+}
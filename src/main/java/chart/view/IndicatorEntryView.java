@@ -18,18 +18,18 @@
 
 package chart.view;
 
+import chart.IndicatorBatch;
 import chart.TaChartIndicatorBox;
 import chart.TaPropertiesManager;
 import chart.types.IndicatorParameters;
 
 import javax.swing.*;
-import javax.xml.transform.TransformerException;
-import javax.xml.xpath.XPathException;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
@@ -44,6 +44,7 @@ public class IndicatorEntryView {
 
     private TaChartIndicatorBox indicatorBox;
     private TaPropertiesManager propertiesManager;
+    private TaChartMenuBar menuBar;
 
     /**
      * Uses a gui form to create an entry for a specific indicator
@@ -53,6 +54,7 @@ public class IndicatorEntryView {
     public IndicatorEntryView(String key, TaChartMenuBar menuBar, TaChartIndicatorBox indicatorBox){
         try {
             this.indicatorBox = indicatorBox;
+            this.menuBar = menuBar;
             this.propertiesManager = indicatorBox.getPropertiesManager();
             String[] keyPair = key.split("_");
             lbl_title.setText(String.format("<html>%s (%s)<br> %s</html>", keyPair[0], keyPair[1], propertiesManager.getDescription(key)));
@@ -81,7 +83,7 @@ public class IndicatorEntryView {
             btn_add.addActionListener(addButtonActionListener);
 
             btn_duplicate.addActionListener(new DuplicateButtonActionListener(key));
-        } catch (XPathException xe){
+        } catch (IllegalArgumentException xe){
             xe.printStackTrace();
             lbl_title.setText("Could not load from xml");
         }
@@ -131,30 +133,32 @@ public class IndicatorEntryView {
 
         @Override
         public void actionPerformed(ActionEvent e) {
+            // all values of the indicator are changed at once, the file is written in the background
+            Map<String,String> values = new LinkedHashMap<>();
             for(JComponent component: getComponentList()){
-                try {
-                    if (component instanceof JComboBox) {
-                        propertiesManager.setParameter(getKey(), component.getName(), ((JComboBox) component).getSelectedItem().toString());
-                    }
-                    if (component instanceof JTextField) {
-                        propertiesManager.setParameter(getKey(), component.getName(), ((JTextField) component).getText().toString());
-                    }
-                    if (component instanceof JSpinner) {
-                        propertiesManager.setParameter(getKey(), component.getName(), ((JSpinner) component).getValue().toString());
-                    }
-                    if (component instanceof JCheckBox) {
-                        String value = "TRUE";
-                        if (!((JCheckBox) component).isSelected()) {
-                            value = "FALSE";
-                        }
-                        propertiesManager.setParameter(getKey(), component.getName(), value);
+                if (component instanceof JComboBox) {
+                    values.put(component.getName(), ((JComboBox) component).getSelectedItem().toString());
+                }
+                if (component instanceof JTextField) {
+                    values.put(component.getName(), ((JTextField) component).getText().toString());
+                }
+                if (component instanceof JSpinner) {
+                    values.put(component.getName(), ((JSpinner) component).getValue().toString());
+                }
+                if (component instanceof JCheckBox) {
+                    String value = "TRUE";
+                    if (!((JCheckBox) component).isSelected()) {
+                        value = "FALSE";
                     }
-
-                } catch (Exception ed) {
-                    JOptionPane.showMessageDialog(component, ed.getMessage());
-                    ed.printStackTrace();
+                    values.put(component.getName(), value);
                 }
+            }
+            try {
+                propertiesManager.setParameters(getKey(), values);
                 JOptionPane.showMessageDialog(btn_add, "Saved!");
+            } catch (Exception ed) {
+                JOptionPane.showMessageDialog(btn_save, ed.getMessage());
+                ed.printStackTrace();
             }
         }
     }
@@ -167,12 +171,23 @@ public class IndicatorEntryView {
 
         @Override
         public void actionPerformed(ActionEvent e) {
-            try {
-                indicatorBox.reloadIndicator(getKey());
+            // the indicator is created and computed off the event dispatch thread and added when it is ready
+            menuBar.getComputeService().submit(getKey(), progress -> {
+                IndicatorBatch batch = indicatorBox.createIndicator(getKey());
+                try {
+                    if (!progress.isCancelled()) {
+                        batch.precomputeValues();
+                    }
+                } catch (RuntimeException ex) {
+                    indicatorBox.discard(batch);
+                    throw ex;
+                }
+                return batch; // a cancelled or replaced batch is discarded
+            }, batch -> {
+                indicatorBox.publish(batch);
                 JOptionPane.showMessageDialog(btn_add,String.format("Added as %s [%s]",getIdentifier(),getID()));
-            } catch (XPathException xpe){
-                JOptionPane.showMessageDialog(btn_add,"Could not add indicator: "+xpe.toString());
-            }
+            }, ex -> JOptionPane.showMessageDialog(btn_add,"Could not add indicator: "+ex.toString()),
+                    indicatorBox::discard);
 
         }
     }
@@ -188,10 +203,8 @@ public class IndicatorEntryView {
             try {
                 propertiesManager.duplicate(getKey());
                 JOptionPane.showMessageDialog(btn_save, "Duplicated! Please close and open again to see/add the duplicated Indicator");
-            } catch (XPathException xpe){
-                JOptionPane.showMessageDialog(btn_save, "Could not duplicate indicator: "+xpe.toString());
-            } catch (TransformerException e1) {
-                JOptionPane.showMessageDialog(btn_save, e1.getMessage());
+            } catch (IllegalArgumentException iae){
+                JOptionPane.showMessageDialog(btn_save, "Could not duplicate indicator: "+iae.toString());
             }
         }
     }
@@ -0,0 +1,155 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package chart.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Vertical list of indicator entries in a scroll pane, an entry is only created when its slot is scrolled into view.
+ * Until then the slot is empty and as large as the last created entry, so the scroll bar is about right. Created
+ * entries are kept.
+ */
+public class LazyEntryPanel extends JPanel implements Scrollable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int GAP = 15;
+    private static final int DEFAULT_ENTRY_WIDTH = 700;
+    private static final int DEFAULT_ENTRY_HEIGHT = 200;
+    private static final int MAX_VIEWPORT_HEIGHT = 700;
+
+    private final List<String> keys;
+    private final Function<String, JComponent> entryFactory;
+    private final JPanel[] slots;
+    private Dimension entrySize = new Dimension(DEFAULT_ENTRY_WIDTH, DEFAULT_ENTRY_HEIGHT);
+    private int createdEntries;
+
+    /**
+     * Constructor
+     * @param keys the keys of the indicator instances in display order
+     * @param entryFactory creates the entry for a key, called on the event dispatch thread
+     */
+    public LazyEntryPanel(List<String> keys, Function<String, JComponent> entryFactory){
+        this.keys = keys;
+        this.entryFactory = entryFactory;
+        this.slots = new JPanel[keys.size()];
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        for (int i = 0; i < slots.length; i++){
+            slots[i] = new JPanel(new BorderLayout());
+            slots[i].setPreferredSize(entrySize);
+            slots[i].setAlignmentX(LEFT_ALIGNMENT);
+            add(slots[i]);
+            if (i < slots.length - 1) {
+                add(Box.createVerticalStrut(GAP));
+            }
+        }
+    }
+
+    /**
+     * Creates a scroll pane for this panel that creates the entries that are scrolled into view
+     * @return the scroll pane
+     */
+    public JScrollPane createScrollPane(){
+        JScrollPane scrollPane = new JScrollPane(this);
+        JViewport viewport = scrollPane.getViewport();
+        viewport.addChangeListener(e -> createEntries(viewport.getViewRect()));
+        return scrollPane;
+    }
+
+    /**
+     * Creates the entries of all empty slots that intersect an area of this panel. The positions of the slots are
+     * computed from their preferred sizes, they are valid before the panel is laid out.
+     * @param area the visible area in coordinates of this panel
+     * @return the number of entries that were created
+     */
+    public int createEntries(Rectangle area){
+        int created = 0;
+        int y = 0;
+        for (int i = 0; i < slots.length && y < area.y + area.height; i++){
+            int height = slots[i].getPreferredSize().height;
+            if (y + height > area.y && slots[i].getComponentCount() == 0) {
+                createEntry(i);
+                created++;
+                height = slots[i].getPreferredSize().height;
+            }
+            y += height + GAP;
+        }
+        if (created > 0) {
+            revalidate();
+            repaint();
+        }
+        return created;
+    }
+
+    private void createEntry(int index){
+        JComponent entry = entryFactory.apply(keys.get(index));
+        JPanel slot = slots[index];
+        slot.add(entry, BorderLayout.CENTER);
+        slot.setPreferredSize(null);
+        createdEntries++;
+        Dimension size = entry.getPreferredSize();
+        if (size.height > 0 && !size.equals(entrySize)) { // better estimate for the empty slots
+            entrySize = new Dimension(size);
+            for (JPanel empty : slots){
+                if (empty.getComponentCount() == 0) {
+                    empty.setPreferredSize(entrySize);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of entries that were created so far
+     */
+    public int getCreatedEntries(){
+        return createdEntries;
+    }
+
+    public int getEntryCount(){
+        return slots.length;
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize(){
+        Dimension size = getPreferredSize();
+        return new Dimension(size.width, Math.min(size.height, MAX_VIEWPORT_HEIGHT));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction){
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction){
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth(){
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight(){
+        return false;
+    }
+}
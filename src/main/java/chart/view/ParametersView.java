@@ -27,34 +27,53 @@ import java.awt.*;
 import java.util.List;
 
 /**
- * View for the entries of the indicator setting
+ * View for the entries of the indicator setting. The tab of a category is created when it is selected for the first
+ * time and its entries when they are scrolled into view (see {@link LazyEntryPanel}), so the view opens immediately
+ * however many indicator instances the parameter file has.
  */
 public class ParametersView extends JFrame {
 
     private TaPropertiesManager taParameter;
+    private final TaChartIndicatorBox indicatorBox;
+    private final TaChartMenuBar menuBar;
+    private final JTabbedPane parametersPanel = new JTabbedPane();
+    private final boolean[] createdTabs;
 
     public ParametersView(TaChartIndicatorBox indicatorBox, TaChartMenuBar menuBar){
         super("Indicator Settings");
         this.taParameter = indicatorBox.getPropertiesManager();
+        this.indicatorBox = indicatorBox;
+        this.menuBar = menuBar;
 
-
-        JTabbedPane parametersPanel = new JTabbedPane();
-        for(IndicatorParameters.TaCategory c: IndicatorParameters.TaCategory.values()) { // create tab for each category
-            try {
-                List<String> keys = taParameter.getKeysForCategory(c);
-                JPanel tabCategory = new JPanel(new GridLayout(keys.size(),1,1,15));
-                for (String key: keys){ // add all indicator settings for this category
-                    IndicatorEntryView entryView = new IndicatorEntryView(key, menuBar, indicatorBox);
-                    tabCategory.add(entryView.getRootPanel());
-                }
-                JScrollPane scrollPane = new JScrollPane(tabCategory);
-                parametersPanel.addTab(c.toString(), scrollPane);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+        IndicatorParameters.TaCategory[] categories = IndicatorParameters.TaCategory.values();
+        createdTabs = new boolean[categories.length];
+        for(IndicatorParameters.TaCategory c: categories) { // create an empty tab for each category
+            parametersPanel.addTab(c.toString(), new JPanel());
         }
+        createTab(parametersPanel.getSelectedIndex());
+        parametersPanel.addChangeListener(e -> createTab(parametersPanel.getSelectedIndex()));
 
         setContentPane(parametersPanel);
         pack();
     }
+
+    /**
+     * Replaces the empty tab of a category with the scrollable list of its indicator entries
+     * @param index the index of the tab (and category)
+     */
+    private void createTab(int index){
+        if (index < 0 || createdTabs[index]) {
+            return;
+        }
+        createdTabs[index] = true;
+        IndicatorParameters.TaCategory c = IndicatorParameters.TaCategory.values()[index];
+        try {
+            List<String> keys = taParameter.getKeysForCategory(c);
+            LazyEntryPanel tabCategory = new LazyEntryPanel(keys,
+                    key -> new IndicatorEntryView(key, menuBar, indicatorBox).getRootPanel());
+            parametersPanel.setComponentAt(index, tabCategory.createScrollPane());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 }
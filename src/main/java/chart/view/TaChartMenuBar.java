@@ -18,6 +18,7 @@
 
 package chart.view;
 
+import chart.IndicatorComputeService;
 import chart.TaChart;
 import chart.TaChartIndicator;
 import chart.TaChartIndicatorBox;
@@ -47,6 +48,12 @@ public class TaChartMenuBar extends JMenuBar implements Observer{
         indicatorsMenu = new JMenu("Indicators");
         notifications.addActionListener(new NotificationsListener(indicatorBox, this));
         settingsMenu.add(notifications);
+        JCheckBoxMenuItem dataWindow = new JCheckBoxMenuItem("Data Window", taChart.isDataWindowVisible());
+        dataWindow.addActionListener(e -> taChart.setDataWindowVisible(dataWindow.isSelected()));
+        settingsMenu.add(dataWindow);
+        JCheckBoxMenuItem hotReload = new JCheckBoxMenuItem("Reload Parameters on File Change", taChart.isParameterHotReload());
+        hotReload.addActionListener(e -> taChart.setParameterHotReload(hotReload.isSelected()));
+        settingsMenu.add(hotReload);
         add(settingsMenu);
         add(indicatorsMenu);
         add(tradingMenu);
@@ -70,6 +77,7 @@ public class TaChartMenuBar extends JMenuBar implements Observer{
             Map.Entry<String, TaChartIndicator> indicatorEntry = it.next();
             TaChartIndicator ci = indicatorEntry.getValue();
             TaCheckBoxItem entry = new TaCheckBoxItem(ci.getGeneralName());
+            entry.setSelected(taChart.getPlotModel().isPlotted(indicatorEntry.getKey()));
 
             if (ci.isSubchart()) {
                 subPlotListener.setMenuEntry(entry,indicatorEntry.getKey());
@@ -93,6 +101,10 @@ public class TaChartMenuBar extends JMenuBar implements Observer{
         this.repaint();
     }
 
+    public IndicatorComputeService getComputeService(){
+        return taChart.getComputeService();
+    }
+
     //TODO: just remove/replace necessary elements
     @Override
     public void update(Observable o, Object arg) {
@@ -0,0 +1,207 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import org.ta4j.core.TimeSeries;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads several csv files (e.g. all symbols at daily, hourly and minute resolution) concurrently on a bounded
+ * fork join pool. Every file gets its own {@link LoadResult} with timing and row count, a failing file does not
+ * affect the other ones.
+ */
+public class BulkLoader {
+
+    /**
+     * The resolution of a csv file of this repository
+     */
+    public enum Timeframe {
+        MINUTE(MappedCsvParser.Format.INTRADAY),
+        HOURLY(MappedCsvParser.Format.INTRADAY),
+        DAILY(MappedCsvParser.Format.DAILY);
+
+        private final MappedCsvParser.Format format;
+
+        Timeframe(MappedCsvParser.Format format){
+            this.format = format;
+        }
+
+        public MappedCsvParser.Format getFormat(){
+            return format;
+        }
+    }
+
+    /**
+     * Describes one file that should be loaded
+     */
+    public static class LoadRequest {
+        private final File file;
+        private final String name;
+        private final Timeframe timeframe;
+
+        public LoadRequest(File file, String name, Timeframe timeframe){
+            this.file = file;
+            this.name = name;
+            this.timeframe = timeframe;
+        }
+
+        public File getFile(){
+            return file;
+        }
+
+        public String getName(){
+            return name;
+        }
+
+        public Timeframe getTimeframe(){
+            return timeframe;
+        }
+
+        @Override
+        public String toString(){
+            return String.format("%s (%s, %s)", name, timeframe, file.getName());
+        }
+    }
+
+    /**
+     * Outcome of loading one file: either the series or the failure, plus the load time
+     */
+    public static class LoadResult {
+        private final LoadRequest request;
+        private final TimeSeries series;
+        private final Exception failure;
+        private final long nanos;
+
+        private LoadResult(LoadRequest request, TimeSeries series, Exception failure, long nanos){
+            this.request = request;
+            this.series = series;
+            this.failure = failure;
+            this.nanos = nanos;
+        }
+
+        public LoadRequest getRequest(){
+            return request;
+        }
+
+        /**
+         * @return the loaded series or null if loading failed
+         */
+        public TimeSeries getSeries(){
+            return series;
+        }
+
+        /**
+         * @return the exception that caused the failure or null if the series was loaded
+         */
+        public Exception getFailure(){
+            return failure;
+        }
+
+        public boolean isSuccess(){
+            return failure == null;
+        }
+
+        public int getRowCount(){
+            return series == null ? 0 : series.getTickCount();
+        }
+
+        public long getLoadTimeMillis(){
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        @Override
+        public String toString(){
+            if (isSuccess()) {
+                return String.format("%s: %d rows in %d ms", request, getRowCount(), getLoadTimeMillis());
+            }
+            return String.format("%s: failed after %d ms (%s)", request, getLoadTimeMillis(), failure);
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor, uses one thread per available processor
+     */
+    public BulkLoader(){
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor
+     * @param parallelism the maximum number of files loaded at the same time
+     */
+    public BulkLoader(int parallelism){
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    /**
+     * Starts loading all requests. The futures never complete exceptionally, failures are reported
+     * in the {@link LoadResult}.
+     * @param requests the files to load
+     * @return a future for each request, in the order of the requests
+     */
+    public Map<LoadRequest, CompletableFuture<LoadResult>> loadAll(Collection<LoadRequest> requests){
+        Map<LoadRequest, CompletableFuture<LoadResult>> futures = new LinkedHashMap<>();
+        for (LoadRequest request : requests) {
+            futures.put(request, CompletableFuture.supplyAsync(() -> load(request), pool));
+        }
+        return futures;
+    }
+
+    /**
+     * Loads all requests and waits until every file is loaded or failed
+     * @param requests the files to load
+     * @return the results in the order of the requests
+     */
+    public List<LoadResult> loadAllAndWait(Collection<LoadRequest> requests){
+        List<LoadResult> results = new ArrayList<>();
+        for (CompletableFuture<LoadResult> future : loadAll(requests).values()) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Stops the worker threads after the running loads are finished
+     */
+    public void shutdown(){
+        pool.shutdown();
+    }
+
+    private static LoadResult load(LoadRequest request){
+        long start = System.nanoTime();
+        try {
+            TimeSeries series = Loader.loadTimeSeries(request.getFile(), request.getTimeframe().getFormat(), request.getName());
+            return new LoadResult(request, series, null, System.nanoTime() - start);
+        } catch (Exception e) {
+            return new LoadResult(request, null, e, System.nanoTime() - start);
+        }
+    }
+}
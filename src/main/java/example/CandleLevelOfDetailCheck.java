@@ -0,0 +1,174 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaPlotModel;
+import chart.data.AggregatedOHLCDataset;
+import chart.data.CandlePyramid;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.DateAxis;
+import org.jfree.chart.axis.NumberAxis;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.chart.renderer.xy.CandlestickRenderer;
+import org.jfree.data.Range;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.util.Random;
+
+/**
+ * Checks the merged candles of {@link CandlePyramid} against a plain loop over the ticks (also after ticks were
+ * appended) and prints the drawing times of the candlestick plot with all ticks and with the level of detail
+ * view of {@link AggregatedOHLCDataset} for several zoom levels. Run with -Xmx3g for the default of 1 million
+ * and 3 million random minute bars.
+ */
+public class CandleLevelOfDetailCheck {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int ROUNDS = 3;
+    private static final double[] ZOOMS = {1, 0.1, 0.01, 0.001, 0.0001};
+
+    public static void main(String[] args){
+        checkPyramid(100_003);
+        int[] sizes = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{1_000_000, 3_000_000};
+        for (int bars : sizes) {
+            benchmark(bars);
+        }
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars, long seed){
+        Random random = new Random(seed);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+
+    private static void checkPyramid(int bars){
+        TickColumns all = createColumns(bars, 7);
+        TickColumns columns = new TickColumns(all.getZone());
+        int initial = bars / 3;
+        for (int i = 0; i < initial; i++) {
+            columns.add(all.getEndTime(i), all.getOpen(i), all.getHigh(i), all.getLow(i), all.getClose(i), all.getVolume(i));
+        }
+        CandlePyramid pyramid = new CandlePyramid(columns);
+        for (int i = initial; i < bars; i++) { // appended like live ticks, the pyramid is updated on the next query
+            columns.add(all.getEndTime(i), all.getOpen(i), all.getHigh(i), all.getLow(i), all.getClose(i), all.getVolume(i));
+        }
+
+        Random random = new Random(11);
+        double[] result = new double[3];
+        int errors = 0;
+        int ranges = 20_000;
+        for (int r = 0; r < ranges; r++) {
+            int from = random.nextInt(bars);
+            int length = r % 2 == 0 ? 1 + random.nextInt(64) : 1 + random.nextInt(bars - from);
+            int to = Math.min(bars, from + length);
+            pyramid.aggregate(from, to, result);
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            for (int i = from; i < to; i++) {
+                high = Math.max(high, all.getHigh(i));
+                low = Math.min(low, all.getLow(i));
+                volume += all.getVolume(i);
+            }
+            if (high != result[0] || low != result[1] || volume != result[2]) {
+                errors++;
+            }
+        }
+
+        AggregatedOHLCDataset dataset = new AggregatedOHLCDataset(new OHLCColumnDataset("check", columns));
+        Range xRange = new Range(all.getEndTime(bars / 4), all.getEndTime(bars / 2));
+        Range bounds = dataset.getRangeBounds(null, xRange, true);
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        for (int i = bars / 4; i <= bars / 2; i++) {
+            high = Math.max(high, all.getHigh(i));
+            low = Math.min(low, all.getLow(i));
+        }
+        if (bounds.getLowerBound() != low || bounds.getUpperBound() != high) {
+            errors++;
+        }
+        System.out.println(String.format("pyramid check with %,d bars and %,d ranges: %d errors", bars, ranges + 1, errors));
+    }
+
+    private static void benchmark(int bars){
+        OHLCColumnDataset candles = new OHLCColumnDataset("random", createColumns(bars, 42));
+        TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+        JFreeChart levelOfDetail = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT, model.getCombinedPlot(), false);
+        JFreeChart full = new JFreeChart(null, JFreeChart.DEFAULT_TITLE_FONT, createFullPlot(candles), false);
+        AggregatedOHLCDataset view = (AggregatedOHLCDataset) model.getMainPlot().getDataset();
+
+        System.out.println(String.format("%,d bars", bars));
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        long first = candles.getColumns().getEndTime(0);
+        long last = candles.getColumns().getEndTime(bars - 1);
+        for (double zoom : ZOOMS) {
+            double upper = last;
+            double lower = last - (last - first) * zoom;
+            levelOfDetail.getXYPlot().getDomainAxis().setRange(lower, upper);
+            full.getXYPlot().getDomainAxis().setRange(lower, upper);
+            double fullMillis = drawMillis(full, image);
+            double levelOfDetailMillis = drawMillis(levelOfDetail, image);
+            System.out.println(String.format("  %7.2f%% visible: all ticks %8.1f ms, level of detail %6.1f ms (%s, %,d items)",
+                    zoom * 100, fullMillis, levelOfDetailMillis, view.isAggregated() ? "merged" : "ticks",
+                    view.getItemCount(0)));
+        }
+    }
+
+    /**
+     * The candlestick plot as it was drawn before, with all ticks
+     */
+    private static XYPlot createFullPlot(OHLCColumnDataset candles){
+        CandlestickRenderer renderer = new TaPlotModel.MyCandlestickRenderer();
+        renderer.setCandleWidth(2);
+        renderer.setDrawVolume(true);
+        NumberAxis numberAxis = new NumberAxis("Price");
+        numberAxis.setAutoRangeIncludesZero(false);
+        return new XYPlot(candles, new DateAxis("Date"), numberAxis, renderer);
+    }
+
+    private static double drawMillis(JFreeChart chart, BufferedImage image){
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            Graphics2D g2 = image.createGraphics();
+            long start = System.nanoTime();
+            chart.draw(g2, new Rectangle(0, 0, WIDTH, HEIGHT));
+            best = Math.min(best, System.nanoTime() - start);
+            g2.dispose();
+        }
+        return best / 1e6;
+    }
+}
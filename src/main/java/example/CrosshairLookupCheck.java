@@ -0,0 +1,149 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.CrosshairValues;
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaPlotModel;
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.ta4j.core.TimeSeries;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Checks {@link TaPlotModel#findValues(double, CrosshairValues)} against a linear search for the nearest bar and
+ * prints the time and the allocated bytes per lookup for the example minute data and 1 million random bars. The
+ * linear scan is what DatasetUtilities.findYValue did on the candle dataset before it had a domain order.
+ */
+public class CrosshairLookupCheck {
+
+    private static final int LOOKUPS = 20_000;
+
+    public static void main(String[] args){
+        ClassLoader cl = CrosshairLookupCheck.class.getClassLoader();
+        check(Loader.getMappedMinuteTimeSeries(cl.getResource("fb_minutes.csv").getFile(), "fb minutes"), Integer.MAX_VALUE);
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        check(new ColumnarTimeSeries(String.format("random %,d", bars), createColumns(bars)), 10);
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars){
+        Random random = new Random(42);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+
+    private static void check(TimeSeries series, int maxIndicators){
+        TickColumns columns = ((ColumnarTimeSeries) series).getColumns();
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+        Map<String, TaChartIndicator> overlays = new LinkedHashMap<>();
+        Map<String, TaChartIndicator> subPlots = new LinkedHashMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : new TreeMap<>(box.getChartIndicatorMap()).entrySet()) {
+            if (overlays.size() + subPlots.size() == maxIndicators) {
+                break;
+            }
+            (entry.getValue().isSubchart() ? subPlots : overlays).put(entry.getKey(), entry.getValue());
+        }
+        OHLCColumnDataset candles = new OHLCColumnDataset(series.getName(), columns);
+        TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+        model.setOverlays(overlays);
+        model.setSubPlots(subPlots);
+
+        Random random = new Random(5);
+        long first = columns.getEndTime(0);
+        long last = columns.getEndTime(columns.size() - 1);
+        double[] xs = new double[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            xs[i] = first - 60_000 + random.nextDouble() * (last - first + 120_000);
+        }
+
+        CrosshairValues values = new CrosshairValues();
+        int errors = 0;
+        for (int i = 0; i < 200; i++) {
+            model.findValues(xs[i], values);
+            int expected = linearNearest(columns, xs[i]);
+            if (Math.abs(columns.getEndTime(values.getIndex()) - xs[i]) != Math.abs(columns.getEndTime(expected) - xs[i])
+                    || values.getClose() != columns.getClose(values.getIndex())) {
+                errors++;
+            }
+        }
+        System.out.println(String.format("%s: %,d bars, %d indicator series at the crosshair, %d errors in 200 checks",
+                series.getName(), columns.size(), values.getIndicatorCount(), errors));
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int round = 0; round < 3; round++) {
+            long bytes = allocatedBytes(threads);
+            long start = System.nanoTime();
+            double sum = 0;
+            for (double x : xs) {
+                model.findValues(x, values);
+                sum += values.getClose();
+            }
+            long lookupNanos = System.nanoTime() - start;
+            long lookupBytes = allocatedBytes(threads) - bytes;
+
+            int scans = Math.max(1, LOOKUPS / 1000); // the linear scan is slow
+            start = System.nanoTime();
+            for (int i = 0; i < scans; i++) {
+                sum += columns.getClose(linearNearest(columns, xs[i]));
+            }
+            long scanNanos = System.nanoTime() - start;
+            System.out.println(String.format("findValues %8.2f us and %4.1f bytes per lookup, linear scan %9.2f us per lookup (%s)",
+                    lookupNanos / 1e3 / LOOKUPS, (double) lookupBytes / LOOKUPS, scanNanos / 1e3 / scans, sum > 0 ? "ok" : "-"));
+        }
+    }
+
+    private static int linearNearest(TickColumns columns, double x){
+        int best = 0;
+        for (int i = 1; i < columns.size(); i++) {
+            if (Math.abs(columns.getEndTime(i) - x) < Math.abs(columns.getEndTime(best) - x)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads){
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaChartPanel;
+import chart.TaChrosshairOverlay;
+import chart.TaPlotModel;
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.event.ChartProgressEvent;
+import org.jfree.chart.plot.Crosshair;
+import org.jfree.chart.plot.IntervalMarker;
+import org.jfree.chart.plot.ValueMarker;
+import org.jfree.chart.plot.XYPlot;
+import org.ta4j.core.TimeSeries;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Measures a crosshair move (entity lookup as done by the chart panel on mouse moves, crosshair update and paint
+ * of the panel) for an increasing number of overlays and trades, with a plain {@link ChartPanel} and with
+ * {@link TaChartPanel}. Counts how often the chart itself is drawn during the moves.
+ */
+public class CrosshairMoveBenchmark {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int MOVES = 200;
+
+    public static void main(String[] args){
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        TickColumns columns = createColumns(bars);
+        TimeSeries series = new ColumnarTimeSeries("crosshair", columns);
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+        Map<String, TaChartIndicator> all = new TreeMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : box.getChartIndicatorMap().entrySet()) {
+            if (!entry.getValue().isSubchart()) {
+                all.put(entry.getKey(), entry.getValue());
+            }
+        }
+        System.out.println(String.format("%,d bars, %dx%d pixels, %d moves", bars, WIDTH, HEIGHT, MOVES));
+        for (int overlays : new int[]{0, 4, all.size()}) {
+            for (int trades : new int[]{0, 500}) {
+                Map<String, TaChartIndicator> selected = new LinkedHashMap<>();
+                for (Map.Entry<String, TaChartIndicator> entry : all.entrySet()) {
+                    if (selected.size() < overlays) {
+                        selected.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                measure("ChartPanel  ", columns, selected, trades, false);
+                measure("TaChartPanel", columns, selected, trades, true);
+            }
+        }
+    }
+
+    private static void measure(String name, TickColumns columns, Map<String, TaChartIndicator> overlays, int trades,
+                                boolean taChartPanel){
+        TaPlotModel model = new TaPlotModel(new OHLCColumnDataset("crosshair", columns), Color.WHITE, Color.BLACK);
+        model.setOverlays(overlays);
+        XYPlot mainPlot = model.getMainPlot();
+        for (int i = 0; i < trades; i++) { // entry, exit and the interval between like TaChart.addTradingRecord
+            long entry = columns.getEndTime(columns.size() * i / trades);
+            long exit = columns.getEndTime(columns.size() * i / trades + 10);
+            mainPlot.addDomainMarker(new ValueMarker(entry));
+            mainPlot.addDomainMarker(new ValueMarker(exit));
+            mainPlot.addDomainMarker(new IntervalMarker(entry, exit, Color.GREEN));
+        }
+        JFreeChart chart = new JFreeChart("crosshair", model.getCombinedPlot());
+        int[] draws = {0};
+        chart.addProgressListener(event -> {
+            if (event.getType() == ChartProgressEvent.DRAWING_STARTED) {
+                draws[0]++;
+            }
+        });
+        ChartPanel panel = taChartPanel ? new TaChartPanel(chart) : new ChartPanel(chart);
+        TaChrosshairOverlay overlay = new TaChrosshairOverlay();
+        Crosshair xCrosshair = new Crosshair(Double.NaN);
+        Crosshair yCrosshair = new Crosshair(Double.NaN);
+        overlay.addDomainCrosshair(xCrosshair);
+        overlay.addRangeCrosshair(yCrosshair);
+        panel.addOverlay(overlay);
+        panel.setSize(WIDTH, HEIGHT);
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        long start = System.nanoTime();
+        panel.paint(g2);
+        long firstPaint = System.nanoTime() - start;
+        EntityCollection entities = panel.getChartRenderingInfo().getEntityCollection();
+        int drawsBefore = draws[0];
+
+        Random random = new Random(3);
+        long first = columns.getEndTime(0);
+        long last = columns.getEndTime(columns.size() - 1);
+        start = System.nanoTime();
+        for (int i = 0; i < MOVES; i++) {
+            int x = 100 + random.nextInt(WIDTH - 200);
+            int y = 100 + random.nextInt(HEIGHT - 200);
+            if (entities != null) {
+                entities.getEntity(x, y);
+            }
+            xCrosshair.setValue(first + (last - first) * (x - 100d) / (WIDTH - 200));
+            yCrosshair.setValue(100);
+            panel.paint(g2);
+        }
+        long moveNanos = System.nanoTime() - start;
+        g2.dispose();
+        System.out.println(String.format("%s %2d overlays %3d trades: first paint %7.1f ms, %,9d entities, %6.2f ms per move, %d chart draws during moves",
+                name, overlays.size(), trades, firstPaint / 1e6, entities == null ? 0 : entities.getEntityCount(),
+                moveNanos / 1e6 / MOVES, draws[0] - drawsBefore));
+        model.setOverlays(new LinkedHashMap<>());
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars){
+        Random random = new Random(42);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+}
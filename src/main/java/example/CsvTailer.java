@@ -0,0 +1,228 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.data.TickColumns;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a csv file that is appended to and parses only the new bytes. Complete new rows are handed to a
+ * {@link TickListener} on the watcher thread, an incomplete last row is kept until its line break arrives and a
+ * malformed row is reported and skipped.
+ */
+public class CsvTailer {
+
+    /**
+     * Receives the rows appended to the csv file
+     */
+    public interface TickListener {
+        /**
+         * Called on the watcher thread
+         * @param ticks the new rows in file order
+         */
+        void ticksAppended(TickColumns ticks);
+
+        /**
+         * Called on the watcher thread if the file could not be read or a row could not be parsed
+         * @param e the exception
+         */
+        default void tailFailed(IOException e){
+            e.printStackTrace();
+        }
+    }
+
+    private final File csv;
+    private final MappedCsvParser.Format format;
+    private final TickListener listener;
+    private ScheduledExecutorService executor;
+    private long offset;
+
+    /**
+     * Constructor, only rows appended after this call are reported
+     * @param csv the csv file
+     * @param format the layout of the rows
+     * @param listener the listener for new rows
+     */
+    public CsvTailer(File csv, MappedCsvParser.Format format, TickListener listener){
+        this.csv = csv;
+        this.format = format;
+        this.listener = listener;
+        this.offset = csv.length();
+    }
+
+    /**
+     * Constructor for a file that was loaded before, the rows after the last loaded row are reported (also the rows
+     * that were appended while the file was loaded)
+     * @param csv the csv file
+     * @param format the layout of the rows
+     * @param lastLoaded the end time of the last loaded row
+     * @param listener the listener for new rows
+     * @throws IOException if the file could not be read
+     */
+    public CsvTailer(File csv, MappedCsvParser.Format format, ZonedDateTime lastLoaded, TickListener listener) throws IOException {
+        this.csv = csv;
+        this.format = format;
+        this.listener = listener;
+        this.offset = findOffsetAfter(lastLoaded.toInstant().toEpochMilli());
+    }
+
+    /**
+     * Searches the end of the file backwards for the last row that ends at or before a time
+     * @return the offset behind this row, behind the header if there is none
+     */
+    private long findOffsetAfter(long endTime) throws IOException {
+        try (FileChannel channel = FileChannel.open(csv.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int window = 64 * 1024;
+            while (true) {
+                long start = Math.max(0, size - window);
+                ByteBuffer buffer = ByteBuffer.allocate((int) (size - start));
+                while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+                    // read until the buffer is full
+                }
+                buffer.flip();
+                int lineStart = start == 0 ? 0 : indexOfLineBreak(buffer, 0) + 1; // the first line may be cut
+                long found = -1;
+                long headerEnd = -1;
+                for (int end = indexOfLineBreak(buffer, lineStart); end >= 0; end = indexOfLineBreak(buffer, lineStart)) {
+                    TickColumns row = new TickColumns(format.getZone(), 1);
+                    try {
+                        MappedCsvParser.parseLines(slice(buffer, lineStart, end + 1), format, row);
+                    } catch (IOException e) {
+                        if (start == 0 && lineStart == 0) {
+                            headerEnd = end + 1;
+                        }
+                    }
+                    if (row.size() > 0 && row.getEndTime(0) <= endTime) {
+                        found = start + end + 1;
+                    }
+                    lineStart = end + 1;
+                }
+                if (found >= 0) {
+                    return found;
+                }
+                if (start == 0) {
+                    return Math.max(headerEnd, 0);
+                }
+                window *= 2;
+            }
+        }
+    }
+    /**
+     * Starts watching the file
+     * @param pollMillis interval between two checks of the file size
+     */
+    public synchronized void start(long pollMillis){
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "CsvTailer " + csv.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops watching the file
+     */
+    public synchronized void stop(){
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Reads and parses the bytes appended since the last call
+     */
+    void poll(){
+        try (FileChannel channel = FileChannel.open(csv.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) { // truncated or replaced, continue at the new end
+                offset = size;
+                return;
+            }
+            if (size == offset) {
+                return;
+            }
+            ByteBuffer appended = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, size - offset));
+            while (appended.hasRemaining() && channel.read(appended, offset + appended.position()) > 0) {
+                // read until the buffer is full
+            }
+            appended.flip();
+            TickColumns ticks = new TickColumns(format.getZone(), 64);
+            try {
+                offset += MappedCsvParser.parseLines(appended, format, ticks);
+            } catch (IOException e) {
+                ticks = new TickColumns(format.getZone(), 64);
+                offset += parseEachLine(appended, ticks);
+            }
+            if (ticks.size() > 0) {
+                listener.ticksAppended(ticks);
+            }
+        } catch (IOException e) {
+            listener.tailFailed(e);
+        }
+    }
+
+    /**
+     * Parses the complete lines of a buffer one by one, a malformed line is reported to the listener and skipped
+     * @return number of bytes consumed, the start of the first incomplete line
+     */
+    private int parseEachLine(ByteBuffer buffer, TickColumns target){
+        int lineStart = 0;
+        for (int end = indexOfLineBreak(buffer, 0); end >= 0; end = indexOfLineBreak(buffer, lineStart)) {
+            try {
+                MappedCsvParser.parseLines(slice(buffer, lineStart, end + 1), format, target);
+            } catch (IOException e) {
+                listener.tailFailed(new IOException("Skipped the row at byte " + (offset + lineStart) + " of " + csv, e));
+            }
+            lineStart = end + 1;
+        }
+        return lineStart;
+    }
+
+    private static int indexOfLineBreak(ByteBuffer buffer, int from){
+        for (int i = from; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int start, int end){
+        ByteBuffer line = buffer.duplicate();
+        line.limit(end);
+        line.position(start);
+        return line.slice();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import org.ta4j.core.TimeSeries;
+
+import java.util.Collection;
+
+/**
+ * Simulates toggling all indicators of the parameter file on and off in the menu and prints the dataset cache
+ * statistics of {@link TaChartIndicator}
+ */
+public class DataSetCacheExample {
+
+    private static final int TOGGLES = 20;
+
+    public static void main(String[] args){
+        ClassLoader cl = DataSetCacheExample.class.getClassLoader();
+        TimeSeries series = Loader.getMappedDailyTimeSeries(cl.getResource("fb_daily.csv"), "fb");
+
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+        Collection<TaChartIndicator> indicators = box.getChartIndicatorMap().values();
+
+        TaChartIndicator.resetDataSetCacheStatistics();
+        long start = System.nanoTime();
+        for (int i = 0; i < TOGGLES; i++){
+            for (TaChartIndicator indicator : indicators){
+                indicator.getDataSet();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.println(String.format("%d toggles of %d indicators in %.1f ms: %d cache hits, %d misses, %.1f ms saved",
+                TOGGLES, indicators.size(), nanos / 1e6, TaChartIndicator.getDataSetCacheHits(),
+                TaChartIndicator.getDataSetCacheMisses(), TaChartIndicator.getDataSetNanosSaved() / 1e6));
+    }
+}
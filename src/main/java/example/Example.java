@@ -49,7 +49,7 @@ public class Example {
         // get a time series
         ClassLoader cl = getClass().getClassLoader();
         URL file = cl.getResource("fb_daily.csv");
-        series = Loader.getDailyTimeSeries(file, "fb");
+        series = Loader.getMappedDailyTimeSeries(file, "fb");
 
         createChart();
 
@@ -71,6 +71,7 @@ public class Example {
         // initialize and add your individual indicators to chart
         TaChartIndicatorBox chartIndicatorBox = new TaChartIndicatorBox(series);
         //chartIndicatorBox.initAllIndicators(); // add all ta4j indicators from properties file to the box/menu
+        //chartIndicatorBox.initAllIndicatorsParallel(); // same, but creates the indicators on all processors
 
         XYLineAndShapeRenderer emaShortRenderer = new XYLineAndShapeRenderer(); // specify how the lines should be rendered
         emaShortRenderer.setSeriesShape(0, TaShape.NONE.getShape());
@@ -0,0 +1,116 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.TimeSeries;
+
+import java.util.Map;
+
+/**
+ * Compares the values of the fast double precision indicators with the ta4j indicators for all indicators of the
+ * parameter file and the example data. A value is equal if the relative error is below {@link #TOLERANCE}, NaN is
+ * only equal to NaN.
+ */
+public class FastIndicatorEquivalence {
+
+    private static final double TOLERANCE = 1e-6;
+    // values that differ only by this absolute error are equal (e.g. a sum of gains that should be zero)
+    private static final double ABSOLUTE_TOLERANCE = 1e-9;
+
+    public static void main(String[] args){
+        ClassLoader cl = FastIndicatorEquivalence.class.getClassLoader();
+        boolean allEqual = true;
+        for (String symbol : new String[]{"aapl", "msft", "fb", "coke", "blue"}) {
+            for (String file : new String[]{symbol + "_daily.csv", symbol + "_hourly.csv", symbol + "_minutes.csv"}) {
+                TimeSeries series;
+                if (file.endsWith("_daily.csv")) {
+                    series = Loader.getMappedDailyTimeSeries(cl.getResource(file), symbol);
+                } else if (file.endsWith("_hourly.csv")) {
+                    series = Loader.getMappedHourlyTimeSeries(cl.getResource(file).getFile(), symbol);
+                } else {
+                    series = Loader.getMappedMinuteTimeSeries(cl.getResource(file).getFile(), symbol);
+                }
+                allEqual &= compare(file, series);
+            }
+        }
+        System.out.println(allEqual ? "all indicators equal" : "DIFFERENCES FOUND");
+    }
+
+    private static boolean compare(String file, TimeSeries series){
+        TaChartIndicatorBox ta4jBox = new TaChartIndicatorBox(series);
+        ta4jBox.initAllIndicators();
+        TaChartIndicatorBox fastBox = new TaChartIndicatorBox(series);
+        fastBox.setFastEngine(true);
+        fastBox.initAllIndicators();
+
+        int ticks = series.getTickCount();
+        long ta4jNanos = 0;
+        long fastNanos = 0;
+        int differentIndicators = 0;
+        for (Map.Entry<String, TaChartIndicator> entry : ta4jBox.getChartIndicatorMap().entrySet()) {
+            TaChartIndicator expected = entry.getValue();
+            TaChartIndicator actual = fastBox.getChartIndicator(entry.getKey());
+            double maxError = 0;
+            int different = 0;
+            for (int index = 0; index < expected.getIndicatorsCount(); index++) {
+                Indicator<?> indicator = expected.getIndicator(index); // the chart indicators are Decimal indicators
+                double[] values = new double[ticks];
+                long start = System.nanoTime();
+                for (int i = 0; i < ticks; i++) {
+                    values[i] = ((Decimal) indicator.getValue(i)).toDouble();
+                }
+                ta4jNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < ticks; i++) {
+                    double value = actual.getPlotValue(index, i);
+                    double error = error(values[i], value);
+                    maxError = Math.max(maxError, error);
+                    if (error > TOLERANCE) {
+                        different++;
+                    }
+                }
+                fastNanos += System.nanoTime() - start;
+            }
+            if (different > 0) {
+                differentIndicators++;
+                System.out.println(String.format("  %-18s %-40s %,6d values differ, max relative error %.3g",
+                        file, entry.getKey(), different, maxError));
+            }
+        }
+        System.out.println(String.format("%-18s %,7d ticks %3d indicators, %d different  ta4j %,9.1f ms  fast %,7.1f ms",
+                file, ticks, ta4jBox.getChartIndicatorMap().size(), differentIndicators, ta4jNanos / 1e6, fastNanos / 1e6));
+        return differentIndicators == 0;
+    }
+
+    private static double error(double expected, double actual){
+        if (Double.isNaN(expected) || Double.isNaN(actual)) {
+            return Double.isNaN(expected) && Double.isNaN(actual) ? 0 : Double.POSITIVE_INFINITY;
+        }
+        double difference = Math.abs(expected - actual);
+        if (difference <= ABSOLUTE_TOLERANCE) {
+            return 0;
+        }
+        return difference / Math.max(Math.abs(expected), Math.abs(actual));
+    }
+}
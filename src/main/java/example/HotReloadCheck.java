@@ -0,0 +1,161 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.IndicatorBatch;
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaPropertiesManager;
+import chart.data.IndicatorDataset;
+import chart.types.Paths;
+import org.ta4j.core.TimeSeries;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a copy of the parameter file, changes one indicator in the file like an editor would and checks that only
+ * this indicator is created again: all other indicators must be the same objects with the same cached datasets.
+ * Also checks that a write of the properties manager itself is not reported as change and that a file with an invalid
+ * value is ignored without stopping the watcher, and that the indicator registry releases the replaced indicator.
+ */
+public class HotReloadCheck {
+
+    public static void main(String[] args) throws Exception {
+        ClassLoader cl = HotReloadCheck.class.getClassLoader();
+        Path dir = Files.createTempDirectory("parameters");
+        Path file = dir.resolve(Paths.PROPERTIES_FILE);
+        Files.copy(new File(cl.getResource(Paths.PROPERTIES_FILE).getFile()).toPath(), file, StandardCopyOption.REPLACE_EXISTING);
+        TimeSeries series = Loader.getMappedMinuteTimeSeries(cl.getResource("aapl_minutes.csv").getFile(), "aapl");
+
+        TaPropertiesManager manager = new TaPropertiesManager(file.toFile());
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series, manager);
+        long start = System.nanoTime();
+        box.initAllIndicators();
+        Map<String, TaChartIndicator> indicators = new HashMap<>(box.getChartIndicatorMap());
+        Map<String, IndicatorDataset> dataSets = new HashMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : indicators.entrySet()) {
+            dataSets.put(entry.getKey(), entry.getValue().getDataSet());
+        }
+        long initNanos = System.nanoTime() - start;
+
+        // like the chart, but on the watcher thread
+        List<String> reloaded = Collections.synchronizedList(new ArrayList<>());
+        long[] reloadNanos = new long[1];
+        CountDownLatch changed = new CountDownLatch(1);
+        manager.addParametersListener((changedKeys, removedKeys) -> {
+            long reloadStart = System.nanoTime();
+            for (String key : changedKeys) {
+                try {
+                    IndicatorBatch batch = box.createIndicator(key);
+                    batch.precomputeValues();
+                    for (TaChartIndicator indicator : batch.getIndicators().values()) {
+                        indicator.getDataSet();
+                    }
+                    box.publish(batch);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            reloadNanos[0] = System.nanoTime() - reloadStart;
+            reloaded.addAll(changedKeys);
+            changed.countDown();
+        });
+        manager.startWatching();
+
+        // a write of the manager itself
+        manager.setParameter("SMAIndicator_2", "Color", "GREEN");
+        manager.flush();
+        Thread.sleep(1000);
+        int errors = 0;
+        if (!reloaded.isEmpty()) {
+            System.out.println("own write reported as change: " + reloaded);
+            errors++;
+        }
+
+        // a mistyped category is rejected, the current model is kept and the file is still watched
+        String xml = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Files.write(file, xml.replaceFirst("category=\"DEFAULT\"", "category=\"DEFAULTS\"").getBytes(StandardCharsets.UTF_8));
+        Thread.sleep(1000);
+        if (!reloaded.isEmpty() || !manager.isWatching() || manager.getCategory("EMAIndicator_1") == null) {
+            System.out.println("invalid category not ignored: " + reloaded);
+            errors++;
+        }
+
+        // an editor changes the time frame of the first EMA
+        String emaTimeFrame = "<param name=\"Time Frame\" type=\"Integer\">20</param>";
+        int ema = xml.indexOf(emaTimeFrame, xml.indexOf("identifier=\"EMAIndicator\""));
+        xml = xml.substring(0, ema) + emaTimeFrame.replace("20", "25") + xml.substring(ema + emaTimeFrame.length());
+        long edit = System.nanoTime();
+        Files.write(file, xml.getBytes(StandardCharsets.UTF_8));
+        if (!changed.await(10, TimeUnit.SECONDS)) {
+            System.out.println("no change reported");
+            errors++;
+        }
+        long latencyNanos = System.nanoTime() - edit;
+        manager.stopWatching();
+
+        if (!reloaded.equals(Collections.singletonList("EMAIndicator_1"))) {
+            System.out.println("reloaded " + reloaded);
+            errors++;
+        }
+        // the replaced indicator is released, the registry holds what a new box holds for the edited file
+        TaChartIndicatorBox newBox = new TaChartIndicatorBox(series, manager);
+        newBox.initAllIndicators();
+        if (box.getIndicatorRegistry().getUniqueCount() != newBox.getIndicatorRegistry().getUniqueCount()) {
+            System.out.println("registry not released: " + box.getIndicatorRegistry() + ", new box: " + newBox.getIndicatorRegistry());
+            errors++;
+        }
+        int kept = 0;
+        for (Map.Entry<String, TaChartIndicator> entry : indicators.entrySet()) {
+            String key = entry.getKey();
+            TaChartIndicator current = box.getChartIndicator(key);
+            if (key.equals("EMAIndicator_1")) {
+                if (current == entry.getValue() || !current.getGeneralName().contains("25")) {
+                    System.out.println("EMAIndicator_1 not reloaded: " + current.getGeneralName());
+                    errors++;
+                }
+            } else if (current != entry.getValue() || current.getDataSet() != dataSets.get(key)) {
+                System.out.println(key + " was created again");
+                errors++;
+            } else {
+                kept++;
+            }
+        }
+
+        System.out.println(String.format("%,d ticks, %d indicators", series.getTickCount(), indicators.size()));
+        System.out.println(String.format("load all indicators %.1f ms, reload of the changed indicator %.1f ms (%.0f ms after the edit)",
+                initNanos / 1e6, reloadNanos[0] / 1e6, latencyNanos / 1e6));
+        System.out.println(String.format("%d indicators kept with their datasets, %d errors", kept, errors));
+
+        manager.close();
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.data.ColumnarTimeSeries;
+import chart.data.IndicatorDataset;
+import chart.data.TickColumns;
+import org.ta4j.core.TimeSeries;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks that appending ticks one by one to a running chart gives bit for bit the same plot values as computing
+ * the indicators for the complete series. The first half of each example file is loaded, the datasets are
+ * created and the other half is appended tick by tick with {@link TaChartIndicator#appendToDataSet}, like a
+ * live chart does.
+ */
+public class IncrementalUpdateCheck {
+
+    public static void main(String[] args){
+        ClassLoader cl = IncrementalUpdateCheck.class.getClassLoader();
+        boolean allEqual = true;
+        for (String symbol : new String[]{"aapl", "msft", "fb", "coke", "blue"}) {
+            TimeSeries full = Loader.getMappedMinuteTimeSeries(cl.getResource(symbol + "_minutes.csv").getFile(), symbol);
+            allEqual &= check(symbol + " ta4j", full, false);
+            allEqual &= check(symbol + " fast", full, true);
+        }
+        System.out.println(allEqual ? "incremental updates equal to full recomputation" : "DIFFERENCES FOUND");
+    }
+
+    private static boolean check(String name, TimeSeries full, boolean fastEngine){
+        TickColumns fullColumns = ((ColumnarTimeSeries) full).getColumns();
+        int initial = full.getTickCount() / 2;
+        TickColumns columns = new TickColumns(fullColumns.getZone(), full.getTickCount());
+        for (int i = 0; i < initial; i++) {
+            columns.add(fullColumns.getEndTime(i), fullColumns.getOpen(i), fullColumns.getHigh(i), fullColumns.getLow(i),
+                    fullColumns.getClose(i), fullColumns.getVolume(i));
+        }
+        TimeSeries live = new ColumnarTimeSeries(full.getName(), columns);
+
+        TaChartIndicatorBox liveBox = new TaChartIndicatorBox(live);
+        liveBox.setFastEngine(fastEngine);
+        liveBox.initAllIndicators();
+        Map<String, IndicatorDataset> liveDataSets = new HashMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : liveBox.getChartIndicatorMap().entrySet()) {
+            liveDataSets.put(entry.getKey(), entry.getValue().getDataSet());
+        }
+
+        long start = System.nanoTime();
+        for (int i = initial; i < full.getTickCount(); i++) {
+            live.addTick(full.getTick(i));
+            for (Map.Entry<String, TaChartIndicator> entry : liveBox.getChartIndicatorMap().entrySet()) {
+                entry.getValue().appendToDataSet(liveDataSets.get(entry.getKey()), i);
+            }
+        }
+        long appendNanos = System.nanoTime() - start;
+
+        TaChartIndicatorBox fullBox = new TaChartIndicatorBox(full);
+        fullBox.setFastEngine(fastEngine);
+        fullBox.initAllIndicators();
+        int different = 0;
+        int compared = 0;
+        for (Map.Entry<String, TaChartIndicator> entry : fullBox.getChartIndicatorMap().entrySet()) {
+            IndicatorDataset expected = entry.getValue().getDataSet();
+            IndicatorDataset actual = liveDataSets.get(entry.getKey());
+            for (int s = 0; s < expected.getSeriesCount(); s++) {
+                boolean equal = expected.getItemCount(s) == actual.getItemCount(s);
+                for (int item = 0; equal && item < expected.getItemCount(s); item++) {
+                    compared++;
+                    equal = expected.getXValue(s, item) == actual.getXValue(s, item)
+                            && Double.doubleToLongBits(expected.getYValue(s, item))
+                            == Double.doubleToLongBits(actual.getYValue(s, item));
+                }
+                if (!equal) {
+                    different++;
+                    System.out.println(String.format("  %s %s series %d differs", name, entry.getKey(), s));
+                }
+            }
+        }
+        int appended = full.getTickCount() - initial;
+        System.out.println(String.format("%-10s %,5d ticks appended to %d indicators in %,8.1f ms (%,7.1f us per tick), %,d values compared, %d different",
+                name, appended, liveBox.getChartIndicatorMap().size(), appendNanos / 1e6, appendNanos / 1e3 / appended,
+                compared, different));
+        return different == 0;
+    }
+}
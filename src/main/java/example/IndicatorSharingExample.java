@@ -0,0 +1,62 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaChartIndicatorBox;
+import chart.data.IndicatorRegistry;
+import org.ta4j.core.TimeSeries;
+
+/**
+ * Prints how many indicators of the parameter file are shared by the indicator registry of a box, once with the
+ * ta4j indicators only and once with the fast indicators in addition. Initializing the fast box again replaces
+ * every chart indicator, the registry keeps the same number of indicators.
+ */
+public class IndicatorSharingExample {
+
+    public static void main(String[] args) throws Exception{
+        ClassLoader cl = IndicatorSharingExample.class.getClassLoader();
+        TimeSeries series = Loader.getMappedDailyTimeSeries(cl.getResource("fb_daily.csv"), "fb");
+
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        long start = System.nanoTime();
+        box.initAllIndicators();
+        print("ta4j", box, System.nanoTime() - start);
+
+        TaChartIndicatorBox fastBox = new TaChartIndicatorBox(series);
+        fastBox.setFastEngine(true);
+        start = System.nanoTime();
+        fastBox.initAllIndicators();
+        print("ta4j + fast", fastBox, System.nanoTime() - start);
+
+        int unique = fastBox.getIndicatorRegistry().getUniqueCount();
+        fastBox.initAllIndicators();
+        fastBox.removeIndicator("EMAIndicator_1");
+        fastBox.reloadIndicator("EMAIndicator_1");
+        if (fastBox.getIndicatorRegistry().getUniqueCount() != unique) {
+            System.err.println("registry grew on reload: " + fastBox.getIndicatorRegistry());
+        }
+        print("reloaded", fastBox, 0);
+    }
+
+    private static void print(String name, TaChartIndicatorBox box, long nanos){
+        IndicatorRegistry registry = box.getIndicatorRegistry();
+        System.out.println(String.format("%-12s %d chart indicators, %s, initialized in %.1f ms",
+                name, box.getChartIndicatorMap().size(), registry, nanos / 1e6));
+    }
+}
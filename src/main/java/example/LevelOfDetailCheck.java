@@ -0,0 +1,166 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaPlotModel;
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.ta4j.core.TimeSeries;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Draws the indicator lines of the parameter file once from all items and once from the level of detail view of
+ * {@link chart.data.DecimatedXYDataset}, compares the images pixel by pixel and prints the drawing times.
+ * Only indicators that are drawn without shapes are used, indicators with shapes are not decimated.
+ * The candles are removed to measure the indicator lines only. Run with -Xmx3g for the default of 1 million random bars.
+ */
+public class LevelOfDetailCheck {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args){
+        ClassLoader cl = LevelOfDetailCheck.class.getClassLoader();
+        check(Loader.getMappedDailyTimeSeries(cl.getResource("fb_daily.csv"), "fb daily"));
+        check(Loader.getMappedMinuteTimeSeries(cl.getResource("fb_minutes.csv").getFile(), "fb minutes"));
+        check(Loader.getMappedHourlyTimeSeries(cl.getResource("fb_hourly.csv").getFile(), "fb hourly"));
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        check(new ColumnarTimeSeries(String.format("random %,d", bars), createColumns(bars)));
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars){
+        Random random = new Random(42);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+
+    private static void check(TimeSeries series){
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+        Map<String, TaChartIndicator> overlays = new TreeMap<>();
+        Map<String, TaChartIndicator> subPlots = new TreeMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : box.getChartIndicatorMap().entrySet()) {
+            if (hasShapes(entry.getValue())) {
+                continue;
+            }
+            if (!entry.getValue().isSubchart()) {
+                overlays.put(entry.getKey(), entry.getValue());
+            } else if (subPlots.size() < 3) {
+                subPlots.put(entry.getKey(), entry.getValue());
+            }
+        }
+        JFreeChart full = createChart(series, overlays, subPlots, false);
+        JFreeChart decimated = createChart(series, overlays, subPlots, true);
+        print(series.getName() + " all", full, decimated);
+
+        // zoomed into the middle tenth of the series
+        ValueAxis axis = full.getXYPlot().getDomainAxis();
+        double lower = axis.getLowerBound() + axis.getRange().getLength() * 0.45;
+        double upper = axis.getLowerBound() + axis.getRange().getLength() * 0.55;
+        full.getXYPlot().getDomainAxis().setRange(lower, upper);
+        decimated.getXYPlot().getDomainAxis().setRange(lower, upper);
+        print(series.getName() + " zoom", full, decimated);
+    }
+
+    private static boolean hasShapes(TaChartIndicator indicator){
+        for (int series = 0; series < indicator.getIndicatorsCount(); series++) {
+            if (indicator.getRenderer().getItemShapeVisible(series, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JFreeChart createChart(TimeSeries series, Map<String, TaChartIndicator> overlays,
+                                          Map<String, TaChartIndicator> subPlots, boolean decimation){
+        TaPlotModel model = new TaPlotModel(new OHLCColumnDataset(series.getName(),
+                ((ColumnarTimeSeries) series).getColumns()), Color.WHITE, Color.BLACK);
+        model.setDecimation(decimation);
+        model.setOverlays(overlays);
+        model.setSubPlots(subPlots);
+        model.getMainPlot().setDataset(0, null);
+        JFreeChart chart = new JFreeChart(series.getName(), model.getCombinedPlot());
+        chart.removeLegend();
+        return chart;
+    }
+
+    private static void print(String name, JFreeChart full, JFreeChart decimated){
+        BufferedImage fullImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        BufferedImage decimatedImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        long fullNanos = draw(full, fullImage);
+        long decimatedNanos = draw(decimated, decimatedImage);
+        int different = 0;
+        int maxDelta = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int a = fullImage.getRGB(x, y);
+                int b = decimatedImage.getRGB(x, y);
+                if (a != b) {
+                    different++;
+                    for (int shift = 0; shift < 24; shift += 8) {
+                        maxDelta = Math.max(maxDelta, Math.abs(((a >> shift) & 0xff) - ((b >> shift) & 0xff)));
+                    }
+                }
+            }
+        }
+        System.out.println(String.format("%-20s all items %8.1f ms, decimated %7.1f ms, %,d of %,d pixels differ (%.2f%%, max channel delta %d)",
+                name, fullNanos / 1e6, decimatedNanos / 1e6, different, WIDTH * HEIGHT, 100.0 * different / (WIDTH * HEIGHT), maxDelta));
+    }
+
+    /**
+     * @return the best drawing time of several rounds
+     */
+    private static long draw(JFreeChart chart, BufferedImage image){
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            Graphics2D g2 = image.createGraphics();
+            long start = System.nanoTime();
+            chart.draw(g2, new Rectangle(WIDTH, HEIGHT));
+            best = Math.min(best, System.nanoTime() - start);
+            g2.dispose();
+        }
+        return best;
+    }
+}
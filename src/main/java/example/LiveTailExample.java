@@ -0,0 +1,83 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaChart;
+import chart.TaChartIndicatorBox;
+import org.ta4j.core.TimeSeries;
+
+import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Shows a chart of a csv file that grows while the chart is open. The first half of the minute data of
+ * fb_minutes.csv is written to a temporary file, the rest is appended in small bursts and tailed into the chart.
+ */
+public class LiveTailExample {
+
+    public static void main(String[] args) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = LiveTailExample.class.getClassLoader().getResourceAsStream("fb_minutes.csv");
+             Scanner scanner = new Scanner(in, StandardCharsets.US_ASCII.name())) {
+            while (scanner.hasNextLine()) {
+                lines.add(scanner.nextLine());
+            }
+        }
+        File csv = File.createTempFile("fb_live", ".csv");
+        csv.deleteOnExit();
+        int initial = lines.size() / 2;
+        Files.write(csv.toPath(), lines.subList(0, initial), StandardCharsets.US_ASCII);
+
+        TimeSeries series = Loader.loadTimeSeries(csv, MappedCsvParser.Format.INTRADAY, "fb live");
+        TaChartIndicatorBox chartIndicatorBox = new TaChartIndicatorBox(series);
+        chartIndicatorBox.setFastEngine(true); // the fast indicators compute only the values of new ticks
+        chartIndicatorBox.initAllIndicators();
+        TaChart chart = new TaChart(series, chartIndicatorBox);
+        chart.setMaxFrameRate(20);
+        chart.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        chart.setVisible(true);
+
+        // rows appended while the file was loaded are reported as well
+        CsvTailer tailer = new CsvTailer(csv, MappedCsvParser.Format.INTRADAY, series.getLastTick().getEndTime(),
+                ticks -> chart.addTicks(ticks.toTicks()));
+        tailer.start(50);
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = initial; i < lines.size(); i += 5) {
+                    List<String> burst = lines.subList(i, Math.min(i + 5, lines.size()));
+                    Files.write(csv.toPath(), burst, StandardCharsets.US_ASCII, StandardOpenOption.APPEND);
+                    Thread.sleep(100);
+                }
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+        }, "LiveTailExample writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+}
@@ -19,12 +19,15 @@
 
 package example;
 
+import chart.data.ColumnarTimeSeries;
+import chart.data.TickColumns;
 import com.opencsv.CSVReader;
 import org.ta4j.core.BaseTick;
 import org.ta4j.core.BaseTimeSeries;
 import org.ta4j.core.Tick;
 import org.ta4j.core.TimeSeries;
 
+import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.net.URL;
@@ -44,6 +47,8 @@ public class Loader {
     private static final DateTimeFormatter DATE_FORMAT_HOURLY_MINUTE = DateTimeFormatter.ofPattern("yyyy-MM-dd H:m:s z");
     private static final DateTimeFormatter DATE_FORMAT_Daily = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
+    private static volatile boolean tickCacheEnabled = true;
+
 
     public static TimeSeries getHourlyTimeSeries(String pathToCsv, String name){
 
@@ -105,6 +110,73 @@ public class Loader {
         return new BaseTimeSeries(name, ticks);
     }
 
-	
-	
+    /**
+     * Loads minute or hourly data like {@link #getHourlyTimeSeries(String, String)}, but memory maps the file and
+     * scans it into the primitive columns of a {@link ColumnarTimeSeries}. The columns are read from the
+     * {@link TickCache} sidecar if it is up to date.
+     * @param pathToCsv path to the csv file
+     * @param name the name of the series
+     * @return the time series in ascending order
+     */
+    public static TimeSeries getMappedHourlyTimeSeries(String pathToCsv, String name){
+        return toTimeSeries(loadColumns(new File(pathToCsv), MappedCsvParser.Format.INTRADAY), name);
+    }
+
+    public static TimeSeries getMappedMinuteTimeSeries(String pathToCsv, String name){
+        return getMappedHourlyTimeSeries(pathToCsv, name);
+    }
+
+    /**
+     * Loads daily data like {@link #getDailyTimeSeries(URL, String)}, but memory maps the file and
+     * scans it into the primitive columns of a {@link ColumnarTimeSeries}. The columns are read from the
+     * {@link TickCache} sidecar if it is up to date.
+     * @param file url of the csv file
+     * @param name the name of the series
+     * @return the time series in ascending order
+     */
+    public static TimeSeries getMappedDailyTimeSeries(URL file, String name){
+        return toTimeSeries(loadColumns(new File(file.getFile()), MappedCsvParser.Format.DAILY), name);
+    }
+
+    /**
+     * Loads a csv file of this repository with the memory mapped parser
+     * @param csv the csv file
+     * @param format the layout of the file
+     * @param name the name of the series
+     * @return the time series in ascending order
+     * @throws IOException if the file could not be read or parsed
+     */
+    public static TimeSeries loadTimeSeries(File csv, MappedCsvParser.Format format, String name) throws IOException {
+        return toTimeSeries(readColumns(csv, format), name);
+    }
+
+    private static TickColumns loadColumns(File csv, MappedCsvParser.Format format){
+        try {
+            return readColumns(csv, format);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new TickColumns(format.getZone(), 1);
+        }
+    }
+
+    /**
+     * Enables or disables the binary sidecar cache of the mapped loading methods (enabled by default)
+     * @param enabled true if {@link TickCache} should be used
+     */
+    public static void setTickCacheEnabled(boolean enabled){
+        tickCacheEnabled = enabled;
+    }
+
+    private static TickColumns readColumns(File csv, MappedCsvParser.Format format) throws IOException {
+        TickColumns columns = tickCacheEnabled
+                ? TickCache.load(csv, format, Throwable::printStackTrace) // the csv is parsed without the sidecar
+                : MappedCsvParser.parse(csv.toPath(), format);
+        if (columns.isDescending())
+            columns.reverse();
+        return columns;
+    }
+
+    private static TimeSeries toTimeSeries(TickColumns columns, String name){
+        return new ColumnarTimeSeries(name, columns);
+    }
 }
\ No newline at end of file
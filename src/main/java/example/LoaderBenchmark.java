@@ -0,0 +1,145 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Compares the rows per second of the opencsv loader with the memory mapped loader (with tick creation, from the
+ * binary {@link TickCache} and columns only).
+ * The bundled *_minutes.csv files are scaled up by repeating their rows with shifted dates.
+ * Usage: LoaderBenchmark [scale factor, default 200] [runs, default 5]
+ */
+public class LoaderBenchmark {
+
+    private static final String[] FILES = {"aapl_minutes.csv", "msft_minutes.csv", "fb_minutes.csv",
+            "coke_minutes.csv", "blue_minutes.csv"};
+    private static final DateTimeFormatter ROW_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd,HH:mm:ss");
+
+    public static void main(String[] args) throws IOException {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path dir = Files.createTempDirectory("ta4j-charting-bench");
+        ClassLoader cl = LoaderBenchmark.class.getClassLoader();
+        for (String file : FILES) {
+            URL resource = cl.getResource(file);
+            if (resource == null) {
+                System.out.println(file + " not found");
+                continue;
+            }
+            Path scaled = dir.resolve(file);
+            int rows = writeScaledCopy(Loader.getMappedMinuteTimeSeries(resource.getFile(), file), scaled, scale);
+
+            // warm up both paths
+            Loader.getMinuteTimeSeries(scaled.toString(), file);
+            Loader.getMappedMinuteTimeSeries(scaled.toString(), file);
+
+            long openCsv = Long.MAX_VALUE;
+            long mapped = Long.MAX_VALUE;
+            long cached = Long.MAX_VALUE;
+            long columnsOnly = Long.MAX_VALUE;
+            TimeSeries expected = null;
+            TimeSeries actual = null;
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                expected = Loader.getMinuteTimeSeries(scaled.toString(), file);
+                openCsv = Math.min(openCsv, System.nanoTime() - start);
+
+                Loader.setTickCacheEnabled(false);
+                start = System.nanoTime();
+                actual = Loader.getMappedMinuteTimeSeries(scaled.toString(), file);
+                mapped = Math.min(mapped, System.nanoTime() - start);
+                Loader.setTickCacheEnabled(true);
+
+                start = System.nanoTime();
+                TimeSeries fromCache = Loader.getMappedMinuteTimeSeries(scaled.toString(), file);
+                cached = Math.min(cached, System.nanoTime() - start);
+                if (fromCache.getTickCount() != actual.getTickCount()) {
+                    throw new IllegalStateException("cache returned " + fromCache.getTickCount() + " ticks");
+                }
+
+                start = System.nanoTime();
+                MappedCsvParser.parse(scaled, MappedCsvParser.Format.INTRADAY);
+                columnsOnly = Math.min(columnsOnly, System.nanoTime() - start);
+            }
+            boolean equal = expected.getTickCount() == actual.getTickCount()
+                    && expected.getLastTick().getEndTime().equals(actual.getLastTick().getEndTime())
+                    && expected.getLastTick().getClosePrice().equals(actual.getLastTick().getClosePrice());
+
+            System.out.println(String.format("%-18s %,10d rows  opencsv %,12.0f rows/s  mapped %,12.0f rows/s (%5.2fx)  cached %,12.0f rows/s (%5.2fx)  columns only %,12.0f rows/s (%5.2fx)  equal: %s",
+                    file, rows, rowsPerSecond(rows, openCsv), rowsPerSecond(rows, mapped), (double) openCsv / mapped,
+                    rowsPerSecond(rows, cached), (double) openCsv / cached,
+                    rowsPerSecond(rows, columnsOnly), (double) openCsv / columnsOnly, equal));
+            Files.delete(scaled);
+            Files.deleteIfExists(TickCache.sidecarFor(scaled.toFile()));
+        }
+        Files.delete(dir);
+    }
+
+    private static double rowsPerSecond(int rows, long nanos){
+        return rows / (nanos / 1e9);
+    }
+
+    /**
+     * Writes the ticks of the series scale times into a csv in the minute/hourly layout. Every copy is
+     * shifted by the day span of the series, so the written series stays ordered.
+     * @return the number of written rows
+     */
+    private static int writeScaledCopy(TimeSeries series, Path target, int scale) throws IOException {
+        ZonedDateTime first = series.getFirstTick().getEndTime();
+        ZonedDateTime last = series.getLastTick().getEndTime();
+        long spanDays = ChronoUnit.DAYS.between(first.toLocalDate(), last.toLocalDate()) + 1;
+        int rows = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.US_ASCII)) {
+            writer.write("Date,Time,Open,High,Low,Close,Volume,OpenInt\n");
+            for (int copy = 0; copy < scale; copy++) {
+                for (int i = 0; i < series.getTickCount(); i++) {
+                    Tick tick = series.getTick(i);
+                    writer.write(tick.getEndTime().plusDays(copy * spanDays).format(ROW_DATE));
+                    writer.write(',');
+                    writer.write(String.valueOf(tick.getOpenPrice().toDouble()));
+                    writer.write(',');
+                    writer.write(String.valueOf(tick.getMaxPrice().toDouble()));
+                    writer.write(',');
+                    writer.write(String.valueOf(tick.getMinPrice().toDouble()));
+                    writer.write(',');
+                    writer.write(String.valueOf(tick.getClosePrice().toDouble()));
+                    writer.write(',');
+                    writer.write(String.valueOf((long) tick.getVolume().toDouble()));
+                    writer.write(",0\n");
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+}
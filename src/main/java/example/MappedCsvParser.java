@@ -0,0 +1,344 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.data.TickColumns;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * Parser for the csv files of this repository that memory maps the file and scans the bytes directly into
+ * {@link TickColumns}. No String or date object is created per row, ticks are only built from the columns at the end.
+ */
+public class MappedCsvParser {
+
+    /**
+     * The csv layouts of the example data
+     */
+    public enum Format {
+        /** Date,Time,Open,High,Low,Close,Volume,OpenInt with times in PST (minute and hourly files) */
+        INTRADAY(ZoneId.of("America/Los_Angeles")),
+        /** date,close,volume,open,high,low with dates as yyyy/MM/dd at start of day (daily files) */
+        DAILY(ZoneId.systemDefault());
+
+        private final ZoneId zone;
+
+        Format(ZoneId zone){
+            this.zone = zone;
+        }
+
+        public ZoneId getZone(){
+            return zone;
+        }
+    }
+
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1d;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++){
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10d;
+        }
+    }
+
+    private final Format format;
+    private final ZoneRules rules;
+    private final TickColumns columns;
+
+    private ByteBuffer buffer;
+    private int pos;
+    private int limit;
+    private int rowEnd;
+
+    // offset cache for the last parsed date, dates with an offset transition are resolved per row
+    private long cachedEpochDay = Long.MIN_VALUE;
+    private int cachedOffsetSeconds;
+    private boolean cachedTransitionDay;
+
+    private MappedCsvParser(Format format, TickColumns columns){
+        this.format = format;
+        this.rules = format.getZone().getRules();
+        this.columns = columns;
+    }
+
+    /**
+     * Parses a whole csv file. The header line and empty lines are skipped.
+     * @param csv path to the csv file
+     * @param format the layout of the file
+     * @return the parsed ticks in file order
+     * @throws IOException if the file could not be read or a row is malformed
+     */
+    public static TickColumns parse(Path csv, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // the example rows are about 50 bytes long
+            int expectedRows = (int) Math.min(Integer.MAX_VALUE - 8, size / 48 + 16);
+            MappedCsvParser parser = new MappedCsvParser(format, new TickColumns(format.getZone(), expectedRows));
+            long position = 0;
+            boolean header = true;
+            while (position < size) {
+                long length = Math.min(MAX_CHUNK_SIZE, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parseChunk(chunk, header, last);
+                if (consumed == 0) {
+                    throw new IOException("Line longer than " + MAX_CHUNK_SIZE + " bytes in " + csv);
+                }
+                header = false;
+                position += consumed;
+            }
+            return parser.columns;
+        }
+    }
+
+    /**
+     * Parses the complete lines of a buffer with data rows only (e.g. bytes appended to a csv file), a trailing line
+     * without line break is left unparsed.
+     * @param buffer the bytes from position 0 to limit
+     * @param format the layout of the rows
+     * @param target the columns the rows are added to
+     * @return number of bytes consumed, the start of the first incomplete line
+     * @throws IOException if a row is malformed
+     */
+    public static int parseLines(ByteBuffer buffer, Format format, TickColumns target) throws IOException {
+        return new MappedCsvParser(format, target).parseChunk(buffer, false, false);
+    }
+
+    /**
+     * Parses all complete lines of a buffer. The last line is only parsed without a line break if this is the
+     * last chunk of the file.
+     * @return number of bytes consumed
+     */
+    private int parseChunk(ByteBuffer chunk, boolean skipHeader, boolean lastChunk) throws IOException {
+        this.buffer = chunk;
+        this.limit = chunk.limit();
+        this.pos = 0;
+        int consumed = 0;
+        if (skipHeader) {
+            int end = findLineEnd(0);
+            if (end < 0) {
+                return lastChunk ? limit : 0;
+            }
+            pos = end + 1;
+            consumed = pos;
+        }
+        while (pos < limit) {
+            int end = findLineEnd(pos);
+            if (end < 0 && !lastChunk) {
+                break;
+            }
+            int lineEnd = end < 0 ? limit : end;
+            int contentEnd = lineEnd;
+            if (contentEnd > pos && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (contentEnd > pos) {
+                parseRow(contentEnd);
+            }
+            pos = end < 0 ? limit : end + 1;
+            consumed = pos;
+        }
+        return consumed;
+    }
+
+    private int findLineEnd(int from){
+        for (int i = from; i < limit; i++){
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void parseRow(int end) throws IOException {
+        int rowStart = pos;
+        rowEnd = end;
+        try {
+            switch (format) {
+                case INTRADAY: {
+                    int year = parseInt('-');
+                    int month = parseInt('-');
+                    int day = parseInt(',');
+                    int hour = parseInt(':');
+                    int minute = parseInt(':');
+                    int second = parseInt(',');
+                    long epochDay = epochDay(year, month, day);
+                    long localSeconds = epochDay * 86400L + hour * 3600L + minute * 60L + second;
+                    long endTime = (localSeconds - offsetSeconds(epochDay, localSeconds)) * 1000L;
+                    double open = parseDouble();
+                    double high = parseDouble();
+                    double low = parseDouble();
+                    double close = parseDouble();
+                    double volume = parseDouble();
+                    columns.add(endTime, open, high, low, close, volume);
+                    break;
+                }
+                case DAILY: {
+                    int year = parseInt('/');
+                    int month = parseInt('/');
+                    int day = parseInt(',');
+                    long endTime = startOfDaySeconds(epochDay(year, month, day)) * 1000L;
+                    double close = parseDouble();
+                    double volume = parseDouble();
+                    double open = parseDouble();
+                    double high = parseDouble();
+                    double low = parseDouble();
+                    columns.add(endTime, open, high, low, close, volume);
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Could not parse row: " + text(rowStart, end), e);
+        }
+    }
+
+    private int parseInt(char separator) throws IOException {
+        int value = 0;
+        int start = pos;
+        while (pos < rowEnd) {
+            byte b = buffer.get(pos++);
+            if (b == separator) {
+                break;
+            }
+            if (b == '"') {
+                continue;
+            }
+            if (b < '0' || b > '9') {
+                throw new IOException("Unexpected character '" + (char) b + "' at " + (pos - 1));
+            }
+            value = value * 10 + (b - '0');
+        }
+        if (pos == start) {
+            throw new IOException("Missing number at " + start);
+        }
+        return value;
+    }
+
+    /**
+     * Reads the next comma separated (optionally quoted) field as double. Plain decimals with up to 15 digits are converted exactly
+     * (mantissa and power of ten are both exact doubles), everything else falls back to {@link Double#parseDouble}.
+     */
+    private double parseDouble() throws IOException {
+        int start = pos;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean negative = false;
+        boolean fraction = false;
+        boolean fast = true;
+        while (pos < rowEnd) {
+            byte b = buffer.get(pos);
+            if (b == ',') {
+                break;
+            }
+            pos++;
+            if (b >= '0' && b <= '9') {
+                if (digits < MAX_FAST_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    if (fraction) {
+                        scale++;
+                    }
+                } else {
+                    fast = false;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b == '-' && mantissa == 0 && !fraction) {
+                negative = true;
+            } else if (b != '"') {
+                fast = false;
+            }
+        }
+        int end = pos;
+        if (pos < rowEnd) {
+            pos++; // skip the separator
+        }
+        if (end == start) {
+            throw new IOException("Missing number at " + start);
+        }
+        if (!fast || scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(text(start, end).replace("\"", ""));
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private String text(int start, int end){
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++){
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Resolves the offset like {@link java.time.ZonedDateTime#of(LocalDateTime, ZoneId)} does (offset before the
+     * transition for gaps and overlaps). The offset is looked up once per day unless the day has a transition.
+     */
+    private int offsetSeconds(long epochDay, long localSeconds){
+        if (epochDay != cachedEpochDay) {
+            cachedEpochDay = epochDay;
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            ZoneOffset startOffset = rules.getOffset(date.atStartOfDay());
+            ZoneOffset endOffset = rules.getOffset(date.atTime(23, 59, 59));
+            cachedTransitionDay = !startOffset.equals(endOffset);
+            cachedOffsetSeconds = startOffset.getTotalSeconds();
+        }
+        if (cachedTransitionDay) {
+            return rules.getOffset(LocalDateTime.ofEpochSecond(localSeconds, 0, ZoneOffset.UTC)).getTotalSeconds();
+        }
+        return cachedOffsetSeconds;
+    }
+
+    private long startOfDaySeconds(long epochDay){
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(format.getZone()).toEpochSecond();
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic gregorian date, same result as {@link LocalDate#toEpochDay()}
+     */
+    static long epochDay(int year, int month, int day){
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new IllegalArgumentException("Invalid date " + year + "-" + month + "-" + day);
+        }
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import org.ta4j.core.TimeSeries;
+
+import java.util.Map;
+import java.util.Observable;
+import java.util.Observer;
+
+/**
+ * Compares the sequential {@link TaChartIndicatorBox#initAllIndicators()} (plus computing the plot values, as the
+ * chart does on the event dispatch thread) with {@link TaChartIndicatorBox#initAllIndicatorsParallel()} for all
+ * indicators of the parameter file.
+ */
+public class ParallelInitBenchmark {
+
+    public static void main(String[] args){
+        ClassLoader cl = ParallelInitBenchmark.class.getClassLoader();
+        System.out.println(String.format("%d processors", Runtime.getRuntime().availableProcessors()));
+        for (String symbol : new String[]{"aapl", "msft", "fb", "coke", "blue"}) {
+            TimeSeries series = Loader.getMappedMinuteTimeSeries(cl.getResource(symbol + "_minutes.csv").getFile(), symbol);
+
+            NotificationCounter sequentialNotifications = new NotificationCounter();
+            TaChartIndicatorBox sequential = new TaChartIndicatorBox(series);
+            sequential.addObserver(sequentialNotifications);
+            long start = System.nanoTime();
+            sequential.initAllIndicators();
+            for (TaChartIndicator indicator : sequential.getChartIndicatorMap().values()) {
+                indicator.precomputeValues();
+            }
+            long sequentialNanos = System.nanoTime() - start;
+
+            NotificationCounter parallelNotifications = new NotificationCounter();
+            TaChartIndicatorBox parallel = new TaChartIndicatorBox(series);
+            parallel.addObserver(parallelNotifications);
+            start = System.nanoTime();
+            Map<String, Exception> failures = parallel.initAllIndicatorsParallel();
+            long parallelNanos = System.nanoTime() - start;
+            for (Map.Entry<String, Exception> failure : failures.entrySet()) {
+                System.err.println(failure.getKey() + " failed: " + failure.getValue());
+            }
+
+            System.out.println(String.format("%-5s %,d ticks %d/%d indicators  sequential %,7.1f ms (%d notifications)  parallel %,7.1f ms (%d notification)  %.1fx",
+                    symbol, series.getTickCount(), sequential.getChartIndicatorMap().size(), parallel.getChartIndicatorMap().size(),
+                    sequentialNanos / 1e6, sequentialNotifications.count, parallelNanos / 1e6, parallelNotifications.count,
+                    (double) sequentialNanos / parallelNanos));
+        }
+    }
+
+    private static class NotificationCounter implements Observer {
+        private int count;
+
+        @Override
+        public void update(Observable o, Object arg){
+            count++;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaPropertiesManager;
+import chart.types.Paths;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads all parameters of the parameter file the way the indicator box does when it loads the indicators (each
+ * parameter, the category and the chart type of every instance): with a compiled XPath expression per read as the
+ * properties manager did before, and from the in memory model of {@link TaPropertiesManager}.
+ */
+public class ParameterModelBenchmark {
+
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        String file = ParameterModelBenchmark.class.getClassLoader().getResource(Paths.PROPERTIES_FILE).getFile();
+
+        long start = System.nanoTime();
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+        doc.getDocumentElement().normalize();
+        XPath xPath = XPathFactory.newInstance().newXPath();
+        long domNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        TaPropertiesManager manager = new TaPropertiesManager(new File(file));
+        long managerNanos = System.nanoTime() - start;
+
+        List<String> keys = manager.getAllKeys();
+        int reads = 0;
+        for (String key : keys) {
+            reads += manager.getParametersFor(key).size() + 2;
+        }
+        System.out.println(String.format("%d indicator instances, %d reads per load of all indicators", keys.size(), reads));
+        System.out.println(String.format("parse document %.1f ms, create properties manager with model %.1f ms",
+                domNanos / 1e6, managerNanos / 1e6));
+
+        // the first round is what the application pays at startup
+        long xPathFirst = readXPath(doc, xPath, manager, keys);
+        long modelFirst = readModel(manager, keys);
+        System.out.println(String.format("first load:  xpath %8.2f ms  model %8.3f ms  %.0fx",
+                xPathFirst / 1e6, modelFirst / 1e6, (double) xPathFirst / modelFirst));
+
+        long xPathTotal = 0;
+        long modelTotal = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            xPathTotal += readXPath(doc, xPath, manager, keys);
+            modelTotal += readModel(manager, keys);
+        }
+        System.out.println(String.format("warm load:   xpath %8.2f ms  model %8.3f ms  %.0fx  (mean of %d)",
+                xPathTotal / 1e6 / ROUNDS, modelTotal / 1e6 / ROUNDS, (double) xPathTotal / modelTotal, ROUNDS));
+        System.out.println(String.format("per read:    xpath %8.2f us  model %8.3f us",
+                xPathTotal / 1e3 / ROUNDS / reads, modelTotal / 1e3 / ROUNDS / reads));
+        System.out.println(String.format("%d values differ", compare(doc, xPath, manager, keys)));
+    }
+
+    private static long readXPath(Document doc, XPath xPath, TaPropertiesManager manager, List<String> keys) throws Exception {
+        long start = System.nanoTime();
+        int blackhole = 0;
+        for (String key : keys) {
+            for (String name : manager.getParametersFor(key).keySet()) {
+                blackhole += xPathParameter(doc, xPath, key, name).length();
+            }
+            blackhole += xPathAttribute(doc, xPath, key, "category").length();
+            blackhole += xPathParameter(doc, xPath, key, "Chart Type").length();
+        }
+        long nanos = System.nanoTime() - start;
+        if (blackhole == 42) {
+            System.out.println();
+        }
+        return nanos;
+    }
+
+    private static long readModel(TaPropertiesManager manager, List<String> keys){
+        // the parameter names are read outside of the measurement
+        String[][] parameterNames = new String[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            parameterNames[i] = manager.getParametersFor(keys.get(i)).keySet().toArray(new String[0]);
+        }
+        long start = System.nanoTime();
+        int blackhole = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            for (String name : parameterNames[i]) {
+                blackhole += manager.getParameter(key, name).length();
+            }
+            blackhole += manager.getCategory(key).ordinal();
+            blackhole += manager.getParameter(key, "Chart Type").length();
+        }
+        long nanos = System.nanoTime() - start;
+        if (blackhole == 42) {
+            System.out.println();
+        }
+        return nanos;
+    }
+
+    private static int compare(Document doc, XPath xPath, TaPropertiesManager manager, List<String> keys) throws Exception {
+        int differences = 0;
+        for (String key : keys) {
+            for (Map.Entry<String, String> entry : manager.getParametersFor(key).entrySet()) {
+                if (!entry.getValue().equals(xPathParameter(doc, xPath, key, entry.getKey()))
+                        || !manager.getParameter(key, entry.getKey()).equals(entry.getValue())) {
+                    differences++;
+                }
+            }
+            String category = xPathAttribute(doc, xPath, key, "category");
+            if (!manager.getCategory(key).toString().equals(category.equals("") ? "DEFAULT" : category)) {
+                differences++;
+            }
+        }
+        return differences;
+    }
+
+    // the lookups of the former properties manager
+    private static String xPathParameter(Document doc, XPath xPath, String key, String paramName) throws Exception {
+        String raw[] = key.split("_");
+        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']/param[@name='%s']", raw[0], raw[1], paramName);
+        Node resultNode = (Node) xPath.compile(command).evaluate(doc, XPathConstants.NODE);
+        return resultNode.getTextContent();
+    }
+
+    private static String xPathAttribute(Document doc, XPath xPath, String key, String attribute) throws Exception {
+        String raw[] = key.split("_");
+        String command = String.format("//indicator[@identifier='%s']/instance[@id='%s']", raw[0], raw[1]);
+        Node node = (Node) xPath.compile(command).evaluate(doc, XPathConstants.NODE);
+        return (String) xPath.compile("@" + attribute).evaluate(node, XPathConstants.STRING);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaPropertiesManager;
+import chart.types.Paths;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Saves the parameters of an indicator many times in a row on a copy of the parameter file: once like the entry
+ * view did before (one synchronous write of the whole document per parameter) and once with the write behind of
+ * {@link TaPropertiesManager}. Prints the time spent on the calling thread and the number of file writes, and checks
+ * that the file has the last values and that no temporary file is left.
+ */
+public class ParameterSaveCheck {
+
+    private static final int SAVES = 50;
+    private static final String KEY = "EMAIndicator_1";
+
+    public static void main(String[] args) throws Exception {
+        String resource = ParameterSaveCheck.class.getClassLoader().getResource(Paths.PROPERTIES_FILE).getFile();
+        Path dir = Files.createTempDirectory("parameters");
+        Path file = dir.resolve(Paths.PROPERTIES_FILE);
+        Files.copy(new File(resource).toPath(), file, StandardCopyOption.REPLACE_EXISTING);
+
+        // former behaviour: every parameter of every save transforms the whole document to the file
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        TaPropertiesManager manager = new TaPropertiesManager(file.toFile());
+        int parameters = manager.getParametersFor(KEY).size();
+        long start = System.nanoTime();
+        for (int i = 0; i < SAVES; i++) {
+            for (int p = 0; p < parameters; p++) {
+                transformer.transform(new DOMSource(doc), new StreamResult(file.toFile()));
+            }
+        }
+        long syncNanos = System.nanoTime() - start;
+        System.out.println(String.format("synchronous:  %d saves, %d file writes, %.1f ms on the calling thread",
+                SAVES, SAVES * parameters, syncNanos / 1e6));
+
+        long writesBefore = TaPropertiesManager.getFileWrites();
+        Map<String, String> values = new LinkedHashMap<>(manager.getParametersFor(KEY));
+        start = System.nanoTime();
+        for (int i = 0; i < SAVES; i++) {
+            values.put("Time Frame", String.valueOf(10 + i));
+            manager.setParameters(KEY, values);
+        }
+        long behindNanos = System.nanoTime() - start;
+        manager.flush();
+        long writes = TaPropertiesManager.getFileWrites() - writesBefore;
+        System.out.println(String.format("write behind: %d saves, %d file writes, %.1f ms on the calling thread",
+                SAVES, writes, behindNanos / 1e6));
+
+        // the debounced write after a pause
+        manager.setParameter(KEY, "Color", "GREEN");
+        Thread.sleep(1000);
+        System.out.println(String.format("after a pause of 1 s: saved %b, %d file writes",
+                manager.isSaved(), TaPropertiesManager.getFileWrites() - writesBefore));
+
+        int errors = 0;
+        TaPropertiesManager reloaded = new TaPropertiesManager(file.toFile());
+        if (reloaded.getInt(KEY, "Time Frame") != 10 + SAVES - 1) {
+            errors++;
+        }
+        if (!reloaded.getParameter(KEY, "Color").equals("GREEN")) {
+            errors++;
+        }
+        if (reloaded.getAllKeys().size() != manager.getAllKeys().size()) {
+            errors++;
+        }
+        String[] leftovers = dir.toFile().list((d, name) -> name.endsWith(".tmp"));
+        errors += leftovers == null ? 0 : leftovers.length;
+        reloaded.close();
+
+        // a closed manager writes a change immediately
+        manager.close();
+        manager.setParameter(KEY, "Color", "RED");
+        if (!manager.isSaved()) {
+            errors++;
+        }
+        System.out.println(String.format("%d errors", errors));
+
+        Files.delete(file);
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.TaPropertiesManager;
+import chart.types.IndicatorParameters;
+import chart.types.Paths;
+import chart.view.LazyEntryPanel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares creating the entries of the indicator settings for all instances of a category (as the settings view did)
+ * with the {@link LazyEntryPanel} that only creates the entries in view. The instances of the parameter file are
+ * repeated to simulate larger files. The entries are built like the indicator entry view: a title, a label and an
+ * editor for each parameter and three buttons. Runs headless, the layout is done by hand.
+ */
+public class ParametersViewBenchmark {
+
+    private static final int WIDTH = 715;
+    private static final int HEIGHT = 700;
+
+    public static void main(String[] args) throws Exception {
+        String file = ParametersViewBenchmark.class.getClassLoader().getResource(Paths.PROPERTIES_FILE).getFile();
+        TaPropertiesManager manager = new TaPropertiesManager(new File(file));
+        List<String> fileKeys = manager.getAllKeys();
+
+        SwingUtilities.invokeAndWait(() -> {
+            for (int warmUp = 0; warmUp < 3; warmUp++) {
+                createAll(manager, fileKeys);
+            }
+            for (int instances : new int[]{fileKeys.size(), 500, 5000}) {
+                List<String> keys = new ArrayList<>(instances);
+                for (int i = 0; i < instances; i++) {
+                    keys.add(fileKeys.get(i % fileKeys.size()));
+                }
+
+                long start = System.nanoTime();
+                createAll(manager, keys);
+                long eagerNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                LazyEntryPanel panel = new LazyEntryPanel(keys, key -> createEntry(manager, key));
+                JScrollPane scrollPane = panel.createScrollPane();
+                scrollPane.setSize(WIDTH, HEIGHT);
+                scrollPane.doLayout();
+                JViewport viewport = scrollPane.getViewport();
+                viewport.doLayout(); // sizes the panel, the viewport creates the visible entries
+                panel.createEntries(viewport.getViewRect());
+                long openNanos = System.nanoTime() - start;
+                int openEntries = panel.getCreatedEntries();
+
+                start = System.nanoTime();
+                viewport.setViewPosition(new Point(0, panel.getHeight() / 2)); // scroll to the middle
+                panel.createEntries(viewport.getViewRect());
+                long scrollNanos = System.nanoTime() - start;
+
+                System.out.println(String.format("%,6d instances: create all %,8.1f ms | lazy: open %6.1f ms (%d entries), scroll to the middle %6.1f ms (%d entries)",
+                        instances, eagerNanos / 1e6, openNanos / 1e6, openEntries, scrollNanos / 1e6,
+                        panel.getCreatedEntries() - openEntries));
+            }
+        });
+    }
+
+    // the former settings view: a grid with all entries
+    private static JPanel createAll(TaPropertiesManager manager, List<String> keys){
+        JPanel panel = new JPanel(new GridLayout(keys.size(), 1, 1, 15));
+        for (String key : keys) {
+            panel.add(createEntry(manager, key));
+        }
+        JScrollPane scrollPane = new JScrollPane(panel);
+        scrollPane.setSize(WIDTH, HEIGHT);
+        scrollPane.doLayout();
+        return panel;
+    }
+
+    private static JComponent createEntry(TaPropertiesManager manager, String key){
+        JPanel entry = new JPanel(new BorderLayout());
+        String[] keyPair = key.split("_");
+        entry.add(new JLabel(String.format("<html>%s (%s)<br> %s</html>", keyPair[0], keyPair[1], manager.getDescription(key))),
+                BorderLayout.NORTH);
+        Map<String, String> parameters = manager.getParametersFor(key);
+        JPanel settings = new JPanel(new GridLayout(parameters.size(), 2));
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            settings.add(new JLabel(parameter.getKey()));
+            settings.add(IndicatorParameters.getComponent(manager.getParameterType(key, parameter.getKey()), parameter.getValue()));
+        }
+        entry.add(settings, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new GridLayout(1, 3));
+        buttons.add(new JButton("Save"));
+        buttons.add(new JButton("Duplicate"));
+        buttons.add(new JButton("Add"));
+        entry.add(buttons, BorderLayout.SOUTH);
+        return entry;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaPlotModel;
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.jfree.chart.ChartPanel;
+import org.jfree.chart.JFreeChart;
+import org.ta4j.core.TimeSeries;
+
+import java.awt.*;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Measures the time to toggle an indicator on a chart with a long series, once by rebuilding the plots and the
+ * chart for every toggle (like TaChart did before the plots were changed in place) and once with
+ * {@link TaPlotModel#setOverlays(Map)} and {@link TaPlotModel#setSubPlots(Map)} on one plot model.
+ * The datasets are computed before, painting is not measured. Run with -Xmx3g for the default of 1 million bars.
+ */
+public class PlotToggleBenchmark {
+
+    private static final int INDICATORS = 20;
+
+    public static void main(String[] args){
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        TickColumns columns = createColumns(bars, ZoneId.of("America/Los_Angeles"));
+        TimeSeries series = new ColumnarTimeSeries("toggle", columns);
+        OHLCColumnDataset candles = new OHLCColumnDataset(series.getName(), columns);
+
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+        List<Map.Entry<String, TaChartIndicator>> selection = new ArrayList<>();
+        for (Map.Entry<String, TaChartIndicator> entry : new TreeMap<>(box.getChartIndicatorMap()).entrySet()) {
+            if (selection.size() < INDICATORS) {
+                selection.add(entry);
+                entry.getValue().getDataSet();
+            }
+        }
+
+        // before: the plots, the chart and the panel are created again with all selected indicators
+        long rebuildNanos = 0;
+        for (int k = 1; k <= selection.size(); k++) {
+            long start = System.nanoTime();
+            TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+            model.setOverlays(select(selection, k, false));
+            model.setSubPlots(select(selection, k, true));
+            new ChartPanel(new JFreeChart(series.getName(), model.getCombinedPlot()));
+            rebuildNanos += System.nanoTime() - start;
+            model.setOverlays(new LinkedHashMap<>()); // unregister the plots from the cached datasets
+            model.setSubPlots(new LinkedHashMap<>());
+        }
+
+        // after: one plot model, the toggled indicator is added or removed in place
+        TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+        new ChartPanel(new JFreeChart(series.getName(), model.getCombinedPlot()));
+        long inPlaceNanos = 0;
+        for (int k = 1; k <= selection.size(); k++) {
+            long start = System.nanoTime();
+            model.setOverlays(select(selection, k, false));
+            model.setSubPlots(select(selection, k, true));
+            inPlaceNanos += System.nanoTime() - start;
+        }
+        long removeNanos = 0;
+        for (int k = selection.size() - 1; k >= 0; k--) {
+            long start = System.nanoTime();
+            model.setOverlays(select(selection, k, false));
+            model.setSubPlots(select(selection, k, true));
+            removeNanos += System.nanoTime() - start;
+        }
+        // toggled on again, the dataset indices of the removed overlays are reused
+        int dataSetCount = model.getMainPlot().getDatasetCount();
+        model.setOverlays(select(selection, selection.size(), false));
+        if (model.getMainPlot().getDatasetCount() > dataSetCount) {
+            System.err.println("dataset indices not reused: " + dataSetCount + " -> " + model.getMainPlot().getDatasetCount());
+        }
+
+        int n = selection.size();
+        System.out.println(String.format("%,d bars, %d indicators toggled on one after another", bars, n));
+        System.out.println(String.format("rebuild   %,9.1f ms per toggle on", rebuildNanos / 1e6 / n));
+        System.out.println(String.format("in place  %,9.1f ms per toggle on, %,9.1f ms per toggle off",
+                inPlaceNanos / 1e6 / n, removeNanos / 1e6 / n));
+    }
+
+    private static Map<String, TaChartIndicator> select(List<Map.Entry<String, TaChartIndicator>> selection, int count,
+                                                        boolean subPlots){
+        Map<String, TaChartIndicator> selected = new LinkedHashMap<>();
+        for (Map.Entry<String, TaChartIndicator> entry : selection.subList(0, count)) {
+            if (entry.getValue().isSubchart() == subPlots) {
+                selected.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return selected;
+    }
+
+    private static TickColumns createColumns(int bars, ZoneId zone){
+        TickColumns columns = new TickColumns(zone, bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + Math.sin(i * 0.01) * 0.5) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + 0.05, Math.min(open, close) - 0.05, close, 1000 + i % 500);
+            time += 60_000L;
+        }
+        return columns;
+    }
+}
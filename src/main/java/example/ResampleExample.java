@@ -0,0 +1,114 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.data.BarPeriod;
+import chart.data.ColumnarTimeSeries;
+import chart.data.Resampler;
+import chart.data.TickColumns;
+import chart.data.TradingSession;
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+/**
+ * Derives all timeframes from the minute files and compares the hourly bars with the shipped hourly files. Also checks
+ * that the hour which repeats when the clocks are set back is resampled into two bars.
+ */
+public class ResampleExample {
+
+    public static void main(String[] args){
+        ClassLoader cl = ResampleExample.class.getClassLoader();
+        Resampler resampler = new Resampler(TradingSession.allDay(MappedCsvParser.Format.INTRADAY.getZone()));
+        for (String symbol : new String[]{"aapl", "msft", "fb", "coke", "blue"}) {
+            TimeSeries minutes = Loader.getMappedMinuteTimeSeries(cl.getResource(symbol + "_minutes.csv").getFile(), symbol);
+            TimeSeries hourly = Loader.getMappedHourlyTimeSeries(cl.getResource(symbol + "_hourly.csv").getFile(), symbol);
+
+            long start = System.nanoTime();
+            Map<BarPeriod, ColumnarTimeSeries> pyramid = resampler.resample(minutes, BarPeriod.values());
+            long nanos = System.nanoTime() - start;
+
+            int compared = 0;
+            int different = 0;
+            TimeSeries derived = pyramid.get(BarPeriod.HOUR_1);
+            int h = 0;
+            for (int i = 0; i < derived.getTickCount(); i++) {
+                Tick tick = derived.getTick(i);
+                while (h < hourly.getTickCount() && hourly.getTick(h).getEndTime().isBefore(tick.getEndTime())) {
+                    h++;
+                }
+                // the first hour of the minute file may be incomplete
+                if (h == hourly.getTickCount() || i == 0) {
+                    continue;
+                }
+                Tick expected = hourly.getTick(h);
+                if (!expected.getEndTime().isEqual(tick.getEndTime())) {
+                    continue;
+                }
+                compared++;
+                if (!expected.getOpenPrice().equals(tick.getOpenPrice())
+                        || !expected.getClosePrice().equals(tick.getClosePrice())
+                        || !expected.getMaxPrice().equals(tick.getMaxPrice())
+                        || !expected.getMinPrice().equals(tick.getMinPrice())
+                        // the minute volumes of the files are rounded, a merged hour would double the volume
+                        || Math.abs(expected.getVolume().toDouble() - tick.getVolume().toDouble())
+                                > Math.max(5, 1e-3 * expected.getVolume().toDouble())) {
+                    different++;
+                }
+            }
+
+            StringBuilder counts = new StringBuilder();
+            for (Map.Entry<BarPeriod, ColumnarTimeSeries> entry : pyramid.entrySet()) {
+                counts.append(String.format("  %s: %,d", entry.getKey(), entry.getValue().getTickCount()));
+            }
+            System.out.println(String.format("%-5s %,d minute bars resampled in %.2f ms%s  hourly bars equal to file: %d/%d",
+                    symbol, minutes.getTickCount(), nanos / 1e6, counts, compared - different, compared));
+        }
+        checkFallBack(resampler, MappedCsvParser.Format.INTRADAY.getZone());
+    }
+
+    /**
+     * Resamples the minutes of the night the clocks are set back, the repeated hour has to become a bar of its own
+     */
+    private static void checkFallBack(Resampler resampler, ZoneId zone){
+        ZonedDateTime midnight = ZonedDateTime.of(2017, 11, 5, 0, 0, 0, 0, zone);
+        long hours = Duration.between(midnight, midnight.withHour(4)).toHours(); // 5 hours until 04:00
+        TickColumns columns = new TickColumns(zone);
+        long start = midnight.toInstant().toEpochMilli();
+        for (int minute = 1; minute <= hours * 60; minute++) {
+            columns.add(start + minute * 60_000L, 1, 1, 1, 1, 1);
+        }
+        TimeSeries derived = resampler.resample(new ColumnarTimeSeries("fall back", columns), BarPeriod.HOUR_1)
+                .get(BarPeriod.HOUR_1);
+        int wrong = 0;
+        for (int i = 0; i < derived.getTickCount(); i++) {
+            Tick tick = derived.getTick(i);
+            if (tick.getVolume().toDouble() != 60
+                    || tick.getEndTime().toInstant().toEpochMilli() != start + (i + 1) * 3_600_000L) {
+                wrong++;
+            }
+        }
+        System.out.println(String.format("fall back: %d minutes in %d hours resampled to %d hourly bars, %d wrong",
+                columns.size(), hours, derived.getTickCount(), wrong));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package example;
+
+import chart.data.ColumnarTimeSeries;
+import chart.data.TickColumns;
+import org.ta4j.core.BaseTimeSeries;
+import org.ta4j.core.Tick;
+import org.ta4j.core.TimeSeries;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap used per bar by a {@link BaseTimeSeries} of BaseTicks and a {@link ColumnarTimeSeries}.
+ * Run with enough heap for the tick based series, e.g. -Xmx8g for the default of 5 million bars.
+ */
+public class SeriesMemoryBenchmark {
+
+    public static void main(String[] args){
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        ZoneId zone = ZoneId.of("America/Los_Angeles");
+
+        long before = usedHeap();
+        TickColumns columns = createColumns(bars, zone);
+        TimeSeries columnar = new ColumnarTimeSeries("columnar", columns);
+        long columnarBytes = usedHeap() - before;
+
+        before = usedHeap();
+        List<Tick> ticks = new ArrayList<>(bars);
+        for (int i = 0; i < bars; i++) {
+            ticks.add(columns.getTick(i));
+        }
+        TimeSeries base = new BaseTimeSeries("ticks", ticks);
+        long baseBytes = usedHeap() - before;
+
+        System.out.println(String.format("%,d bars  BaseTimeSeries %,8.1f bytes/bar  ColumnarTimeSeries %,8.1f bytes/bar (%5.1fx less)",
+                bars, (double) baseBytes / bars, (double) columnarBytes / bars, (double) baseBytes / columnarBytes));
+
+        // both series have to give the same indicator values
+        SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(base), 20);
+        SMAIndicator actual = new SMAIndicator(new ClosePriceIndicator(columnar), 20);
+        boolean equal = true;
+        for (int i = Math.max(0, bars - 1000); i < bars; i++) {
+            equal &= expected.getValue(i).equals(actual.getValue(i))
+                    && base.getTick(i).getEndTime().equals(columnar.getTick(i).getEndTime());
+        }
+        System.out.println("equal: " + equal);
+    }
+
+    private static TickColumns createColumns(int bars, ZoneId zone){
+        TickColumns columns = new TickColumns(zone, bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + Math.sin(i * 0.01) * 0.5) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + 0.05, Math.min(open, close) - 0.05, close, 1000 + i % 500);
+            time += 60_000L;
+        }
+        return columns;
+    }
+
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
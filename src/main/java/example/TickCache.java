@@ -0,0 +1,225 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.data.TickColumns;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+
+/**
+ * Binary columnar sidecar for the csv files of this repository. The first load of a csv writes
+ * &lt;file&gt;.ticks next to it, later loads memory map the sidecar instead of parsing text.
+ * <p>
+ * Layout (little endian): header with magic, version, source path, size and modification time, csv format and
+ * zone, row count; then the end times as delta encoded longs (first value absolute) and the open, high, low, close
+ * and volume columns as doubles, every section aligned to 8 bytes. A sidecar whose source path, size,
+ * modification time, format or zone does not match the csv is ignored and rewritten.
+ */
+public class TickCache {
+
+    public static final String SUFFIX = ".ticks";
+
+    private static final int MAGIC = 0x544B4331; // "TKC1"
+    private static final int VERSION = 1;
+    private static final int MAX_HEADER_SIZE = 64 * 1024;
+
+    private TickCache(){
+    }
+
+    /**
+     * Returns the ticks of the csv, from the sidecar if it is up to date, else parsed from the csv (the sidecar is
+     * written afterwards).
+     * @param csv the csv file
+     * @param format the layout of the csv file
+     * @param cacheErrors receives the exceptions of a sidecar that could not be read or written, the ticks are
+     *                    parsed from the csv in this case
+     * @return the ticks in file order
+     * @throws IOException if the csv could not be read or parsed
+     */
+    public static TickColumns load(File csv, MappedCsvParser.Format format, Consumer<IOException> cacheErrors) throws IOException {
+        Path source = csv.toPath();
+        Path sidecar = sidecarFor(csv);
+        if (Files.exists(sidecar)) {
+            try {
+                TickColumns cached = read(sidecar, source, format);
+                if (cached != null) {
+                    return cached;
+                }
+            } catch (IOException e) {
+                cacheErrors.accept(e); // will be rewritten below
+            } catch (RuntimeException e) {
+                cacheErrors.accept(new IOException("Unreadable sidecar " + sidecar, e));
+            }
+        }
+        TickColumns columns = MappedCsvParser.parse(source, format);
+        try {
+            write(sidecar, source, format, columns);
+        } catch (IOException e) {
+            cacheErrors.accept(e);
+        }
+        return columns;
+    }
+
+    public static Path sidecarFor(File csv){
+        return new File(csv.getPath() + SUFFIX).toPath();
+    }
+
+    /**
+     * Reads a sidecar
+     * @return the cached columns or null if the sidecar does not belong to the current state of the source
+     */
+    static TickColumns read(Path sidecar, Path source, MappedCsvParser.Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            // the header is read without mapping, a stale sidecar is not mapped and can be replaced (e.g. on windows)
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), MAX_HEADER_SIZE));
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+                // read until the buffer is full
+            }
+            buffer.flip();
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            String path = readString(buffer);
+            long size = buffer.getLong();
+            long modified = buffer.getLong();
+            String formatName = readString(buffer);
+            String zone = readString(buffer);
+            int rows = buffer.getInt();
+            align(buffer);
+            if (!path.equals(key(source)) || size != Files.size(source)
+                    || modified != Files.getLastModifiedTime(source).toMillis() || !formatName.equals(format.name())
+                    || !zone.equals(format.getZone().getId())) {
+                return null;
+            }
+            long dataStart = buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, dataStart, channel.size() - dataStart);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            long[] endTimes = new long[rows];
+            LongBuffer times = buffer.asLongBuffer();
+            times.get(endTimes, 0, rows);
+            for (int i = 1; i < rows; i++) {
+                endTimes[i] += endTimes[i - 1];
+            }
+            buffer.position(buffer.position() + rows * 8);
+
+            double[][] values = new double[5][rows];
+            for (double[] column : values) {
+                DoubleBuffer doubles = buffer.asDoubleBuffer();
+                doubles.get(column, 0, rows);
+                buffer.position(buffer.position() + rows * 8);
+            }
+            return new TickColumns(ZoneId.of(zone), endTimes, values[0], values[1], values[2], values[3], values[4], rows);
+        }
+    }
+
+    /**
+     * Writes a sidecar, first into a temporary file that is then moved over the old sidecar. The temporary file is
+     * deleted if the sidecar could not be replaced.
+     */
+    static void write(Path sidecar, Path source, MappedCsvParser.Format format, TickColumns columns) throws IOException {
+        int rows = columns.size();
+        byte[] path = key(source).getBytes(StandardCharsets.UTF_8);
+        byte[] formatName = format.name().getBytes(StandardCharsets.UTF_8);
+        byte[] zone = columns.getZone().getId().getBytes(StandardCharsets.UTF_8);
+        int header = 8 + aligned(4 + path.length) + 16 + aligned(4 + formatName.length) + aligned(4 + zone.length) + 8;
+        ByteBuffer buffer = ByteBuffer.allocate(header + rows * 8 * 6).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        writeString(buffer, path);
+        buffer.putLong(Files.size(source));
+        buffer.putLong(Files.getLastModifiedTime(source).toMillis());
+        writeString(buffer, formatName);
+        writeString(buffer, zone);
+        buffer.putInt(rows);
+        align(buffer);
+
+        long[] endTimes = columns.getEndTimes();
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            buffer.putLong(endTimes[i] - previous);
+            previous = endTimes[i];
+        }
+        double[][] values = {columns.getOpens(), columns.getHighs(), columns.getLows(), columns.getCloses(),
+                columns.getVolumes()};
+        for (double[] column : values) {
+            buffer.asDoubleBuffer().put(column, 0, rows);
+            buffer.position(buffer.position() + rows * 8);
+        }
+        buffer.flip();
+
+        Path temp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            temp.toFile().delete();
+            throw e;
+        }
+    }
+
+    private static String key(Path source) throws IOException {
+        return source.toRealPath().toString();
+    }
+
+    private static String readString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        align(buffer);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] bytes){
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+        align(buffer);
+    }
+
+    private static int aligned(int length){
+        return (length + 7) & ~7;
+    }
+
+    private static void align(ByteBuffer buffer){
+        buffer.position(aligned(buffer.position()));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaPlotModel;
+import chart.TradeLayer;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import chart.data.TimeIndex;
+import chart.data.TradeIndex;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.plot.IntervalMarker;
+import org.jfree.chart.plot.ValueMarker;
+import org.jfree.chart.plot.XYPlot;
+import org.jfree.ui.RectangleAnchor;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Decimal;
+import org.ta4j.core.TradingRecord;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.util.Random;
+
+/**
+ * Compares the trades drawn as three domain markers per trade (as TaChart did before) with the {@link TradeLayer}:
+ * time to add a trading record and drawing time of the whole series and of a zoomed range. Also checks the hit
+ * test of the layer. Run with -Xmx3g for the default of 1 million bars.
+ */
+public class TradeLayerBenchmark {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args){
+        int bars = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        TickColumns columns = createColumns(bars);
+        OHLCColumnDataset candles = new OHLCColumnDataset("trades", columns);
+        System.out.println(String.format("%,d bars, %dx%d pixels", bars, WIDTH, HEIGHT));
+        for (int trades : new int[]{1_000, 10_000, 50_000}) {
+            TradingRecord record = createRecord(bars, trades);
+            measure("markers", candles, record, false);
+            measure("layer  ", candles, record, true);
+        }
+        checkHitTest(candles, createRecord(bars, 1_000));
+    }
+
+    private static void measure(String name, OHLCColumnDataset candles, TradingRecord record, boolean layer){
+        TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+        JFreeChart chart = new JFreeChart("trades", model.getCombinedPlot());
+        chart.removeLegend();
+        long start = System.nanoTime();
+        if (layer) {
+            model.getTradeLayer().addRecord(record);
+        } else {
+            addMarkers(model.getMainPlot(), record, candles.getColumns());
+        }
+        long addNanos = System.nanoTime() - start;
+
+        TickColumns columns = candles.getColumns();
+        double full = drawMillis(chart);
+        model.getMainPlot().getDomainAxis().setRange(columns.getEndTime(columns.size() / 2),
+                columns.getEndTime(columns.size() / 2 + columns.size() / 100));
+        double zoomed = drawMillis(chart);
+        System.out.println(String.format("  %,6d trades %s: add %8.1f ms, draw all %8.1f ms, draw 1%% %7.1f ms",
+                record.getTradeCount(), name, addNanos / 1e6, full, zoomed));
+    }
+
+    /**
+     * The markers of the trades like TaChart.addEntryExitSignals created them before the trade layer
+     */
+    private static void addMarkers(XYPlot plot, TradingRecord record, TickColumns columns){
+        TradeIndex trades = new TradeIndex(record, TimeIndex.of(columns));
+        for (int i = 0; i < trades.size(); i++) {
+            double entry = trades.getEntryTime(i);
+            double exit = trades.getExitTime(i);
+            ValueMarker in = new ValueMarker(entry);
+            in.setLabel("BUY");
+            in.setLabelPaint(Color.WHITE);
+            in.setLabelAnchor(RectangleAnchor.TOP_LEFT);
+            in.setPaint(Color.GREEN);
+            plot.addDomainMarker(in);
+            ValueMarker out = new ValueMarker(exit);
+            out.setLabel("SELL");
+            out.setLabelPaint(Color.WHITE);
+            out.setLabelAnchor(RectangleAnchor.BOTTOM_RIGHT);
+            out.setPaint(Color.RED);
+            plot.addDomainMarker(out);
+            IntervalMarker interval = new IntervalMarker(entry, exit, Color.GREEN);
+            interval.setAlpha(0.1f);
+            plot.addDomainMarker(interval);
+        }
+    }
+
+    private static void checkHitTest(OHLCColumnDataset candles, TradingRecord record){
+        TaPlotModel model = new TaPlotModel(candles, Color.WHITE, Color.BLACK);
+        TradeLayer layer = model.getTradeLayer();
+        layer.addRecord(record);
+        TradeIndex trades = layer.getIndices()[0];
+        int errors = 0;
+        for (int i = 0; i < trades.size(); i++) {
+            layer.select((trades.getEntryTime(i) + trades.getExitTime(i)) / 2d, 0);
+            if (layer.getSelectedTrade() != i) {
+                errors++;
+            }
+            layer.select(trades.getExitTime(i) + 30_000d, 0); // between the trades
+            if (layer.getSelectedRecord() != null) {
+                errors++;
+            }
+        }
+        System.out.println(String.format("hit test of %,d trades: %d errors", trades.size(), errors));
+    }
+
+    private static double drawMillis(JFreeChart chart){
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            Graphics2D g2 = image.createGraphics();
+            long start = System.nanoTime();
+            chart.draw(g2, new Rectangle(WIDTH, HEIGHT));
+            best = Math.min(best, System.nanoTime() - start);
+            g2.dispose();
+        }
+        return best / 1e6;
+    }
+
+    /**
+     * Long trades of random length, the trades do not overlap
+     */
+    private static TradingRecord createRecord(int bars, int trades){
+        Random random = new Random(9);
+        TradingRecord record = new BaseTradingRecord();
+        int spacing = bars / trades;
+        for (int i = 0; i < trades; i++) {
+            int entry = i * spacing + random.nextInt(spacing / 4);
+            int exit = entry + 1 + random.nextInt(spacing / 2);
+            record.enter(entry, Decimal.valueOf(100), Decimal.ONE);
+            record.exit(exit, Decimal.valueOf(101), Decimal.ONE);
+        }
+        return record;
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars){
+        Random random = new Random(42);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) 2017 Wimmer, Simon-Justus
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in all copies or substantial portions of the
+ Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package example;
+
+import chart.TaChartIndicator;
+import chart.TaChartIndicatorBox;
+import chart.TaPlotModel;
+import chart.data.ColumnarTimeSeries;
+import chart.data.OHLCColumnDataset;
+import chart.data.TickColumns;
+import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.ValueAxis;
+import org.ta4j.core.TimeSeries;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Paints a chart with candles, overlays and sub plots (with and without shapes) for series of increasing length
+ * while the visible window has always the same number of bars. The window is panned before each paint, so every
+ * paint has to find the visible items again. The paint time should not depend on the length of the series.
+ * Run with -Xmx3g for the default lengths up to 3 million bars.
+ */
+public class ViewportPaintBenchmark {
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 800;
+    private static final int WINDOW = 2_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args){
+        int[] lengths = {100_000, 300_000, 1_000_000, 3_000_000};
+        if (args.length > 0) {
+            lengths = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                lengths[i] = Integer.parseInt(args[i]);
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            benchmark(lengths[0], false); // warm up
+        }
+        System.out.println(String.format("visible window of %,d bars, %dx%d pixels", WINDOW, WIDTH, HEIGHT));
+        for (int bars : lengths) {
+            benchmark(bars, true);
+        }
+    }
+
+    private static void benchmark(int bars, boolean print){
+        TickColumns columns = createColumns(bars);
+        TimeSeries series = new ColumnarTimeSeries("viewport", columns);
+        TaChartIndicatorBox box = new TaChartIndicatorBox(series);
+        box.setFastEngine(true);
+        box.initAllIndicators();
+
+        // lines and shapes, in the main plot and in sub plots
+        Map<String, TaChartIndicator> overlays = new LinkedHashMap<>();
+        Map<String, TaChartIndicator> subPlots = new LinkedHashMap<>();
+        int overlayShapes = 0, subPlotShapes = 0;
+        for (Map.Entry<String, TaChartIndicator> entry : new TreeMap<>(box.getChartIndicatorMap()).entrySet()) {
+            TaChartIndicator indicator = entry.getValue();
+            boolean shapes = indicator.getRenderer().getItemShapeVisible(0, 0);
+            if (!indicator.isSubchart() && overlays.size() < 4 && (!shapes || overlayShapes++ == 0)) {
+                overlays.put(entry.getKey(), indicator);
+            } else if (indicator.isSubchart() && subPlots.size() < 2 && (!shapes || subPlotShapes++ == 0)) {
+                subPlots.put(entry.getKey(), indicator);
+            }
+        }
+        for (TaChartIndicator indicator : overlays.values()) {
+            indicator.getDataSet();
+        }
+        for (TaChartIndicator indicator : subPlots.values()) {
+            indicator.getDataSet();
+        }
+
+        TaPlotModel model = new TaPlotModel(new OHLCColumnDataset(series.getName(), columns), Color.WHITE, Color.BLACK);
+        model.setOverlays(overlays);
+        model.setSubPlots(subPlots);
+        JFreeChart chart = new JFreeChart(series.getName(), model.getCombinedPlot());
+        chart.removeLegend();
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        ValueAxis axis = model.getMainPlot().getDomainAxis();
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            int first = bars / 2 + round * WINDOW / 10;
+            axis.setRange(columns.getEndTime(first), columns.getEndTime(first + WINDOW - 1));
+            Graphics2D g2 = image.createGraphics();
+            long start = System.nanoTime();
+            chart.draw(g2, new Rectangle(WIDTH, HEIGHT));
+            long nanos = System.nanoTime() - start;
+            g2.dispose();
+            if (round > 0) { // the first paint warms up the renderers
+                best = Math.min(best, nanos);
+                total += nanos;
+            }
+        }
+        if (print) {
+            System.out.println(String.format("%,10d bars: best %6.1f ms, mean %6.1f ms per paint (%d overlays, %d sub plots)",
+                    bars, best / 1e6, total / 1e6 / (ROUNDS - 1), overlays.size(), subPlots.size()));
+        }
+        model.setOverlays(new LinkedHashMap<>());
+        model.setSubPlots(new LinkedHashMap<>());
+    }
+
+    /**
+     * Random walk of minute bars
+     */
+    private static TickColumns createColumns(int bars){
+        Random random = new Random(42);
+        TickColumns columns = new TickColumns(ZoneId.of("America/Los_Angeles"), bars);
+        long time = 1_485_532_800_000L;
+        double close = 100;
+        for (int i = 0; i < bars; i++) {
+            double open = close;
+            close = Math.max(1, Math.round((open + random.nextGaussian() * 0.2) * 100) / 100d);
+            columns.add(time, open, Math.max(open, close) + random.nextDouble() * 0.1,
+                    Math.min(open, close) - random.nextDouble() * 0.1, close, 1000 + random.nextInt(500));
+            time += 60_000L;
+        }
+        return columns;
+    }
+}